@@ -0,0 +1,119 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.apache.camel.util.ObjectHelper.loadResourceAsStream;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_TYPE;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.fcrepo.camel.processor.EventBatchProcessor;
+import org.fcrepo.camel.processor.EventProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark the handling of a repository event, for each of the body types that the event
+ * processor accepts: decoding it, invalidating what a caching endpoint holds for the resource, and
+ * setting the message headers. In the {@code event} case, the event is decoded and invalidated by
+ * the {@link EventBatchProcessor}, as in a batch route, before the event processor sets the headers.
+ * Run with {@code -prof gc} to compare the allocation of each case.
+ *
+ * <p>The route is modelled as one that filters on the event type, so only that header is read. With
+ * {@code lazy}, the other headers are never set, but the event is still decoded in full and the
+ * incoming message is replaced by a copy.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventProcessorBenchmark {
+
+    @Param({"string", "stream", "map", "event"})
+    private String body;
+
+    @Param({"false", "true"})
+    private boolean lazy;
+
+    private final EventProcessor processor = new EventProcessor();
+
+    private CamelContext context;
+
+    private byte[] event;
+
+    private Map<?, ?> map;
+
+    private final EventBatchProcessor batchProcessor = new EventBatchProcessor();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        try (final InputStream in = loadResourceAsStream("event.json")) {
+            event = in.readAllBytes();
+        }
+        map = new ObjectMapper().readValue(event, Map.class);
+        processor.setLazy(lazy);
+        context = new DefaultCamelContext();
+        context.addComponent("fcrepo", new FcrepoComponent());
+        context.start();
+        // a caching endpoint, so that every event invalidates its cached responses
+        context.getEndpoint("fcrepo:localhost:8080/rest?responseCache=true", FcrepoEndpoint.class)
+            .getResponseCacheStore();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public Object process() throws Exception {
+        final Exchange exchange = new DefaultExchange(context);
+        switch (body) {
+        case "string":
+            exchange.getIn().setBody(new String(event, UTF_8));
+            break;
+        case "stream":
+            exchange.getIn().setBody(new ByteArrayInputStream(event));
+            break;
+        case "event":
+            exchange.getIn().setBody(new String(event, UTF_8));
+            batchProcessor.process(exchange);
+            exchange.getIn().setBody(exchange.getIn().getBody(List.class).get(0));
+            break;
+        default:
+            exchange.getIn().setBody(map);
+        }
+        processor.process(exchange);
+        return exchange.getIn().getHeader(FCREPO_EVENT_TYPE);
+    }
+}
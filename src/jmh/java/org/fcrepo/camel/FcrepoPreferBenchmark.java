@@ -0,0 +1,66 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark parsing Prefer headers.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FcrepoPreferBenchmark {
+
+    @Param({"minimal", "include", "omit"})
+    private String prefer;
+
+    private String header;
+
+    @Setup
+    public void setUp() {
+        switch (prefer) {
+        case "minimal":
+            header = "return=minimal";
+            break;
+        case "include":
+            header = "return=representation; include=\"http://www.w3.org/ns/ldp#PreferMembership "
+                + "http://www.w3.org/ns/ldp#PreferContainment "
+                + "http://fedora.info/definitions/fcrepo#PreferInboundReferences\"";
+            break;
+        default:
+            header = "return=representation; omit=\"http://www.w3.org/ns/ldp#PreferMinimalContainer "
+                + "http://fedora.info/definitions/fcrepo#ServerManaged\"";
+        }
+    }
+
+    @Benchmark
+    public void parse(final Blackhole blackhole) {
+        final FcrepoPrefer parsed = new FcrepoPrefer(header);
+        blackhole.consume(parsed.isMinimal());
+        blackhole.consume(parsed.getInclude());
+        blackhole.consume(parsed.getOmit());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.apache.camel.Exchange.CONTENT_TYPE;
+import static org.apache.camel.Exchange.DISABLE_HTTP_STREAM_CACHE;
+import static org.apache.camel.Exchange.HTTP_METHOD;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_IDENTIFIER;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Producer;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark the fcrepo producer against an in-process HTTP server, so that the cost of the
+ * component itself (header handling, the metadata HEAD request, response body extraction and
+ * stream caching) is measured rather than that of a repository.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProducerBenchmark {
+
+    private static final byte[] TURTLE = ("@prefix dc: <http://purl.org/dc/elements/1.1/> .\n"
+            + "<http://localhost/rest/foo> dc:title \"some title\" ; dc:subject \"some subject\" .\n")
+            .getBytes(UTF_8);
+
+    private static final String PATCH = "PREFIX dc: <http://purl.org/dc/elements/1.1/>\n"
+            + "INSERT { <> dc:title \"another title\" } WHERE { }";
+
+    @Param({"GET", "HEAD", "PUT", "PATCH"})
+    private String method;
+
+    @Param({"true", "false"})
+    private boolean streamCache;
+
+    private HttpServer server;
+
+    private CamelContext context;
+
+    private Producer producer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/rest", exchange -> {
+            try (final InputStream in = exchange.getRequestBody()) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            switch (exchange.getRequestMethod()) {
+            case "GET":
+                exchange.getResponseHeaders().add("Content-Type", "text/turtle");
+                exchange.sendResponseHeaders(200, TURTLE.length);
+                try (final OutputStream out = exchange.getResponseBody()) {
+                    out.write(TURTLE);
+                }
+                break;
+            case "HEAD":
+                exchange.getResponseHeaders().add("Content-Type", "text/turtle");
+                exchange.sendResponseHeaders(200, -1);
+                break;
+            default:
+                exchange.sendResponseHeaders(204, -1);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        context = new DefaultCamelContext();
+        context.addComponent("fcrepo", new FcrepoComponent());
+        context.start();
+        producer = context.getEndpoint("fcrepo:localhost:" + server.getAddress().getPort() + "/rest")
+            .createProducer();
+        producer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        producer.stop();
+        context.stop();
+        server.stop(0);
+    }
+
+    @Benchmark
+    public void process(final Blackhole blackhole) throws Exception {
+        final Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setHeader(HTTP_METHOD, method);
+        exchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+        if (!streamCache) {
+            exchange.setProperty(DISABLE_HTTP_STREAM_CACHE, true);
+        }
+        if ("PUT".equals(method)) {
+            exchange.getIn().setHeader(CONTENT_TYPE, "text/turtle");
+            exchange.getIn().setBody(TURTLE);
+        } else if ("PATCH".equals(method)) {
+            exchange.getIn().setBody(PATCH);
+        }
+        producer.process(exchange);
+        if (exchange.getException() != null) {
+            throw exchange.getException();
+        }
+        // without stream caching the body is the live HTTP stream, which has to be read and closed
+        // for the request to be measured in full and for its connection to be returned to the pool
+        final Object body = exchange.getIn().getBody();
+        if (body instanceof InputStream) {
+            try (final InputStream in = (InputStream) body) {
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    blackhole.consume(read);
+                }
+                blackhole.consume(buffer);
+            }
+        } else {
+            blackhole.consume(body);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.apache.camel.Exchange.CONTENT_TYPE;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_URI;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.fcrepo.camel.processor.SparqlInsertProcessor;
+import org.fcrepo.camel.processor.SparqlUpdateProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark building SPARQL updates from a resource's N-Triples, for small and very large graphs.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SparqlProcessorBenchmark {
+
+    private static final String SUBJECT = "http://localhost:8080/fcrepo/rest/path/to/resource";
+
+    @Param({"insert", "update"})
+    private String operation;
+
+    @Param({"10", "100000"})
+    private int triples;
+
+    private Processor processor;
+
+    private CamelContext context;
+
+    private byte[] document;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        processor = "insert".equals(operation) ? new SparqlInsertProcessor() : new SparqlUpdateProcessor();
+        final StringBuilder graph = new StringBuilder();
+        for (int i = 0; i < triples; i++) {
+            graph.append('<').append(SUBJECT).append("> <http://purl.org/dc/elements/1.1/subject> \"subject ")
+                .append(i).append("\" .\n");
+        }
+        document = graph.toString().getBytes(UTF_8);
+        context = new DefaultCamelContext();
+        context.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public Object process() throws Exception {
+        final Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setHeader(FCREPO_URI, SUBJECT);
+        exchange.getIn().setHeader(CONTENT_TYPE, "application/n-triples");
+        exchange.getIn().setBody(document);
+        processor.process(exchange);
+        return exchange.getIn().getBody();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import java.util.Arrays;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ExtendedCamelContext;
+
+/**
+ * The fcrepo endpoints of a camel context that hold cached state, kept as a context plugin, so that
+ * an event is applied to those endpoints alone rather than to every endpoint of the context.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+final class CachingEndpoints {
+
+    private volatile FcrepoEndpoint[] endpoints = new FcrepoEndpoint[0];
+
+    private CachingEndpoints() {
+        // instantiated through register
+    }
+
+    /**
+     * Register an endpoint that has created a cache.
+     *
+     * @param endpoint the endpoint
+     */
+    static void register(final FcrepoEndpoint endpoint) {
+        final ExtendedCamelContext extension = extensionOf(endpoint.getCamelContext());
+        if (extension == null) {
+            return;
+        }
+        synchronized (CachingEndpoints.class) {
+            CachingEndpoints registry = extension.getContextPlugin(CachingEndpoints.class);
+            if (registry == null) {
+                registry = new CachingEndpoints();
+                extension.addContextPlugin(CachingEndpoints.class, registry);
+            }
+            if (!Arrays.asList(registry.endpoints).contains(endpoint)) {
+                final FcrepoEndpoint[] updated = Arrays.copyOf(registry.endpoints, registry.endpoints.length + 1);
+                updated[registry.endpoints.length] = endpoint;
+                registry.endpoints = updated;
+            }
+        }
+    }
+
+    /**
+     * Remove an endpoint, once it has been stopped.
+     *
+     * @param endpoint the endpoint
+     */
+    static void unregister(final FcrepoEndpoint endpoint) {
+        final ExtendedCamelContext extension = extensionOf(endpoint.getCamelContext());
+        if (extension == null) {
+            return;
+        }
+        synchronized (CachingEndpoints.class) {
+            final CachingEndpoints registry = extension.getContextPlugin(CachingEndpoints.class);
+            if (registry != null) {
+                registry.endpoints = Arrays.stream(registry.endpoints).filter(e -> e != endpoint)
+                    .toArray(FcrepoEndpoint[]::new);
+            }
+        }
+    }
+
+    /**
+     * Discard the state cached by the registered endpoints of a context for a changed resource.
+     *
+     * @param context the camel context
+     * @param uri the resource URI
+     * @param deleted whether the resource was deleted
+     */
+    static void invalidate(final CamelContext context, final String uri, final boolean deleted) {
+        final ExtendedCamelContext extension = extensionOf(context);
+        final CachingEndpoints registry = extension == null ? null
+                : extension.getContextPlugin(CachingEndpoints.class);
+        if (registry == null) {
+            return;
+        }
+        final FcrepoEndpoint[] current = registry.endpoints;
+        for (int i = 0; i < current.length; i++) {
+            if (deleted) {
+                current[i].invalidate(uri);
+            } else {
+                current[i].invalidateResponses(uri);
+            }
+        }
+    }
+
+    private static ExtendedCamelContext extensionOf(final CamelContext context) {
+        return context == null ? null : context.getCamelContextExtension();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+
+import org.apache.camel.WrappedFile;
+import org.apache.http.entity.AbstractHttpEntity;
+
+/**
+ * A request entity for file and buffer bodies. The length of the body is known up front,
+ * so it is sent with a {@code Content-Length} header rather than with chunked encoding,
+ * and file contents are written with {@link FileChannel#transferTo} instead of being
+ * converted to a buffered stream.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+class ChannelEntity extends AbstractHttpEntity {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final Path file;
+
+    private final ByteBuffer buffer;
+
+    private final long length;
+
+    private ChannelEntity(final Path file, final ByteBuffer buffer, final long length, final String contentType) {
+        this.file = file;
+        this.buffer = buffer;
+        this.length = length;
+        setContentType(contentType);
+    }
+
+    /**
+     * Create an entity for a message body.
+     *
+     * @param body the message body
+     * @param contentType the content type of the body
+     * @return the entity, or null if the body is not a file or a buffer
+     * @throws IOException when the size of a file cannot be read
+     */
+    static ChannelEntity of(final Object body, final String contentType) throws IOException {
+        final Path file;
+        if (body instanceof Path) {
+            file = (Path) body;
+        } else if (body instanceof File) {
+            file = ((File) body).toPath();
+        } else if (body instanceof WrappedFile && ((WrappedFile<?>) body).getFile() instanceof File) {
+            // e.g. a local GenericFile, without depending on camel-file
+            file = ((File) ((WrappedFile<?>) body).getFile()).toPath();
+        } else if (body instanceof ByteBuffer) {
+            final ByteBuffer buffer = ((ByteBuffer) body).duplicate();
+            return new ChannelEntity(null, buffer, buffer.remaining(), contentType);
+        } else {
+            return null;
+        }
+        return new ChannelEntity(file, null, Files.size(file), contentType);
+    }
+
+    /**
+     * Update a message digest with the content of this entity.
+     *
+     * @param digest the message digest
+     * @throws IOException when the file cannot be read
+     */
+    void update(final MessageDigest digest) throws IOException {
+        if (file == null) {
+            digest.update(buffer.duplicate());
+            return;
+        }
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            while (channel.read(bytes) != -1) {
+                bytes.flip();
+                digest.update(bytes);
+                bytes.clear();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        if (file != null) {
+            return Files.newInputStream(file);
+        }
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public void writeTo(final OutputStream out) throws IOException {
+        // the target channel is not closed: that would close the connection's output stream
+        final WritableByteChannel target = Channels.newChannel(out);
+        if (file != null) {
+            try (final FileChannel channel = FileChannel.open(file, READ)) {
+                long position = 0;
+                while (position < length) {
+                    final long transferred = channel.transferTo(position, length - position, target);
+                    if (transferred <= 0) {
+                        throw new IOException("Unexpected end of file " + file + " at byte " + position);
+                    }
+                    position += transferred;
+                }
+            }
+        } else {
+            final ByteBuffer bytes = buffer.duplicate();
+            while (bytes.hasRemaining()) {
+                target.write(bytes);
+            }
+        }
+        out.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+}
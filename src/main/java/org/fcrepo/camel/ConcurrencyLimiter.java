@@ -0,0 +1,194 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.fcrepo.client.HttpMethods;
+import org.slf4j.Logger;
+
+/**
+ * An adaptive limit on the number of requests in flight, using additive increase and
+ * multiplicative decrease (AIMD). The limit grows by one for every window of requests whose
+ * latency stays close to the long-term average, and is cut back whenever the latency rises
+ * sharply, a request fails without a response, or the repository answers {@code 429 Too Many
+ * Requests} or {@code 503 Service Unavailable}. Requests beyond the limit wait in a bounded
+ * queue, or are rejected when the queue is full.
+ *
+ * <p>A request's latency includes the transfer of its body, so a large upload is naturally much
+ * slower than a HEAD request. The long-term average is therefore kept separately for each HTTP
+ * method, and a request is only compared with requests of the same kind.</p>
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+class ConcurrencyLimiter {
+
+    private static final Logger LOGGER = getLogger(ConcurrencyLimiter.class);
+
+    private static final int INITIAL_LIMIT = 10;
+
+    private static final double BACKOFF = 0.9;
+
+    private static final double TOLERANCE = 2.0;
+
+    private static final double SMOOTHING = 0.05;
+
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+
+    private static final int SC_SERVICE_UNAVAILABLE = 503;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition available = lock.newCondition();
+
+    private final int maxLimit;
+
+    private final int queueSize;
+
+    private final long queueTimeout;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private double limit;
+
+    private final double[] averageLatency = new double[HttpMethods.values().length];
+
+    private int inFlight = 0;
+
+    private int waiting = 0;
+
+    /**
+     * Create a concurrency limiter.
+     *
+     * @param maxLimit the maximum limit
+     * @param queueSize the number of requests that may wait for the limit (0 rejects excess requests at once)
+     * @param queueTimeout the time in milliseconds a request waits before being rejected
+     */
+    ConcurrencyLimiter(final int maxLimit, final int queueSize, final long queueTimeout) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.queueSize = queueSize;
+        this.queueTimeout = queueTimeout;
+        this.limit = Math.min(INITIAL_LIMIT, this.maxLimit);
+    }
+
+    /**
+     * Acquire a permit to perform a request, waiting in the queue if the limit has been reached.
+     *
+     * @return whether a permit was acquired; if so, it must be released with {@link #release}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            if (waiting >= queueSize) {
+                rejected.incrementAndGet();
+                return false;
+            }
+
+            waiting++;
+            try {
+                long remaining = MILLISECONDS.toNanos(queueTimeout);
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        rejected.incrementAndGet();
+                        return false;
+                    }
+                    remaining = available.awaitNanos(remaining);
+                }
+            } finally {
+                waiting--;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release a permit and adjust the limit from the outcome of the request.
+     *
+     * @param method the request method, whose latencies the request is compared with
+     * @param latency the request latency in nanoseconds
+     * @param statusCode the response status code, or -1 if the request failed without a response
+     */
+    void release(final HttpMethods method, final long latency, final int statusCode) {
+        lock.lock();
+        try {
+            inFlight--;
+            final double average = averageLatency[method.ordinal()];
+            if (statusCode < 0 || statusCode == SC_TOO_MANY_REQUESTS || statusCode == SC_SERVICE_UNAVAILABLE
+                    || (average > 0 && latency > TOLERANCE * average)) {
+                limit = Math.max(1, limit * BACKOFF);
+                LOGGER.debug("Reducing concurrency limit to {} (status {}, latency {}ns)", (int) limit, statusCode,
+                        latency);
+            } else if (inFlight + 1 >= (int) limit / 2) {
+                // only grow while the limit is actually being used
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            if (statusCode > 0) {
+                averageLatency[method.ordinal()] = average == 0 ? latency
+                    : (1 - SMOOTHING) * average + SMOOTHING * latency;
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the current limit
+     */
+    int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of requests in flight
+     */
+    int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of requests waiting for the limit
+     */
+    int getQueueDepth() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of rejected requests
+     */
+    long getRejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache mapping a resource URI to the URI of its description, as discovered
+ * with a HEAD request. Entries expire after a fixed time to live, and the least recently
+ * used entry is evicted once the cache is full.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+class DescriptionCache {
+
+    private final long timeToLive;
+
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Create a description cache.
+     *
+     * @param maxSize the maximum number of entries
+     * @param timeToLive the time, in milliseconds, after which an entry expires
+     */
+    DescriptionCache(final int maxSize, final long timeToLive) {
+        this.timeToLive = timeToLive;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Look up the description of a resource.
+     *
+     * @param uri the resource URI
+     * @return the description URI, or null if it is not cached
+     */
+    URI get(final String uri) {
+        final Entry entry;
+        synchronized (entries) {
+            entry = entries.get(uri);
+            if (entry != null && entry.expires < System.currentTimeMillis()) {
+                entries.remove(uri);
+                misses.incrementAndGet();
+                return null;
+            }
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.location;
+    }
+
+    /**
+     * Cache the description of a resource.
+     *
+     * @param uri the resource URI
+     * @param location the description URI
+     */
+    void put(final String uri, final URI location) {
+        synchronized (entries) {
+            entries.put(uri, new Entry(location, System.currentTimeMillis() + timeToLive));
+        }
+    }
+
+    /**
+     * Discard the cached description of a resource.
+     *
+     * @param uri the resource URI
+     */
+    void invalidate(final String uri) {
+        synchronized (entries) {
+            entries.remove(uri);
+        }
+    }
+
+    /**
+     * Discard all cached entries.
+     */
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    private static final class Entry {
+        private final URI location;
+        private final long expires;
+
+        private Entry(final URI location, final long expires) {
+            this.location = location;
+            this.expires = expires;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Utilities for the RFC 3230 {@code Digest} values exchanged with the repository.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+final class Digests {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private Digests() {
+        // prevent instantiation
+    }
+
+    /**
+     * Create a message digest for an RFC 3230 algorithm name, such as {@code sha},
+     * {@code sha-256} or {@code md5}.
+     *
+     * @param algorithm the algorithm name
+     * @return a new message digest
+     * @throws IllegalArgumentException if the algorithm is not supported
+     */
+    static MessageDigest getDigest(final String algorithm) {
+        final String name = algorithm.trim().toUpperCase(Locale.ROOT);
+        try {
+            return MessageDigest.getInstance("SHA".equals(name) ? "SHA-1" : name);
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalArgumentException("Unsupported digest algorithm: " + algorithm, ex);
+        }
+    }
+
+    /**
+     * Update a message digest with the remaining content of a stream.
+     *
+     * @param digest the message digest
+     * @param in the stream, which is read to its end but not closed
+     * @throws IOException when the stream cannot be read
+     */
+    static void update(final MessageDigest digest, final InputStream in) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+    }
+
+    /**
+     * Format a digest as an RFC 3230 instance digest, e.g. {@code sha-256=<hex value>}.
+     *
+     * @param algorithm the algorithm name
+     * @param digest the digest value
+     * @return the formatted digest
+     */
+    static String format(final String algorithm, final byte[] digest) {
+        return name(algorithm) + "=" + toHex(digest);
+    }
+
+    /**
+     * Normalize an algorithm name to its RFC 3230 form, e.g. {@code sha} for {@code SHA-1}.
+     *
+     * @param algorithm the algorithm name
+     * @return the RFC 3230 algorithm name
+     */
+    static String name(final String algorithm) {
+        final String name = algorithm.trim().toLowerCase(Locale.ROOT);
+        return "sha-1".equals(name) || "sha1".equals(name) ? "sha" : name;
+    }
+
+    /**
+     * Parse a {@code Digest} header into its values, keyed by RFC 3230 algorithm name.
+     * Instance digests with an unsupported algorithm are kept as they are.
+     *
+     * @param header the header value, such as {@code sha=<value>,sha-256=<value>}
+     * @return the digest values
+     */
+    static Map<String, String> parse(final String header) {
+        final Map<String, String> values = new HashMap<>();
+        if (header != null) {
+            for (final String instance : header.split(",")) {
+                final int split = instance.indexOf('=');
+                if (split > 0) {
+                    values.put(name(instance.substring(0, split)), instance.substring(split + 1).trim());
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Compare a digest with a value from a {@code Digest} header, which may be hex or base64 encoded.
+     *
+     * @param digest the digest
+     * @param value the header value
+     * @return whether the digest matches the value
+     */
+    static boolean matches(final byte[] digest, final String value) {
+        return toHex(digest).equalsIgnoreCase(value) || Base64.getEncoder().encodeToString(digest).equals(value);
+    }
+
+    /**
+     * Encode bytes as lower-case hexadecimal.
+     *
+     * @param bytes the bytes
+     * @return the hexadecimal string
+     */
+    static String toHex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+}
@@ -5,18 +5,37 @@
  */
 package org.fcrepo.camel;
 
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.net.http.HttpClient;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
 import org.apache.camel.support.DefaultComponent;
+import org.apache.camel.util.IOHelper;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.fcrepo.client.FcrepoClient;
 import org.slf4j.Logger;
 import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * Represents the component that manages {@link FcrepoEndpoint}.
+ *
+ * <p>The component owns the pooled http connections used by its endpoints, producers and
+ * transaction managers; these are closed when the component is stopped. Endpoints configured
+ * with {@code transport=http2} instead share a single multiplexing HTTP/2 client.</p>
+ *
  * @author Aaron Coburn
  * @since October 20, 2014
  */
@@ -26,6 +45,14 @@ public class FcrepoComponent extends DefaultComponent {
 
     private PlatformTransactionManager transactionManager;
 
+    private final Map<List<Object>, CloseableHttpClient> connectionPools = new ConcurrentHashMap<>();
+
+    private final Map<List<Object>, FcrepoClient> clients = new ConcurrentHashMap<>();
+
+    private HttpClient http2Client;
+
+    private static final String HTTP2 = "http2";
+
     private static final Logger LOGGER  = getLogger(FcrepoComponent.class);
 
     /**
@@ -119,6 +146,142 @@ public class FcrepoComponent extends DefaultComponent {
         getConfiguration().setBaseUrl(baseUrl);
     }
 
+    /**
+     * set the maxTotalConnections value component-wide.
+     * @param maxTotalConnections the maximum number of pooled connections
+     */
+    public void setMaxTotalConnections(final Integer maxTotalConnections) {
+        getConfiguration().setMaxTotalConnections(maxTotalConnections);
+    }
+
+    /**
+     * set the maxConnectionsPerRoute value component-wide.
+     * @param maxConnectionsPerRoute the maximum number of pooled connections per host
+     */
+    public void setMaxConnectionsPerRoute(final Integer maxConnectionsPerRoute) {
+        getConfiguration().setMaxConnectionsPerRoute(maxConnectionsPerRoute);
+    }
+
+    /**
+     * set the connectionIdleTimeout value component-wide.
+     * @param connectionIdleTimeout the time in milliseconds after which idle connections are evicted
+     */
+    public void setConnectionIdleTimeout(final Long connectionIdleTimeout) {
+        getConfiguration().setConnectionIdleTimeout(connectionIdleTimeout);
+    }
+
+    /**
+     * set the connectionKeepAlive value component-wide.
+     * @param connectionKeepAlive the time in milliseconds a connection is kept alive, if the server does not say
+     */
+    public void setConnectionKeepAlive(final Long connectionKeepAlive) {
+        getConfiguration().setConnectionKeepAlive(connectionKeepAlive);
+    }
+
+    /**
+     * set the connectionRequestTimeout value component-wide.
+     * @param connectionRequestTimeout the time in milliseconds to wait for a pooled connection
+     */
+    public void setConnectionRequestTimeout(final Long connectionRequestTimeout) {
+        getConfiguration().setConnectionRequestTimeout(connectionRequestTimeout);
+    }
+
+    /**
+     * set the virtualThreads value component-wide.
+     * @param virtualThreads whether requests are processed on virtual threads
+     */
+    public void setVirtualThreads(final Boolean virtualThreads) {
+        getConfiguration().setVirtualThreads(virtualThreads);
+    }
+
+    /**
+     * set the transport value component-wide.
+     * @param transport the HTTP transport (http1 or http2)
+     */
+    public void setTransport(final String transport) {
+        getConfiguration().setTransport(transport);
+    }
+
+    /**
+     * Get a repository client backed by the component's connection pool. Endpoints with the same
+     * connection settings share a single pool, and endpoints with the same credentials share a client.
+     *
+     * @param config the endpoint configuration
+     * @param throwExceptionOnFailure whether HTTP error codes throw exceptions
+     * @return a repository client
+     */
+    public FcrepoClient getClient(final FcrepoConfiguration config, final boolean throwExceptionOnFailure) {
+        if (HTTP2.equalsIgnoreCase(config.getTransport())) {
+            final List<Object> clientKey = asList(HTTP2, config.getAuthUsername(), config.getAuthPassword(),
+                    config.getAuthHost(), throwExceptionOnFailure);
+            return clients.computeIfAbsent(clientKey, k -> new Http2FcrepoClient(getHttp2Client(),
+                        config.getAuthUsername(), config.getAuthPassword(), config.getAuthHost(),
+                        throwExceptionOnFailure));
+        }
+
+        final List<Object> poolKey = asList(config.getMaxTotalConnections(), config.getMaxConnectionsPerRoute(),
+                config.getConnectionIdleTimeout(), config.getConnectionKeepAlive(),
+                config.getConnectionRequestTimeout());
+        final List<Object> clientKey = asList(poolKey, config.getAuthUsername(), config.getAuthPassword(),
+                config.getAuthHost(), throwExceptionOnFailure);
+        // the pool is looked up per request, so that clients held by producers and transaction managers
+        // use the new pool once the component has been restarted
+        final FcrepoConfiguration poolConfig = config.clone();
+        return clients.computeIfAbsent(clientKey, k ->
+                new PooledFcrepoClient(() -> connectionPools.computeIfAbsent(poolKey,
+                            p -> createConnectionPool(poolConfig)),
+                        config.getAuthUsername(), config.getAuthPassword(), config.getAuthHost(),
+                        throwExceptionOnFailure));
+    }
+
+    private synchronized HttpClient getHttp2Client() {
+        if (http2Client == null) {
+            LOGGER.debug("Creating Fcrepo HTTP/2 client");
+            http2Client = Http2FcrepoClient.createHttpClient();
+        }
+        return http2Client;
+    }
+
+    private static CloseableHttpClient createConnectionPool(final FcrepoConfiguration config) {
+        LOGGER.debug("Creating Fcrepo connection pool with {} total, {} per route connections",
+                config.getMaxTotalConnections(), config.getMaxConnectionsPerRoute());
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(config.getMaxTotalConnections());
+        connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+
+        final long keepAlive = config.getConnectionKeepAlive();
+        final ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            final long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return duration > 0 ? duration : keepAlive;
+        };
+
+        // a request fails, rather than waiting indefinitely, when the pool is exhausted
+        final RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(config.getConnectionRequestTimeout().intValue())
+                .build();
+
+        final HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy);
+        if (config.getConnectionIdleTimeout() > 0) {
+            builder.evictExpiredConnections().evictIdleConnections(config.getConnectionIdleTimeout(), MILLISECONDS);
+        }
+        return builder.build();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        clients.clear();
+        connectionPools.values().forEach(pool -> IOHelper.close(pool, "fcrepo connection pool", LOGGER));
+        connectionPools.clear();
+        synchronized (this) {
+            // the JDK client releases its connections once it is no longer referenced
+            http2Client = null;
+        }
+        super.doStop();
+    }
+
     /**
      *  Create an Endpoint from a fcrepo uri along with an optional path value and attributes.
      *  @param uri the fcrepo uri identifying the repository hostname and port
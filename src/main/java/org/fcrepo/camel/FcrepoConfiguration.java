@@ -54,6 +54,87 @@ public class FcrepoConfiguration implements Cloneable {
     @UriParam
     private PlatformTransactionManager transactionManager = null;
 
+    @UriParam
+    private Boolean async = false;
+
+    @UriParam
+    private Integer asyncPoolSize = 10;
+
+    @UriParam
+    private Integer maxTotalConnections = 100;
+
+    @UriParam
+    private Integer maxConnectionsPerRoute = 20;
+
+    @UriParam
+    private Long connectionIdleTimeout = 30000L;
+
+    @UriParam
+    private Long connectionKeepAlive = 60000L;
+
+    @UriParam
+    private Long connectionRequestTimeout = 30000L;
+
+    @UriParam
+    private Integer descriptionCacheSize = 0;
+
+    @UriParam
+    private Long descriptionCacheTimeToLive = 300000L;
+
+    @UriParam
+    private Boolean responseCache = false;
+
+    @UriParam
+    private Long responseCacheMaxMemory = 16777216L;
+
+    @UriParam
+    private String responseCacheDirectory = null;
+
+    @UriParam
+    private Long responseCacheMaxDiskSpace = 268435456L;
+
+    @UriParam
+    private Integer rangeConcurrency = 0;
+
+    @UriParam
+    private Long rangeChunkSize = 8388608L;
+
+    @UriParam
+    private String toFile = null;
+
+    @UriParam
+    private String digestAlgorithm = null;
+
+    @UriParam
+    private String fixityAlgorithms = null;
+
+    @UriParam
+    private Integer bulkConcurrency = 0;
+
+    @UriParam
+    private Boolean virtualThreads = false;
+
+    @UriParam
+    private String transport = "http1";
+
+    @UriParam
+    private Boolean coalesceRequests = false;
+
+    @UriParam
+    private Boolean adaptiveLimit = false;
+
+    @UriParam
+    private Integer adaptiveLimitMax = 200;
+
+    @UriParam
+    private Integer adaptiveLimitQueueSize = 0;
+
+    @UriParam
+    private Long adaptiveLimitQueueTimeout = 30000L;
+
+    @UriParam
+    private Boolean metrics = false;
+
     /**
      * Create a new FcrepoConfiguration object
      */
@@ -292,5 +373,489 @@ public class FcrepoConfiguration implements Cloneable {
         return fixity;
     }
 
+    /**
+     * async setter
+     *
+     * @param async whether non-transacted requests are processed asynchronously
+     */
+    public void setAsync(final Boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * async getter
+     *
+     * @return whether non-transacted requests are processed asynchronously
+     */
+    public Boolean getAsync() {
+        return async;
+    }
+
+    /**
+     * asyncPoolSize setter
+     *
+     * @param asyncPoolSize the number of worker threads used for asynchronous requests
+     */
+    public void setAsyncPoolSize(final Integer asyncPoolSize) {
+        this.asyncPoolSize = asyncPoolSize;
+    }
+
+    /**
+     * asyncPoolSize getter
+     *
+     * @return the number of worker threads used for asynchronous requests
+     */
+    public Integer getAsyncPoolSize() {
+        return asyncPoolSize;
+    }
+
+    /**
+     * maxTotalConnections setter
+     *
+     * @param maxTotalConnections the maximum number of pooled connections
+     */
+    public void setMaxTotalConnections(final Integer maxTotalConnections) {
+        this.maxTotalConnections = maxTotalConnections;
+    }
+
+    /**
+     * maxTotalConnections getter
+     *
+     * @return the maximum number of pooled connections
+     */
+    public Integer getMaxTotalConnections() {
+        return maxTotalConnections;
+    }
+
+    /**
+     * maxConnectionsPerRoute setter
+     *
+     * @param maxConnectionsPerRoute the maximum number of pooled connections per host
+     */
+    public void setMaxConnectionsPerRoute(final Integer maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    /**
+     * maxConnectionsPerRoute getter
+     *
+     * @return the maximum number of pooled connections per host
+     */
+    public Integer getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * connectionIdleTimeout setter
+     *
+     * @param connectionIdleTimeout the time in milliseconds after which idle connections are evicted
+     */
+    public void setConnectionIdleTimeout(final Long connectionIdleTimeout) {
+        this.connectionIdleTimeout = connectionIdleTimeout;
+    }
+
+    /**
+     * connectionIdleTimeout getter
+     *
+     * @return the time in milliseconds after which idle connections are evicted
+     */
+    public Long getConnectionIdleTimeout() {
+        return connectionIdleTimeout;
+    }
+
+    /**
+     * connectionKeepAlive setter
+     *
+     * @param connectionKeepAlive the time in milliseconds a connection is kept alive, if the server does not say
+     */
+    public void setConnectionKeepAlive(final Long connectionKeepAlive) {
+        this.connectionKeepAlive = connectionKeepAlive;
+    }
+
+    /**
+     * connectionKeepAlive getter
+     *
+     * @return the time in milliseconds a connection is kept alive, if the server does not say
+     */
+    public Long getConnectionKeepAlive() {
+        return connectionKeepAlive;
+    }
+
+    /**
+     * connectionRequestTimeout setter
+     *
+     * @param connectionRequestTimeout the time in milliseconds to wait for a pooled connection
+     */
+    public void setConnectionRequestTimeout(final Long connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+
+    /**
+     * connectionRequestTimeout getter
+     *
+     * @return the time in milliseconds to wait for a pooled connection
+     */
+    public Long getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    /**
+     * descriptionCacheSize setter
+     *
+     * @param descriptionCacheSize the maximum number of cached description locations, or 0 to disable caching
+     */
+    public void setDescriptionCacheSize(final Integer descriptionCacheSize) {
+        this.descriptionCacheSize = descriptionCacheSize;
+    }
+
+    /**
+     * descriptionCacheSize getter
+     *
+     * @return the maximum number of cached description locations
+     */
+    public Integer getDescriptionCacheSize() {
+        return descriptionCacheSize;
+    }
+
+    /**
+     * descriptionCacheTimeToLive setter
+     *
+     * @param descriptionCacheTimeToLive the time in milliseconds a description location is cached
+     */
+    public void setDescriptionCacheTimeToLive(final Long descriptionCacheTimeToLive) {
+        this.descriptionCacheTimeToLive = descriptionCacheTimeToLive;
+    }
+
+    /**
+     * descriptionCacheTimeToLive getter
+     *
+     * @return the time in milliseconds a description location is cached
+     */
+    public Long getDescriptionCacheTimeToLive() {
+        return descriptionCacheTimeToLive;
+    }
+
+    /**
+     * responseCache setter
+     *
+     * @param responseCache whether GET responses are cached and revalidated with conditional requests
+     */
+    public void setResponseCache(final Boolean responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * responseCache getter
+     *
+     * @return whether GET responses are cached and revalidated with conditional requests
+     */
+    public Boolean getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * responseCacheMaxMemory setter
+     *
+     * @param responseCacheMaxMemory the maximum number of bytes of cached responses held in memory
+     */
+    public void setResponseCacheMaxMemory(final Long responseCacheMaxMemory) {
+        this.responseCacheMaxMemory = responseCacheMaxMemory;
+    }
+
+    /**
+     * responseCacheMaxMemory getter
+     *
+     * @return the maximum number of bytes of cached responses held in memory
+     */
+    public Long getResponseCacheMaxMemory() {
+        return responseCacheMaxMemory;
+    }
+
+    /**
+     * responseCacheDirectory setter
+     *
+     * @param responseCacheDirectory the directory to which cached responses are spilled, if any
+     */
+    public void setResponseCacheDirectory(final String responseCacheDirectory) {
+        this.responseCacheDirectory = responseCacheDirectory;
+    }
 
+    /**
+     * responseCacheDirectory getter
+     *
+     * @return the directory to which cached responses are spilled, if any
+     */
+    public String getResponseCacheDirectory() {
+        return responseCacheDirectory;
+    }
+
+    /**
+     * responseCacheMaxDiskSpace setter
+     *
+     * @param responseCacheMaxDiskSpace the maximum number of bytes of cached responses spilled to disk
+     */
+    public void setResponseCacheMaxDiskSpace(final Long responseCacheMaxDiskSpace) {
+        this.responseCacheMaxDiskSpace = responseCacheMaxDiskSpace;
+    }
+
+    /**
+     * responseCacheMaxDiskSpace getter
+     *
+     * @return the maximum number of bytes of cached responses spilled to disk
+     */
+    public Long getResponseCacheMaxDiskSpace() {
+        return responseCacheMaxDiskSpace;
+    }
+
+    /**
+     * rangeConcurrency setter
+     *
+     * @param rangeConcurrency the number of concurrent range requests used to download a binary (0 disables them)
+     */
+    public void setRangeConcurrency(final Integer rangeConcurrency) {
+        this.rangeConcurrency = rangeConcurrency;
+    }
+
+    /**
+     * rangeConcurrency getter
+     *
+     * @return the number of concurrent range requests used to download a binary (0 disables them)
+     */
+    public Integer getRangeConcurrency() {
+        return rangeConcurrency;
+    }
+
+    /**
+     * rangeChunkSize setter
+     *
+     * @param rangeChunkSize the number of bytes fetched by each range request
+     */
+    public void setRangeChunkSize(final Long rangeChunkSize) {
+        this.rangeChunkSize = rangeChunkSize;
+    }
+
+    /**
+     * rangeChunkSize getter
+     *
+     * @return the number of bytes fetched by each range request
+     */
+    public Long getRangeChunkSize() {
+        return rangeChunkSize;
+    }
+
+    /**
+     * toFile setter
+     *
+     * @param toFile the file (a simple language expression) to which GET response bodies are written
+     */
+    public void setToFile(final String toFile) {
+        this.toFile = toFile;
+    }
+
+    /**
+     * toFile getter
+     *
+     * @return the file (a simple language expression) to which GET response bodies are written
+     */
+    public String getToFile() {
+        return toFile;
+    }
+
+    /**
+     * digestAlgorithm setter
+     *
+     * @param digestAlgorithm the digest algorithm (e.g. sha-256) used for PUT and POST bodies
+     */
+    public void setDigestAlgorithm(final String digestAlgorithm) {
+        this.digestAlgorithm = digestAlgorithm;
+    }
+
+    /**
+     * digestAlgorithm getter
+     *
+     * @return the digest algorithm (e.g. sha-256) used for PUT and POST bodies
+     */
+    public String getDigestAlgorithm() {
+        return digestAlgorithm;
+    }
+
+    /**
+     * fixityAlgorithms setter
+     *
+     * @param fixityAlgorithms the digest algorithms (e.g. sha-256) computed by the client for a fixity check
+     */
+    public void setFixityAlgorithms(final String fixityAlgorithms) {
+        this.fixityAlgorithms = fixityAlgorithms;
+    }
+
+    /**
+     * fixityAlgorithms getter
+     *
+     * @return the digest algorithms (e.g. sha-256) computed by the client for a fixity check
+     */
+    public String getFixityAlgorithms() {
+        return fixityAlgorithms;
+    }
+
+    /**
+     * bulkConcurrency setter
+     *
+     * @param bulkConcurrency the number of concurrent requests made for a list body (0 disables them)
+     */
+    public void setBulkConcurrency(final Integer bulkConcurrency) {
+        this.bulkConcurrency = bulkConcurrency;
+    }
+
+    /**
+     * bulkConcurrency getter
+     *
+     * @return the number of concurrent requests made for a list body (0 disables them)
+     */
+    public Integer getBulkConcurrency() {
+        return bulkConcurrency;
+    }
+
+    /**
+     * virtualThreads setter
+     *
+     * @param virtualThreads whether requests are processed on virtual threads
+     */
+    public void setVirtualThreads(final Boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * virtualThreads getter
+     *
+     * @return whether requests are processed on virtual threads
+     */
+    public Boolean getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * transport setter
+     *
+     * @param transport the HTTP transport (http1 or http2) used for repository requests
+     */
+    public void setTransport(final String transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * transport getter
+     *
+     * @return the HTTP transport (http1 or http2) used for repository requests
+     */
+    public String getTransport() {
+        return transport;
+    }
+
+    /**
+     * coalesceRequests setter
+     *
+     * @param coalesceRequests whether concurrent, identical GET requests share one HTTP call
+     */
+    public void setCoalesceRequests(final Boolean coalesceRequests) {
+        this.coalesceRequests = coalesceRequests;
+    }
+
+    /**
+     * coalesceRequests getter
+     *
+     * @return whether concurrent, identical GET requests share one HTTP call
+     */
+    public Boolean getCoalesceRequests() {
+        return coalesceRequests;
+    }
+
+    /**
+     * adaptiveLimit setter
+     *
+     * @param adaptiveLimit whether the number of requests in flight is limited adaptively
+     */
+    public void setAdaptiveLimit(final Boolean adaptiveLimit) {
+        this.adaptiveLimit = adaptiveLimit;
+    }
+
+    /**
+     * adaptiveLimit getter
+     *
+     * @return whether the number of requests in flight is limited adaptively
+     */
+    public Boolean getAdaptiveLimit() {
+        return adaptiveLimit;
+    }
+
+    /**
+     * adaptiveLimitMax setter
+     *
+     * @param adaptiveLimitMax the maximum number of requests in flight
+     */
+    public void setAdaptiveLimitMax(final Integer adaptiveLimitMax) {
+        this.adaptiveLimitMax = adaptiveLimitMax;
+    }
+
+    /**
+     * adaptiveLimitMax getter
+     *
+     * @return the maximum number of requests in flight
+     */
+    public Integer getAdaptiveLimitMax() {
+        return adaptiveLimitMax;
+    }
+
+    /**
+     * adaptiveLimitQueueSize setter
+     *
+     * @param adaptiveLimitQueueSize the number of requests that may wait for the limit (0 rejects them at once)
+     */
+    public void setAdaptiveLimitQueueSize(final Integer adaptiveLimitQueueSize) {
+        this.adaptiveLimitQueueSize = adaptiveLimitQueueSize;
+    }
+
+    /**
+     * adaptiveLimitQueueSize getter
+     *
+     * @return the number of requests that may wait for the limit (0 rejects them at once)
+     */
+    public Integer getAdaptiveLimitQueueSize() {
+        return adaptiveLimitQueueSize;
+    }
+
+    /**
+     * adaptiveLimitQueueTimeout setter
+     *
+     * @param adaptiveLimitQueueTimeout the time in milliseconds a request waits for the limit
+     */
+    public void setAdaptiveLimitQueueTimeout(final Long adaptiveLimitQueueTimeout) {
+        this.adaptiveLimitQueueTimeout = adaptiveLimitQueueTimeout;
+    }
+
+    /**
+     * adaptiveLimitQueueTimeout getter
+     *
+     * @return the time in milliseconds a request waits for the limit
+     */
+    public Long getAdaptiveLimitQueueTimeout() {
+        return adaptiveLimitQueueTimeout;
+    }
+
+    /**
+     * metrics setter
+     *
+     * @param metrics whether latency, throughput and error statistics are recorded
+     */
+    public void setMetrics(final Boolean metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * metrics getter
+     *
+     * @return whether latency, throughput and error statistics are recorded
+     */
+    public Boolean getMetrics() {
+        return metrics;
+    }
 }
@@ -6,17 +6,22 @@
 package org.fcrepo.camel;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.fcrepo.client.FcrepoClient.client;
 
 import java.net.URI;
+import java.nio.file.Paths;
 
+import org.apache.camel.CamelContext;
 import org.apache.camel.Consumer;
 import org.apache.camel.Processor;
 import org.apache.camel.Producer;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
 import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.spi.UriEndpoint;
 import org.apache.camel.support.DefaultEndpoint;
+import org.fcrepo.client.FcrepoClient;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -34,6 +39,16 @@ public class FcrepoEndpoint extends DefaultEndpoint {
 
     private PlatformTransactionManager transactionManager;
 
+    private DescriptionCache descriptionCache;
+
+    private ResponseCache responseCache;
+
+    private RequestCoalescer requestCoalescer;
+
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    private RequestMetrics requestMetrics;
+
     public static final int DEFAULT_HTTPS_PORT = 443;
 
     /**
@@ -63,6 +78,184 @@ public class FcrepoEndpoint extends DefaultEndpoint {
         return new FcrepoProducer(this);
     }
 
+    /**
+     * Get the component that created this endpoint.
+     *
+     * @return the fcrepo component
+     */
+    @Override
+    public FcrepoComponent getComponent() {
+        return (FcrepoComponent) super.getComponent();
+    }
+
+    /**
+     * Get a repository client for this endpoint. The client is backed by the connection
+     * pool shared through the component.
+     *
+     * @return a repository client
+     */
+    public FcrepoClient createClient() {
+        return createClient(getThrowExceptionOnFailure());
+    }
+
+    private FcrepoClient createClient(final boolean throwExceptionOnFailure) {
+        final FcrepoClient client = getComponent() != null
+                ? getComponent().getClient(getConfiguration(), throwExceptionOnFailure) : null;
+        if (client != null) {
+            return client;
+        }
+
+        if ("http2".equalsIgnoreCase(getTransport())) {
+            return new Http2FcrepoClient(Http2FcrepoClient.createHttpClient(), getAuthUsername(), getAuthPassword(),
+                    getAuthHost(), throwExceptionOnFailure);
+        }
+
+        final FcrepoClient.FcrepoClientBuilder builder = client()
+                .credentials(getAuthUsername(), getAuthPassword())
+                .authScope(getAuthHost());
+        if (throwExceptionOnFailure) {
+            return builder.throwExceptionOnFailure().build();
+        }
+        return builder.build();
+    }
+
+    /**
+     * Get the cache of description locations, if caching is enabled.
+     *
+     * @return the description cache or null
+     */
+    synchronized DescriptionCache getDescriptionCache() {
+        if (descriptionCache == null && getDescriptionCacheSize() > 0) {
+            descriptionCache = new DescriptionCache(getDescriptionCacheSize(), getDescriptionCacheTimeToLive());
+            CachingEndpoints.register(this);
+        }
+        return descriptionCache;
+    }
+
+    /**
+     * Discard any state cached by this endpoint for a repository resource.
+     *
+     * @param uri the resource URI
+     */
+    @ManagedOperation(description = "Discard any cached state for a repository resource")
+    public void invalidate(final String uri) {
+        final DescriptionCache cache = getDescriptionCache();
+        if (cache != null) {
+            cache.invalidate(uri);
+        }
+        invalidateResponses(uri);
+    }
+
+    /**
+     * Get the cache of GET responses, if caching is enabled.
+     *
+     * @return the response cache or null
+     */
+    synchronized ResponseCache getResponseCacheStore() {
+        if (responseCache == null && getResponseCache()) {
+            responseCache = new ResponseCache(getResponseCacheMaxMemory(),
+                    isBlank(getResponseCacheDirectory()) ? null : Paths.get(getResponseCacheDirectory()),
+                    getResponseCacheMaxDiskSpace());
+            CachingEndpoints.register(this);
+        }
+        return responseCache;
+    }
+
+    /**
+     * Get the coalescer of concurrent, identical GET requests, if coalescing is enabled.
+     *
+     * @return the request coalescer or null
+     */
+    synchronized RequestCoalescer getRequestCoalescer() {
+        if (requestCoalescer == null && getCoalesceRequests()) {
+            requestCoalescer = new RequestCoalescer();
+        }
+        return requestCoalescer;
+    }
+
+    /**
+     * Get the adaptive limit on requests in flight, if it is enabled.
+     *
+     * @return the concurrency limiter or null
+     */
+    synchronized ConcurrencyLimiter getConcurrencyLimiter() {
+        if (concurrencyLimiter == null && getAdaptiveLimit()) {
+            concurrencyLimiter = new ConcurrencyLimiter(getAdaptiveLimitMax(), getAdaptiveLimitQueueSize(),
+                    getAdaptiveLimitQueueTimeout());
+        }
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Get the request statistics, if they are enabled.
+     *
+     * @return the request metrics or null
+     */
+    synchronized RequestMetrics getRequestMetrics() {
+        if (requestMetrics == null && getMetrics()) {
+            requestMetrics = new RequestMetrics();
+        }
+        return requestMetrics;
+    }
+
+    /**
+     * Discard all recorded request statistics.
+     */
+    @ManagedOperation(description = "Discard all recorded request statistics")
+    public synchronized void resetMetrics() {
+        requestMetrics = null;
+    }
+
+    /**
+     * Describe the recorded latency histograms, by HTTP method and response code class, and by request phase.
+     *
+     * @return one line per histogram, with its count and p50, p99 and p99.9 latencies
+     */
+    @ManagedOperation(description = "Describe the recorded latency histograms")
+    public String describeMetrics() {
+        final RequestMetrics metrics = getRequestMetrics();
+        return metrics == null ? "" : metrics.describe();
+    }
+
+    /**
+     * Discard any GET responses cached by this endpoint for a repository resource.
+     *
+     * @param uri the resource URI
+     */
+    @ManagedOperation(description = "Discard any cached responses for a repository resource")
+    public void invalidateResponses(final String uri) {
+        final ResponseCache cache = getResponseCacheStore();
+        if (cache != null) {
+            cache.invalidate(uri);
+        }
+    }
+
+    /**
+     * Discard any state that the fcrepo endpoints of a camel context have cached for a changed resource.
+     * Cached responses are dropped for any change; description locations only when the resource is deleted.
+     * Only the endpoints that have created a cache are visited.
+     *
+     * @param context the camel context
+     * @param uri the resource URI
+     * @param deleted whether the resource was deleted
+     */
+    public static void invalidateAll(final CamelContext context, final String uri, final boolean deleted) {
+        CachingEndpoints.invalidate(context, uri, deleted);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        CachingEndpoints.unregister(this);
+        synchronized (this) {
+            if (responseCache != null) {
+                responseCache.clear();
+                responseCache = null;
+            }
+            descriptionCache = null;
+        }
+        super.doStop();
+    }
+
     /**
      * This component does not implement a consumer endpoint.
      */
@@ -97,6 +290,7 @@ public class FcrepoEndpoint extends DefaultEndpoint {
             txMgr.setAuthUsername(getAuthUsername());
             txMgr.setAuthPassword(getAuthPassword());
             txMgr.setAuthHost(getAuthHost());
+            txMgr.setClient(createClient(true));
             transactionTemplate = new TransactionTemplate(txMgr);
         }
         transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
@@ -387,4 +581,803 @@ public class FcrepoEndpoint extends DefaultEndpoint {
     public String getPreferOmit() {
         return getConfiguration().getPreferOmit();
     }
+
+    /**
+     * async setter
+     *
+     * @param async whether non-transacted requests are processed asynchronously
+     */
+    @ManagedAttribute(description = "Whether non-transacted requests are processed asynchronously")
+    public void setAsync(final Boolean async) {
+        getConfiguration().setAsync(async);
+    }
+
+    /**
+     * async getter
+     *
+     * @return whether non-transacted requests are processed asynchronously
+     */
+    @ManagedAttribute(description = "Whether non-transacted requests are processed asynchronously")
+    public Boolean getAsync() {
+        return getConfiguration().getAsync();
+    }
+
+    /**
+     * asyncPoolSize setter
+     *
+     * @param asyncPoolSize the number of worker threads used for asynchronous requests
+     */
+    @ManagedAttribute(description = "The number of worker threads used for asynchronous requests")
+    public void setAsyncPoolSize(final Integer asyncPoolSize) {
+        getConfiguration().setAsyncPoolSize(asyncPoolSize);
+    }
+
+    /**
+     * asyncPoolSize getter
+     *
+     * @return the number of worker threads used for asynchronous requests
+     */
+    @ManagedAttribute(description = "The number of worker threads used for asynchronous requests")
+    public Integer getAsyncPoolSize() {
+        return getConfiguration().getAsyncPoolSize();
+    }
+
+    /**
+     * maxTotalConnections setter
+     *
+     * @param maxTotalConnections the maximum number of pooled connections
+     */
+    @ManagedAttribute(description = "The maximum number of pooled connections")
+    public void setMaxTotalConnections(final Integer maxTotalConnections) {
+        getConfiguration().setMaxTotalConnections(maxTotalConnections);
+    }
+
+    /**
+     * maxTotalConnections getter
+     *
+     * @return the maximum number of pooled connections
+     */
+    @ManagedAttribute(description = "The maximum number of pooled connections")
+    public Integer getMaxTotalConnections() {
+        return getConfiguration().getMaxTotalConnections();
+    }
+
+    /**
+     * maxConnectionsPerRoute setter
+     *
+     * @param maxConnectionsPerRoute the maximum number of pooled connections per host
+     */
+    @ManagedAttribute(description = "The maximum number of pooled connections per host")
+    public void setMaxConnectionsPerRoute(final Integer maxConnectionsPerRoute) {
+        getConfiguration().setMaxConnectionsPerRoute(maxConnectionsPerRoute);
+    }
+
+    /**
+     * maxConnectionsPerRoute getter
+     *
+     * @return the maximum number of pooled connections per host
+     */
+    @ManagedAttribute(description = "The maximum number of pooled connections per host")
+    public Integer getMaxConnectionsPerRoute() {
+        return getConfiguration().getMaxConnectionsPerRoute();
+    }
+
+    /**
+     * connectionIdleTimeout setter
+     *
+     * @param connectionIdleTimeout the time in milliseconds after which idle connections are evicted
+     */
+    @ManagedAttribute(description = "The time in milliseconds after which idle connections are evicted")
+    public void setConnectionIdleTimeout(final Long connectionIdleTimeout) {
+        getConfiguration().setConnectionIdleTimeout(connectionIdleTimeout);
+    }
+
+    /**
+     * connectionIdleTimeout getter
+     *
+     * @return the time in milliseconds after which idle connections are evicted
+     */
+    @ManagedAttribute(description = "The time in milliseconds after which idle connections are evicted")
+    public Long getConnectionIdleTimeout() {
+        return getConfiguration().getConnectionIdleTimeout();
+    }
+
+    /**
+     * connectionKeepAlive setter
+     *
+     * @param connectionKeepAlive the time in milliseconds a connection is kept alive, if the server does not say
+     */
+    @ManagedAttribute(description = "The time in milliseconds a connection is kept alive")
+    public void setConnectionKeepAlive(final Long connectionKeepAlive) {
+        getConfiguration().setConnectionKeepAlive(connectionKeepAlive);
+    }
+
+    /**
+     * connectionKeepAlive getter
+     *
+     * @return the time in milliseconds a connection is kept alive, if the server does not say
+     */
+    @ManagedAttribute(description = "The time in milliseconds a connection is kept alive")
+    public Long getConnectionKeepAlive() {
+        return getConfiguration().getConnectionKeepAlive();
+    }
+
+    /**
+     * connectionRequestTimeout setter
+     *
+     * @param connectionRequestTimeout the time in milliseconds to wait for a pooled connection
+     */
+    @ManagedAttribute(description = "The time in milliseconds to wait for a pooled connection")
+    public void setConnectionRequestTimeout(final Long connectionRequestTimeout) {
+        getConfiguration().setConnectionRequestTimeout(connectionRequestTimeout);
+    }
+
+    /**
+     * connectionRequestTimeout getter
+     *
+     * @return the time in milliseconds to wait for a pooled connection
+     */
+    @ManagedAttribute(description = "The time in milliseconds to wait for a pooled connection")
+    public Long getConnectionRequestTimeout() {
+        return getConfiguration().getConnectionRequestTimeout();
+    }
+
+    /**
+     * descriptionCacheSize setter
+     *
+     * @param size the maximum number of cached description locations, or 0 to disable caching
+     */
+    @ManagedAttribute(description = "The maximum number of cached description locations")
+    public void setDescriptionCacheSize(final Integer size) {
+        getConfiguration().setDescriptionCacheSize(size);
+    }
+
+    /**
+     * descriptionCacheSize getter
+     *
+     * @return the maximum number of cached description locations
+     */
+    @ManagedAttribute(description = "The maximum number of cached description locations")
+    public Integer getDescriptionCacheSize() {
+        return getConfiguration().getDescriptionCacheSize();
+    }
+
+    /**
+     * descriptionCacheTimeToLive setter
+     *
+     * @param timeToLive the time in milliseconds a description location is cached
+     */
+    @ManagedAttribute(description = "The time in milliseconds a description location is cached")
+    public void setDescriptionCacheTimeToLive(final Long timeToLive) {
+        getConfiguration().setDescriptionCacheTimeToLive(timeToLive);
+    }
+
+    /**
+     * descriptionCacheTimeToLive getter
+     *
+     * @return the time in milliseconds a description location is cached
+     */
+    @ManagedAttribute(description = "The time in milliseconds a description location is cached")
+    public Long getDescriptionCacheTimeToLive() {
+        return getConfiguration().getDescriptionCacheTimeToLive();
+    }
+
+    /**
+     * descriptionCacheHits getter
+     *
+     * @return the number of description lookups served from the cache
+     */
+    @ManagedAttribute(description = "The number of description lookups served from the cache")
+    public long getDescriptionCacheHits() {
+        final DescriptionCache cache = getDescriptionCache();
+        return cache == null ? 0 : cache.getHits();
+    }
+
+    /**
+     * descriptionCacheMisses getter
+     *
+     * @return the number of description lookups that required a HEAD request
+     */
+    @ManagedAttribute(description = "The number of description lookups that required a HEAD request")
+    public long getDescriptionCacheMisses() {
+        final DescriptionCache cache = getDescriptionCache();
+        return cache == null ? 0 : cache.getMisses();
+    }
+
+    /**
+     * descriptionCacheEntries getter
+     *
+     * @return the number of cached description locations
+     */
+    @ManagedAttribute(description = "The number of cached description locations")
+    public int getDescriptionCacheEntries() {
+        final DescriptionCache cache = getDescriptionCache();
+        return cache == null ? 0 : cache.size();
+    }
+
+    /**
+     * Discard all cached description locations.
+     */
+    @ManagedOperation(description = "Discard all cached description locations")
+    public void clearDescriptionCache() {
+        final DescriptionCache cache = getDescriptionCache();
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * responseCache setter
+     *
+     * @param responseCache whether GET responses are cached and revalidated with conditional requests
+     */
+    @ManagedAttribute(description = "Whether GET responses are cached and revalidated with conditional requests")
+    public void setResponseCache(final Boolean responseCache) {
+        getConfiguration().setResponseCache(responseCache);
+    }
+
+    /**
+     * responseCache getter
+     *
+     * @return whether GET responses are cached and revalidated with conditional requests
+     */
+    @ManagedAttribute(description = "Whether GET responses are cached and revalidated with conditional requests")
+    public Boolean getResponseCache() {
+        return getConfiguration().getResponseCache();
+    }
+
+    /**
+     * responseCacheMaxMemory setter
+     *
+     * @param responseCacheMaxMemory the maximum number of bytes of cached responses held in memory
+     */
+    @ManagedAttribute(description = "The maximum number of bytes of cached responses held in memory")
+    public void setResponseCacheMaxMemory(final Long responseCacheMaxMemory) {
+        getConfiguration().setResponseCacheMaxMemory(responseCacheMaxMemory);
+    }
+
+    /**
+     * responseCacheMaxMemory getter
+     *
+     * @return the maximum number of bytes of cached responses held in memory
+     */
+    @ManagedAttribute(description = "The maximum number of bytes of cached responses held in memory")
+    public Long getResponseCacheMaxMemory() {
+        return getConfiguration().getResponseCacheMaxMemory();
+    }
+
+    /**
+     * responseCacheDirectory setter
+     *
+     * @param responseCacheDirectory the directory to which cached responses are spilled, if any
+     */
+    @ManagedAttribute(description = "The directory to which cached responses are spilled")
+    public void setResponseCacheDirectory(final String responseCacheDirectory) {
+        getConfiguration().setResponseCacheDirectory(responseCacheDirectory);
+    }
+
+    /**
+     * responseCacheDirectory getter
+     *
+     * @return the directory to which cached responses are spilled, if any
+     */
+    @ManagedAttribute(description = "The directory to which cached responses are spilled")
+    public String getResponseCacheDirectory() {
+        return getConfiguration().getResponseCacheDirectory();
+    }
+
+    /**
+     * responseCacheMaxDiskSpace setter
+     *
+     * @param responseCacheMaxDiskSpace the maximum number of bytes of cached responses spilled to disk
+     */
+    @ManagedAttribute(description = "The maximum number of bytes of cached responses spilled to disk")
+    public void setResponseCacheMaxDiskSpace(final Long responseCacheMaxDiskSpace) {
+        getConfiguration().setResponseCacheMaxDiskSpace(responseCacheMaxDiskSpace);
+    }
+
+    /**
+     * responseCacheMaxDiskSpace getter
+     *
+     * @return the maximum number of bytes of cached responses spilled to disk
+     */
+    @ManagedAttribute(description = "The maximum number of bytes of cached responses spilled to disk")
+    public Long getResponseCacheMaxDiskSpace() {
+        return getConfiguration().getResponseCacheMaxDiskSpace();
+    }
+
+    /**
+     * responseCacheHits getter
+     *
+     * @return the number of GET requests served from the cache after revalidation
+     */
+    @ManagedAttribute(description = "The number of GET requests served from the cache after revalidation")
+    public long getResponseCacheHits() {
+        final ResponseCache cache = getResponseCacheStore();
+        return cache == null ? 0 : cache.getHits();
+    }
+
+    /**
+     * responseCacheMisses getter
+     *
+     * @return the number of cacheable GET requests that returned a full response
+     */
+    @ManagedAttribute(description = "The number of cacheable GET requests that returned a full response")
+    public long getResponseCacheMisses() {
+        final ResponseCache cache = getResponseCacheStore();
+        return cache == null ? 0 : cache.getMisses();
+    }
+
+    /**
+     * responseCacheMemoryUsed getter
+     *
+     * @return the number of bytes of cached responses held in memory
+     */
+    @ManagedAttribute(description = "The number of bytes of cached responses held in memory")
+    public long getResponseCacheMemoryUsed() {
+        final ResponseCache cache = getResponseCacheStore();
+        return cache == null ? 0 : cache.getMemoryUsed();
+    }
+
+    /**
+     * responseCacheDiskUsed getter
+     *
+     * @return the number of bytes of cached responses spilled to disk
+     */
+    @ManagedAttribute(description = "The number of bytes of cached responses spilled to disk")
+    public long getResponseCacheDiskUsed() {
+        final ResponseCache cache = getResponseCacheStore();
+        return cache == null ? 0 : cache.getDiskUsed();
+    }
+
+    /**
+     * Discard all cached responses.
+     */
+    @ManagedOperation(description = "Discard all cached responses")
+    public void clearResponseCache() {
+        final ResponseCache cache = getResponseCacheStore();
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * rangeConcurrency setter. A GET request first asks for rangeChunkSize bytes; RDF sources and small
+     * binaries are returned in full by that request, and the rest of a larger binary is fetched with
+     * concurrent range requests. A resource with a cached response is revalidated instead, a ranged
+     * download is never cached, and only the request for the first range is coalesced with identical
+     * requests.
+     *
+     * @param rangeConcurrency the number of concurrent range requests used to download a binary (0 disables them)
+     */
+    @ManagedAttribute(description = "The number of concurrent range requests used to download a binary")
+    public void setRangeConcurrency(final Integer rangeConcurrency) {
+        getConfiguration().setRangeConcurrency(rangeConcurrency);
+    }
+
+    /**
+     * rangeConcurrency getter
+     *
+     * @return the number of concurrent range requests used to download a binary (0 disables them)
+     */
+    @ManagedAttribute(description = "The number of concurrent range requests used to download a binary")
+    public Integer getRangeConcurrency() {
+        return getConfiguration().getRangeConcurrency();
+    }
+
+    /**
+     * rangeChunkSize setter
+     *
+     * @param rangeChunkSize the number of bytes fetched by each range request
+     */
+    @ManagedAttribute(description = "The number of bytes fetched by each range request")
+    public void setRangeChunkSize(final Long rangeChunkSize) {
+        getConfiguration().setRangeChunkSize(rangeChunkSize);
+    }
+
+    /**
+     * rangeChunkSize getter
+     *
+     * @return the number of bytes fetched by each range request
+     */
+    @ManagedAttribute(description = "The number of bytes fetched by each range request")
+    public Long getRangeChunkSize() {
+        return getConfiguration().getRangeChunkSize();
+    }
+
+    /**
+     * toFile setter
+     *
+     * @param toFile the file (a simple language expression) to which GET response bodies are written
+     */
+    @ManagedAttribute(description = "The file to which GET response bodies are written")
+    public void setToFile(final String toFile) {
+        getConfiguration().setToFile(toFile);
+    }
+
+    /**
+     * toFile getter
+     *
+     * @return the file (a simple language expression) to which GET response bodies are written
+     */
+    @ManagedAttribute(description = "The file to which GET response bodies are written")
+    public String getToFile() {
+        return getConfiguration().getToFile();
+    }
+
+    /**
+     * digestAlgorithm setter
+     *
+     * @param digestAlgorithm the digest algorithm (e.g. sha-256) used for PUT and POST bodies
+     */
+    @ManagedAttribute(description = "The algorithm of the Digest computed for uploaded content")
+    public void setDigestAlgorithm(final String digestAlgorithm) {
+        getConfiguration().setDigestAlgorithm(digestAlgorithm);
+    }
+
+    /**
+     * digestAlgorithm getter
+     *
+     * @return the digest algorithm (e.g. sha-256) used for PUT and POST bodies
+     */
+    @ManagedAttribute(description = "The algorithm of the Digest computed for uploaded content")
+    public String getDigestAlgorithm() {
+        return getConfiguration().getDigestAlgorithm();
+    }
+
+    /**
+     * fixityAlgorithms setter
+     *
+     * @param fixityAlgorithms the digest algorithms (e.g. sha-256) computed by the client for a fixity check
+     */
+    @ManagedAttribute(description = "The digest algorithms computed by the client for a fixity check")
+    public void setFixityAlgorithms(final String fixityAlgorithms) {
+        getConfiguration().setFixityAlgorithms(fixityAlgorithms);
+    }
+
+    /**
+     * fixityAlgorithms getter
+     *
+     * @return the digest algorithms (e.g. sha-256) computed by the client for a fixity check
+     */
+    @ManagedAttribute(description = "The digest algorithms computed by the client for a fixity check")
+    public String getFixityAlgorithms() {
+        return getConfiguration().getFixityAlgorithms();
+    }
+
+    /**
+     * bulkConcurrency setter
+     *
+     * @param bulkConcurrency the number of concurrent requests made for a list body (0 disables them)
+     */
+    @ManagedAttribute(description = "The number of concurrent requests made for a list body")
+    public void setBulkConcurrency(final Integer bulkConcurrency) {
+        getConfiguration().setBulkConcurrency(bulkConcurrency);
+    }
+
+    /**
+     * bulkConcurrency getter
+     *
+     * @return the number of concurrent requests made for a list body (0 disables them)
+     */
+    @ManagedAttribute(description = "The number of concurrent requests made for a list body")
+    public Integer getBulkConcurrency() {
+        return getConfiguration().getBulkConcurrency();
+    }
+
+    /**
+     * virtualThreads setter
+     *
+     * @param virtualThreads whether requests are processed on virtual threads
+     */
+    @ManagedAttribute(description = "Whether requests are processed on virtual threads")
+    public void setVirtualThreads(final Boolean virtualThreads) {
+        getConfiguration().setVirtualThreads(virtualThreads);
+    }
+
+    /**
+     * virtualThreads getter
+     *
+     * @return whether requests are processed on virtual threads
+     */
+    @ManagedAttribute(description = "Whether requests are processed on virtual threads")
+    public Boolean getVirtualThreads() {
+        return getConfiguration().getVirtualThreads();
+    }
+
+    /**
+     * transport setter
+     *
+     * @param transport the HTTP transport (http1 or http2) used for repository requests
+     */
+    @ManagedAttribute(description = "The HTTP transport used for repository requests")
+    public void setTransport(final String transport) {
+        getConfiguration().setTransport(transport);
+    }
+
+    /**
+     * transport getter
+     *
+     * @return the HTTP transport (http1 or http2) used for repository requests
+     */
+    @ManagedAttribute(description = "The HTTP transport used for repository requests")
+    public String getTransport() {
+        return getConfiguration().getTransport();
+    }
+
+    /**
+     * coalesceRequests setter
+     *
+     * @param coalesceRequests whether concurrent, identical GET requests share one HTTP call
+     */
+    @ManagedAttribute(description = "Whether concurrent, identical GET requests share one HTTP call")
+    public void setCoalesceRequests(final Boolean coalesceRequests) {
+        getConfiguration().setCoalesceRequests(coalesceRequests);
+    }
+
+    /**
+     * coalesceRequests getter
+     *
+     * @return whether concurrent, identical GET requests share one HTTP call
+     */
+    @ManagedAttribute(description = "Whether concurrent, identical GET requests share one HTTP call")
+    public Boolean getCoalesceRequests() {
+        return getConfiguration().getCoalesceRequests();
+    }
+
+    /**
+     * coalescedRequests getter
+     *
+     * @return the number of GET requests that shared another request's HTTP call
+     */
+    @ManagedAttribute(description = "The number of GET requests that shared another request's HTTP call")
+    public long getCoalescedRequests() {
+        final RequestCoalescer coalescer = getRequestCoalescer();
+        return coalescer == null ? 0 : coalescer.getCoalesced();
+    }
+
+    /**
+     * coalescingCalls getter
+     *
+     * @return the number of HTTP calls made for coalescing GET requests
+     */
+    @ManagedAttribute(description = "The number of HTTP calls made for coalescing GET requests")
+    public long getCoalescingCalls() {
+        final RequestCoalescer coalescer = getRequestCoalescer();
+        return coalescer == null ? 0 : coalescer.getCalls();
+    }
+
+    /**
+     * coalescingInFlight getter
+     *
+     * @return the number of coalescing HTTP calls currently in flight
+     */
+    @ManagedAttribute(description = "The number of coalescing HTTP calls currently in flight")
+    public int getCoalescingInFlight() {
+        final RequestCoalescer coalescer = getRequestCoalescer();
+        return coalescer == null ? 0 : coalescer.getInFlight();
+    }
+
+    /**
+     * adaptiveLimit setter
+     *
+     * @param adaptiveLimit whether the number of requests in flight is limited adaptively
+     */
+    @ManagedAttribute(description = "Whether the number of requests in flight is limited adaptively")
+    public void setAdaptiveLimit(final Boolean adaptiveLimit) {
+        getConfiguration().setAdaptiveLimit(adaptiveLimit);
+    }
+
+    /**
+     * adaptiveLimit getter
+     *
+     * @return whether the number of requests in flight is limited adaptively
+     */
+    @ManagedAttribute(description = "Whether the number of requests in flight is limited adaptively")
+    public Boolean getAdaptiveLimit() {
+        return getConfiguration().getAdaptiveLimit();
+    }
+
+    /**
+     * adaptiveLimitMax setter
+     *
+     * @param adaptiveLimitMax the maximum number of requests in flight
+     */
+    @ManagedAttribute(description = "The maximum number of requests in flight")
+    public void setAdaptiveLimitMax(final Integer adaptiveLimitMax) {
+        getConfiguration().setAdaptiveLimitMax(adaptiveLimitMax);
+    }
+
+    /**
+     * adaptiveLimitMax getter
+     *
+     * @return the maximum number of requests in flight
+     */
+    @ManagedAttribute(description = "The maximum number of requests in flight")
+    public Integer getAdaptiveLimitMax() {
+        return getConfiguration().getAdaptiveLimitMax();
+    }
+
+    /**
+     * adaptiveLimitQueueSize setter
+     *
+     * @param adaptiveLimitQueueSize the number of requests that may wait for the limit (0 rejects them at once)
+     */
+    @ManagedAttribute(description = "The number of requests that may wait for the adaptive limit")
+    public void setAdaptiveLimitQueueSize(final Integer adaptiveLimitQueueSize) {
+        getConfiguration().setAdaptiveLimitQueueSize(adaptiveLimitQueueSize);
+    }
+
+    /**
+     * adaptiveLimitQueueSize getter
+     *
+     * @return the number of requests that may wait for the limit (0 rejects them at once)
+     */
+    @ManagedAttribute(description = "The number of requests that may wait for the adaptive limit")
+    public Integer getAdaptiveLimitQueueSize() {
+        return getConfiguration().getAdaptiveLimitQueueSize();
+    }
+
+    /**
+     * adaptiveLimitQueueTimeout setter
+     *
+     * @param adaptiveLimitQueueTimeout the time in milliseconds a request waits for the limit
+     */
+    @ManagedAttribute(description = "The time in milliseconds a request waits for the adaptive limit")
+    public void setAdaptiveLimitQueueTimeout(final Long adaptiveLimitQueueTimeout) {
+        getConfiguration().setAdaptiveLimitQueueTimeout(adaptiveLimitQueueTimeout);
+    }
+
+    /**
+     * adaptiveLimitQueueTimeout getter
+     *
+     * @return the time in milliseconds a request waits for the limit
+     */
+    @ManagedAttribute(description = "The time in milliseconds a request waits for the adaptive limit")
+    public Long getAdaptiveLimitQueueTimeout() {
+        return getConfiguration().getAdaptiveLimitQueueTimeout();
+    }
+
+    /**
+     * adaptiveLimitCurrent getter
+     *
+     * @return the current adaptive limit on requests in flight
+     */
+    @ManagedAttribute(description = "The current adaptive limit on requests in flight")
+    public int getAdaptiveLimitCurrent() {
+        final ConcurrencyLimiter limiter = getConcurrencyLimiter();
+        return limiter == null ? 0 : limiter.getLimit();
+    }
+
+    /**
+     * adaptiveLimitInFlight getter
+     *
+     * @return the number of requests in flight under the adaptive limit
+     */
+    @ManagedAttribute(description = "The number of requests in flight under the adaptive limit")
+    public int getAdaptiveLimitInFlight() {
+        final ConcurrencyLimiter limiter = getConcurrencyLimiter();
+        return limiter == null ? 0 : limiter.getInFlight();
+    }
+
+    /**
+     * adaptiveLimitQueueDepth getter
+     *
+     * @return the number of requests waiting for the adaptive limit
+     */
+    @ManagedAttribute(description = "The number of requests waiting for the adaptive limit")
+    public int getAdaptiveLimitQueueDepth() {
+        final ConcurrencyLimiter limiter = getConcurrencyLimiter();
+        return limiter == null ? 0 : limiter.getQueueDepth();
+    }
+
+    /**
+     * adaptiveLimitRejected getter
+     *
+     * @return the number of requests rejected by the adaptive limit
+     */
+    @ManagedAttribute(description = "The number of requests rejected by the adaptive limit")
+    public long getAdaptiveLimitRejected() {
+        final ConcurrencyLimiter limiter = getConcurrencyLimiter();
+        return limiter == null ? 0 : limiter.getRejected();
+    }
+
+    /**
+     * metrics setter
+     *
+     * @param metrics whether latency, throughput and error statistics are recorded
+     */
+    @ManagedAttribute(description = "Whether latency, throughput and error statistics are recorded")
+    public void setMetrics(final Boolean metrics) {
+        getConfiguration().setMetrics(metrics);
+    }
+
+    /**
+     * metrics getter
+     *
+     * @return whether latency, throughput and error statistics are recorded
+     */
+    @ManagedAttribute(description = "Whether latency, throughput and error statistics are recorded")
+    public Boolean getMetrics() {
+        return getConfiguration().getMetrics();
+    }
+
+    /**
+     * metricsRequests getter
+     *
+     * @return the number of recorded requests
+     */
+    @ManagedAttribute(description = "The number of recorded requests")
+    public long getMetricsRequests() {
+        final RequestMetrics metrics = getRequestMetrics();
+        return metrics == null ? 0 : metrics.getAll().getCount();
+    }
+
+    /**
+     * metricsErrors getter
+     *
+     * @return the number of recorded requests that failed or returned an error status
+     */
+    @ManagedAttribute(description = "The number of recorded requests that failed or returned an error status")
+    public long getMetricsErrors() {
+        final RequestMetrics metrics = getRequestMetrics();
+        return metrics == null ? 0 : metrics.getErrors();
+    }
+
+    /**
+     * metricsBytesIn getter
+     *
+     * @return the number of response bytes read from the repository
+     */
+    @ManagedAttribute(description = "The number of response bytes read from the repository")
+    public long getMetricsBytesIn() {
+        final RequestMetrics metrics = getRequestMetrics();
+        return metrics == null ? 0 : metrics.getBytesIn();
+    }
+
+    /**
+     * metricsBytesOut getter
+     *
+     * @return the number of request bytes sent
+     */
+    @ManagedAttribute(description = "The number of request bytes sent")
+    public long getMetricsBytesOut() {
+        final RequestMetrics metrics = getRequestMetrics();
+        return metrics == null ? 0 : metrics.getBytesOut();
+    }
+
+    /**
+     * metricsLatencyP50 getter
+     *
+     * @return the median request latency in milliseconds
+     */
+    @ManagedAttribute(description = "The median request latency in milliseconds")
+    public double getMetricsLatencyP50() {
+        return getLatencyPercentile(50);
+    }
+
+    /**
+     * metricsLatencyP99 getter
+     *
+     * @return the 99th percentile request latency in milliseconds
+     */
+    @ManagedAttribute(description = "The 99th percentile request latency in milliseconds")
+    public double getMetricsLatencyP99() {
+        return getLatencyPercentile(99);
+    }
+
+    /**
+     * metricsLatencyP999 getter
+     *
+     * @return the 99.9th percentile request latency in milliseconds
+     */
+    @ManagedAttribute(description = "The 99.9th percentile request latency in milliseconds")
+    public double getMetricsLatencyP999() {
+        return getLatencyPercentile(99.9);
+    }
+
+    private double getLatencyPercentile(final double percentile) {
+        final RequestMetrics metrics = getRequestMetrics();
+        return metrics == null ? 0 : metrics.getAll().getPercentile(percentile) / 1000.0;
+    }
 }
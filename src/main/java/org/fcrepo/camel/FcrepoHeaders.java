@@ -30,6 +30,8 @@ public final class FcrepoHeaders {
 
     public static final String FCREPO_EVENT_ID = "CamelFcrepoEventId";
 
+    public static final String FCREPO_DIGEST = "CamelFcrepoDigest";
+
     /**
      * The requested response content type. Replaces the {@code ACCEPT_CONTENT_TYPE}
      * constant removed from {@code org.apache.camel.Exchange} in Camel 4, keeping the
@@ -0,0 +1,139 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.net.URI;
+
+/**
+ * The response to a single request made for an item of a list body.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class FcrepoItemResponse {
+
+    private final Object item;
+
+    private final URI uri;
+
+    private final int statusCode;
+
+    private final String contentType;
+
+    private final byte[] body;
+
+    private final String error;
+
+    /**
+     * Create a response for an item of a list body.
+     *
+     * @param item the item, an identifier or URI
+     * @param uri the requested URI
+     * @param statusCode the HTTP status code
+     * @param contentType the response content type
+     * @param body the response body, if any
+     */
+    public FcrepoItemResponse(final Object item, final URI uri, final int statusCode, final String contentType,
+            final byte[] body) {
+        this(item, uri, statusCode, contentType, body, null);
+    }
+
+    /**
+     * Create a response for an item of a list body whose request failed.
+     *
+     * @param item the item, an identifier or URI
+     * @param uri the requested URI
+     * @param statusCode the HTTP status code, or -1 if there was no response
+     * @param error the reason for the failure
+     */
+    public FcrepoItemResponse(final Object item, final URI uri, final int statusCode, final String error) {
+        this(item, uri, statusCode, null, null, error);
+    }
+
+    private FcrepoItemResponse(final Object item, final URI uri, final int statusCode, final String contentType,
+            final byte[] body, final String error) {
+        this.item = item;
+        this.uri = uri;
+        this.statusCode = statusCode;
+        this.contentType = contentType;
+        this.body = body;
+        this.error = error;
+    }
+
+    /**
+     * The item of the list body
+     *
+     * @return the identifier or URI
+     */
+    public Object getItem() {
+        return item;
+    }
+
+    /**
+     * The requested URI
+     *
+     * @return the URI
+     */
+    public URI getUri() {
+        return uri;
+    }
+
+    /**
+     * The HTTP status code
+     *
+     * @return the status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * The response content type
+     *
+     * @return the content type
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * The response body
+     *
+     * @return the body, or null if the response had none
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * The reason the request for this item failed
+     *
+     * @return the error message, or null if the request succeeded
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Whether the request for this item failed
+     *
+     * @return true if there was no response or the repository answered with an error
+     */
+    public boolean isFailed() {
+        return error != null || statusCode < 200 || statusCode >= 400;
+    }
+
+    /**
+     * The response body as a UTF-8 string
+     *
+     * @return the body, or null if the response had none
+     */
+    public String getBodyAsString() {
+        return body == null ? null : new String(body, UTF_8);
+    }
+}
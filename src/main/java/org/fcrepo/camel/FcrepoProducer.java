@@ -6,40 +6,85 @@
 package org.fcrepo.camel;
 
 import static java.lang.Boolean.FALSE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
 import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.stream.Collectors.toList;
 import static org.apache.camel.Exchange.CONTENT_TYPE;
 import static org.apache.camel.Exchange.HTTP_METHOD;
 import static org.apache.camel.Exchange.HTTP_RESPONSE_CODE;
 import static org.apache.camel.Exchange.DISABLE_HTTP_STREAM_CACHE;
+import static org.apache.camel.Exchange.FILE_NAME_PRODUCED;
 import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.http.HttpHeaders.CONTENT_RANGE;
+import static org.apache.http.HttpStatus.SC_MULTIPLE_CHOICES;
+import static org.apache.http.HttpStatus.SC_NOT_MODIFIED;
+import static org.apache.http.HttpStatus.SC_OK;
+import static org.apache.http.HttpStatus.SC_PARTIAL_CONTENT;
+import static org.apache.http.HttpStatus.SC_PRECONDITION_FAILED;
+import static org.apache.jena.riot.RDFLanguages.contentTypeToLang;
 import static org.fcrepo.camel.FcrepoConstants.FIXITY;
 import static org.fcrepo.camel.FcrepoHeaders.ACCEPT_CONTENT_TYPE;
 import static org.fcrepo.camel.FcrepoHeaders.FCREPO_BASE_URL;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_DIGEST;
 import static org.fcrepo.camel.FcrepoHeaders.FCREPO_IDENTIFIER;
 import static org.fcrepo.camel.FcrepoHeaders.FCREPO_PREFER;
 import static org.fcrepo.camel.FcrepoHeaders.FCREPO_URI;
 import static org.fcrepo.client.HttpMethods.GET;
-import static org.fcrepo.client.FcrepoClient.client;
+import static org.fcrepo.client.HttpMethods.PUT;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
+import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
 import org.apache.camel.Message;
+import org.apache.camel.StreamCache;
 import org.apache.camel.converter.stream.CachedOutputStream;
-import org.apache.camel.support.DefaultProducer;
+import org.apache.camel.support.DefaultAsyncProducer;
 import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.util.IOHelper;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
 import org.fcrepo.client.FcrepoClient;
 import org.fcrepo.client.FcrepoOperationFailedException;
 import org.fcrepo.client.FcrepoResponse;
@@ -55,10 +100,21 @@ import org.springframework.transaction.support.TransactionTemplate;
 /**
  * The Fedora producer.
  *
+ * <p>When the endpoint is configured with {@code async=true}, non-transacted requests are handed off
+ * to a dedicated worker pool so that the calling route thread is released for the duration of the
+ * HTTP round trip. Transacted exchanges are always processed on the calling thread, since the
+ * transaction is bound to that thread by the {@link TransactionTemplate}.</p>
+ *
+ * <p>When the endpoint is configured with {@code virtualThreads=true}, every exchange is handed off to
+ * a new virtual thread. A transacted exchange runs its whole {@link TransactionTemplate} on that
+ * thread, so the transaction is begun, used and committed on the same thread. This holds only for
+ * an {@link FcrepoTransactionManager}, which never joins a transaction bound to the calling thread;
+ * with any other transaction manager, transacted exchanges stay on the calling thread.</p>
+ *
  * @author Aaron Coburn
  * @since October 20, 2014
  */
-public class FcrepoProducer extends DefaultProducer {
+public class FcrepoProducer extends DefaultAsyncProducer {
 
     public static final String DEFAULT_CONTENT_TYPE = "application/rdf+xml";
 
@@ -68,12 +124,34 @@ public class FcrepoProducer extends DefaultProducer {
 
     private static final String REPOSITORY = "http://fedora.info/definitions/v4/repository#";
 
+    private static final long TRANSFER_SIZE = 8388608L;
+
+    private static final String DIGEST = "Digest";
+
+    private static final String WANT_DIGEST = "Want-Digest";
+
+    private static final String FCR_METADATA = "/fcr:metadata";
+
     private final FcrepoEndpoint endpoint;
 
     private FcrepoClient fcrepoClient;
 
     private final TransactionTemplate transactionTemplate;
 
+    private ExecutorService executorService;
+
+    private boolean virtualThreads;
+
+    private boolean transactedHandOff;
+
+    private ExecutorService rangeExecutorService;
+
+    private ExecutorService fixityExecutorService;
+
+    private ExecutorService bulkExecutorService;
+
+    private volatile Expression toFileExpression;
+
     public static final Map<String, String> PREFER_PROPERTIES;
 
     static {
@@ -110,14 +188,109 @@ public class FcrepoProducer extends DefaultProducer {
         super(endpoint);
         this.endpoint = endpoint;
         this.transactionTemplate = endpoint.createTransactionTemplate();
-        final FcrepoClient.FcrepoClientBuilder builder = client()
-                .credentials(endpoint.getAuthUsername(), endpoint.getAuthPassword())
-                .authScope(endpoint.getAuthHost());
-        if (endpoint.getThrowExceptionOnFailure()) {
-            this.fcrepoClient = builder.throwExceptionOnFailure().build();
-        } else {
-            this.fcrepoClient = builder.build();
+        this.fcrepoClient = endpoint.createClient();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        if (endpoint.getVirtualThreads() && executorService == null) {
+            executorService = VirtualThreads.newExecutor();
+            virtualThreads = executorService != null;
+            if (!virtualThreads) {
+                LOGGER.warn("Virtual threads are not available, falling back to async={}", endpoint.getAsync());
+            }
+            transactedHandOff = virtualThreads
+                && transactionTemplate.getTransactionManager() instanceof FcrepoTransactionManager;
+            if (virtualThreads && !transactedHandOff) {
+                LOGGER.info("Transacted exchanges are processed on the calling thread with transaction manager {}",
+                        transactionTemplate.getTransactionManager().getClass().getName());
+            }
+        }
+        if (endpoint.getAsync() && executorService == null) {
+            executorService = endpoint.getCamelContext().getExecutorServiceManager()
+                .newFixedThreadPool(this, "FcrepoProducer[" + endpoint.getEndpointKey() + "]",
+                        endpoint.getAsyncPoolSize());
+        }
+        if (endpoint.getRangeConcurrency() > 1 && rangeExecutorService == null) {
+            rangeExecutorService = endpoint.getCamelContext().getExecutorServiceManager()
+                .newFixedThreadPool(this, "FcrepoRange[" + endpoint.getEndpointKey() + "]",
+                        endpoint.getRangeConcurrency());
+        }
+        if (!isBlank(endpoint.getFixityAlgorithms()) && fixityExecutorService == null) {
+            fixityExecutorService = endpoint.getCamelContext().getExecutorServiceManager()
+                .newFixedThreadPool(this, "FcrepoFixity[" + endpoint.getEndpointKey() + "]",
+                        endpoint.getFixityAlgorithms().trim().split("[,\\s]+").length);
+        }
+        if (endpoint.getBulkConcurrency() > 0 && bulkExecutorService == null) {
+            bulkExecutorService = endpoint.getCamelContext().getExecutorServiceManager()
+                .newFixedThreadPool(this, "FcrepoBulk[" + endpoint.getEndpointKey() + "]",
+                        endpoint.getBulkConcurrency());
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            endpoint.getCamelContext().getExecutorServiceManager().shutdownGraceful(executorService);
+            executorService = null;
+            virtualThreads = false;
+            transactedHandOff = false;
+        }
+        if (rangeExecutorService != null) {
+            endpoint.getCamelContext().getExecutorServiceManager().shutdownNow(rangeExecutorService);
+            rangeExecutorService = null;
+        }
+        if (fixityExecutorService != null) {
+            endpoint.getCamelContext().getExecutorServiceManager().shutdownNow(fixityExecutorService);
+            fixityExecutorService = null;
+        }
+        if (bulkExecutorService != null) {
+            endpoint.getCamelContext().getExecutorServiceManager().shutdownNow(bulkExecutorService);
+            bulkExecutorService = null;
         }
+        super.doStop();
+    }
+
+    /**
+     * Define how message exchanges are processed asynchronously. Non-transacted exchanges on an
+     * asynchronous endpoint or with virtual threads, and transacted exchanges with virtual threads and
+     * an {@link FcrepoTransactionManager}, return immediately and complete the callback once the
+     * repository has responded; everything else is processed on the calling thread, where a
+     * transaction bound by another transaction manager is visible.
+     *
+     * @param exchange the InOut message exchange
+     * @param callback the callback to notify once the exchange is complete
+     * @return whether the exchange was processed synchronously
+     */
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        if (executorService == null || (exchange.isTransacted() && !transactedHandOff)) {
+            try {
+                process(exchange);
+            } catch (final Exception ex) {
+                exchange.setException(ex);
+            }
+            callback.done(true);
+            return true;
+        }
+
+        try {
+            executorService.execute(() -> {
+                try {
+                    process(exchange);
+                } catch (final Exception ex) {
+                    exchange.setException(ex);
+                } finally {
+                    callback.done(false);
+                }
+            });
+        } catch (final RejectedExecutionException ex) {
+            exchange.setException(ex);
+            callback.done(true);
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -129,19 +302,32 @@ public class FcrepoProducer extends DefaultProducer {
     @Override
     public void process(final Exchange exchange) throws FcrepoOperationFailedException {
         if (exchange.isTransacted()) {
-            transactionTemplate.execute(new TransactionCallbackWithoutResult() {
-                @Override
-                protected void doInTransactionWithoutResult(final TransactionStatus status) {
-                    final DefaultTransactionStatus st = (DefaultTransactionStatus)status;
-                    final FcrepoTransactionObject tx = (FcrepoTransactionObject)st.getTransaction();
-                    try {
-                        doRequest(exchange, tx.getSessionId());
-                    } catch (final FcrepoOperationFailedException ex) {
-                        throw new TransactionSystemException(
-                            "Error executing fcrepo request in transaction: ", ex);
+            final long start = System.nanoTime();
+            final long[] requestTime = new long[1];
+            try {
+                transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+                    @Override
+                    protected void doInTransactionWithoutResult(final TransactionStatus status) {
+                        final DefaultTransactionStatus st = (DefaultTransactionStatus)status;
+                        final FcrepoTransactionObject tx = (FcrepoTransactionObject)st.getTransaction();
+                        final long requestStart = System.nanoTime();
+                        try {
+                            doRequest(exchange, tx.getSessionId());
+                        } catch (final FcrepoOperationFailedException ex) {
+                            throw new TransactionSystemException(
+                                "Error executing fcrepo request in transaction: ", ex);
+                        } finally {
+                            requestTime[0] = System.nanoTime() - requestStart;
+                        }
                     }
+                });
+            } finally {
+                // the time spent beginning and committing (or rolling back) the transaction
+                final RequestMetrics metrics = endpoint.getRequestMetrics();
+                if (metrics != null) {
+                    metrics.recordPhase(RequestMetrics.TRANSACTION, System.nanoTime() - start - requestTime[0]);
                 }
-            });
+            }
         } else {
             doRequest(exchange, null);
         }
@@ -154,26 +340,98 @@ public class FcrepoProducer extends DefaultProducer {
         final String accept = getAccept(exchange);
         final String url = getUrl(exchange, transaction);
 
+        if (bulkExecutorService != null && method == GET
+                && (in.getBody() instanceof Iterable || in.getBody() instanceof Iterator)) {
+            doBulkGet(exchange, transaction, accept);
+            return;
+        }
+
         LOGGER.debug("Fcrepo Request [{}] with method [{}]", url, method);
 
+        final ConcurrencyLimiter limiter = endpoint.getConcurrencyLimiter();
+        final RequestMetrics metrics = endpoint.getRequestMetrics();
+        final RequestEvent event = new RequestEvent();
+        event.begin();
+        final long start = System.nanoTime();
+        int status = -1;
+        FcrepoResponse response = null;
+        try {
+            response = limiter == null ? perform(exchange, method, url, contentType, accept)
+                : performLimited(limiter, exchange, method, url, contentType, accept);
+            status = response.getStatusCode();
+        } catch (final FcrepoOperationFailedException ex) {
+            status = ex.getStatusCode();
+            throw ex;
+        } finally {
+            if (metrics != null) {
+                metrics.recordRequest(method, status, System.nanoTime() - start);
+            }
+            commit(event, RequestEvent.REQUEST, url, method, status, RequestEvent.contentLength(response));
+        }
+
+        exchange.getIn().setHeader(CONTENT_TYPE, response.getContentType());
+        exchange.getIn().setHeader(HTTP_RESPONSE_CODE, response.getStatusCode());
+    }
+
+    /**
+     * Perform a request within the endpoint's adaptive concurrency limit, reporting its latency and
+     * status back to the limiter.
+     */
+    private FcrepoResponse performLimited(final ConcurrencyLimiter limiter, final Exchange exchange,
+            final HttpMethods method, final String url, final String contentType, final String accept)
+            throws FcrepoOperationFailedException {
+        acquire(limiter, url);
+        final long start = System.nanoTime();
+        int status = -1;
+        try {
+            final FcrepoResponse response = perform(exchange, method, url, contentType, accept);
+            status = response.getStatusCode();
+            return response;
+        } catch (final FcrepoOperationFailedException ex) {
+            status = ex.getStatusCode();
+            throw ex;
+        } finally {
+            limiter.release(method, System.nanoTime() - start, status);
+        }
+    }
+
+    private static void acquire(final ConcurrencyLimiter limiter, final String url)
+            throws FcrepoOperationFailedException {
+        try {
+            if (!limiter.acquire()) {
+                throw new FcrepoOperationFailedException(URI.create(url), -1,
+                        "Request rejected by the adaptive concurrency limit");
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new FcrepoOperationFailedException(URI.create(url), -1,
+                    "Interrupted while waiting for the adaptive concurrency limit");
+        }
+    }
+
+    private FcrepoResponse perform(final Exchange exchange, final HttpMethods method, final String url,
+            final String contentType, final String accept) throws FcrepoOperationFailedException {
+        final Message in = exchange.getIn();
         final FcrepoResponse response;
 
         switch (method) {
         case PATCH:
-            response = fcrepoClient.patch(getMetadataUri(url)).body(in.getBody(InputStream.class)).perform();
-            exchange.getIn().setBody(extractResponseBodyAsStream(response.getBody(), exchange));
+            response = fcrepoClient.patch(getMetadataUri(url)).body(countBytesOut(in.getBody(InputStream.class)))
+                .perform();
+            exchange.getIn().setBody(extractResponseBodyAsStream(countBytesIn(response.getBody()), exchange,
+                    response.getUrl()));
             break;
         case PUT:
-            response = fcrepoClient.put(URI.create(url)).body(in.getBody(InputStream.class), contentType).perform();
-            exchange.getIn().setBody(extractResponseBodyAsStream(response.getBody(), exchange));
-            break;
         case POST:
-            response = fcrepoClient.post(URI.create(url)).body(in.getBody(InputStream.class), contentType).perform();
-            exchange.getIn().setBody(extractResponseBodyAsStream(response.getBody(), exchange));
+            response = doUpload(method, URI.create(url), in, contentType);
+            exchange.getIn().setBody(extractResponseBodyAsStream(countBytesIn(response.getBody()), exchange,
+                    response.getUrl()));
             break;
         case DELETE:
             response = fcrepoClient.delete(URI.create(url)).perform();
-            exchange.getIn().setBody(extractResponseBodyAsStream(response.getBody(), exchange));
+            endpoint.invalidate(url);
+            exchange.getIn().setBody(extractResponseBodyAsStream(countBytesIn(response.getBody()), exchange,
+                    response.getUrl()));
             break;
         case HEAD:
             response = fcrepoClient.head(URI.create(url)).perform();
@@ -181,33 +439,431 @@ public class FcrepoProducer extends DefaultProducer {
             break;
         case GET:
         default:
-            final GetBuilder get = fcrepoClient.get(getUri(endpoint, url)).accept(accept);
-            final String preferHeader = in.getHeader(FCREPO_PREFER, "", String.class);
-            if (!preferHeader.isEmpty()) {
-                final FcrepoPrefer prefer = new FcrepoPrefer(preferHeader);
-                if (prefer.isMinimal()) {
-                    response = get.preferRepresentation(
-                            asList(URI.create("http://www.w3.org/ns/ldp#PreferMinimalContainer")),
-                            asList(URI.create("http://fedora.info/definitions/fcrepo#ServerManaged"))).perform();
-                } else if (prefer.isRepresentation()) {
-                    response = get.preferRepresentation(prefer.getInclude(), prefer.getOmit()).perform();
-                } else {
-                    response = get.perform();
+            response = doGet(exchange, url, accept);
+        }
+        return response;
+    }
+
+    /**
+     * Perform a PUT or POST request. File and buffer bodies are sent with a known length;
+     * any other body is converted to an InputStream. When the endpoint has a digest algorithm,
+     * the digest of the body is computed and, once the repository has accepted the body, stored
+     * in the {@code CamelFcrepoDigest} header.
+     */
+    private FcrepoResponse doUpload(final HttpMethods method, final URI uri, final Message in,
+            final String contentType) throws FcrepoOperationFailedException {
+        final String algorithm = endpoint.getDigestAlgorithm();
+        final MessageDigest digest = isBlank(algorithm) ? null : Digests.getDigest(algorithm);
+        final Object body = in.getBody();
+        final HttpEntity entity;
+        try {
+            final ChannelEntity channelEntity = ChannelEntity.of(body, contentType);
+            if (channelEntity != null) {
+                if (digest != null) {
+                    // seekable content is hashed up front, so that the repository can verify it
+                    channelEntity.update(digest);
+                }
+                final RequestMetrics metrics = endpoint.getRequestMetrics();
+                if (metrics != null) {
+                    metrics.recordBytesOut(channelEntity.getContentLength());
                 }
+                entity = channelEntity;
+            } else if (digest != null && body instanceof StreamCache && body instanceof InputStream) {
+                // so is a cached stream, which is read for its digest and then reset rather than copied
+                Digests.update(digest, (InputStream) body);
+                ((StreamCache) body).reset();
+                final InputStreamEntity streamEntity = new InputStreamEntity(countBytesOut((InputStream) body));
+                streamEntity.setContentType(contentType);
+                entity = streamEntity;
+            } else {
+                entity = null;
+            }
+        } catch (final IOException ex) {
+            LOGGER.debug("Error reading the message body", ex);
+            throw new FcrepoOperationFailedException(uri, -1, ex.getMessage());
+        }
+
+        if (entity == null) {
+            final InputStream stream = in.getBody(InputStream.class);
+            final InputStream upload = digest == null || stream == null ? countBytesOut(stream)
+                : countBytesOut(new DigestInputStream(stream, digest));
+            final FcrepoResponse response;
+            if (method == PUT) {
+                response = fcrepoClient.put(uri).body(upload, contentType).perform();
             } else {
-                final List<URI> include = getPreferInclude(endpoint);
-                final List<URI> omit = getPreferOmit(endpoint);
-                if (include.isEmpty() && omit.isEmpty()) {
-                    response = get.perform();
-                } else {
-                    response = get.preferRepresentation(include, omit).perform();
+                response = fcrepoClient.post(uri).body(upload, contentType).perform();
+            }
+            if (digest != null && stream != null && isSuccessful(response)) {
+                in.setHeader(FCREPO_DIGEST, Digests.format(algorithm, digest.digest()));
+            }
+            return response;
+        }
+
+        final HttpEntityEnclosingRequestBase request = method == PUT ? new HttpPut(uri) : new HttpPost(uri);
+        request.setEntity(entity);
+        final String value = digest == null ? null : Digests.format(algorithm, digest.digest());
+        if (value != null) {
+            request.setHeader(DIGEST, value);
+        }
+        final FcrepoResponse response = fcrepoClient.executeRequest(uri, request);
+        if (value != null && isSuccessful(response)) {
+            in.setHeader(FCREPO_DIGEST, value);
+        }
+        return response;
+    }
+
+    private static boolean isSuccessful(final FcrepoResponse response) {
+        return response != null && response.getStatusCode() >= SC_OK
+            && response.getStatusCode() < SC_MULTIPLE_CHOICES;
+    }
+
+    /**
+     * Perform a GET request. When the endpoint caches responses, a cached response is
+     * revalidated with a conditional request and reused if the repository reports that
+     * it has not been modified. Otherwise, when the endpoint downloads binaries in ranges,
+     * the request asks for the first range only.
+     */
+    private FcrepoResponse doGet(final Exchange exchange, final String url, final String accept)
+            throws FcrepoOperationFailedException {
+        if (fixityExecutorService != null && endpoint.getFixity()) {
+            return doClientFixity(exchange, URI.create(url), accept);
+        }
+
+        final URI uri = getUri(endpoint, url);
+        final Preference prefer = getPreference(exchange);
+        final List<URI> include = prefer.include;
+        final List<URI> omit = prefer.omit;
+
+        final ResponseCache cache = endpoint.getFixity() ? null : endpoint.getResponseCacheStore();
+        final List<Object> key = cache == null ? null : asList(uri.toString(), accept, include, omit);
+        final ResponseCache.CachedResponse cached = cache == null ? null : cache.get(key);
+
+        // a cached response is revalidated instead, since a range request cannot be conditional on it
+        final boolean ranged = rangeExecutorService != null && cached == null && !endpoint.getMetadata()
+                && !endpoint.getFixity();
+        final RequestCoalescer.Request request = () -> {
+            GetBuilder get = fcrepoClient.get(uri).accept(accept);
+            if (include != null) {
+                get = get.preferRepresentation(include, omit);
+            }
+            if (cached != null) {
+                if (cached.getETag() != null) {
+                    get = get.ifNoneMatch(cached.getETag());
                 }
+                if (cached.getLastModified() != null) {
+                    get = get.ifModifiedSince(cached.getLastModified());
+                }
+            }
+            if (ranged) {
+                get = get.range(0L, endpoint.getRangeChunkSize() - 1);
             }
-            exchange.getIn().setBody(extractResponseBodyAsStream(response.getBody(), exchange));
+            return countBytesIn(get.perform());
+        };
+        final RequestCoalescer coalescer = cached == null ? endpoint.getRequestCoalescer() : null;
+        final FcrepoResponse response;
+        if (coalescer == null) {
+            response = request.perform();
+        } else {
+            response = coalescer.execute(exchange, asList(uri.toString(), accept, include, omit), uri, request);
         }
 
-        exchange.getIn().setHeader(CONTENT_TYPE, response.getContentType());
-        exchange.getIn().setHeader(HTTP_RESPONSE_CODE, response.getStatusCode());
+        if (ranged && response.getStatusCode() == SC_PARTIAL_CONTENT) {
+            return doRangedGet(exchange, uri, response, request);
+        }
+
+        if (cached != null && response.getStatusCode() == SC_NOT_MODIFIED) {
+            final InputStream body = cache.openBody(cached);
+            if (body == null) {
+                cache.remove(key);
+                return doGet(exchange, url, accept);
+            }
+            cache.recordHit();
+            exchange.getIn().setBody(extractResponseBody(body, exchange, uri));
+            return new FcrepoResponse(uri, cached.getStatusCode(),
+                    singletonMap(CONTENT_TYPE, singletonList(cached.getContentType())), null);
+        }
+
+        if (cache != null && response.getStatusCode() == SC_OK) {
+            cache.recordMiss();
+            exchange.getIn().setBody(extractResponseBody(cacheResponse(cache, key, uri, response), exchange, uri));
+        } else {
+            exchange.getIn().setBody(extractResponseBody(response.getBody(), exchange, uri));
+        }
+        return response;
+    }
+
+    /**
+     * Perform a GET request for each identifier or URI of a list body, using up to bulkConcurrency
+     * concurrent requests. The message body is set to a list of responses in the order of the items;
+     * an item whose request fails is reported in its own response rather than failing the others.
+     */
+    private void doBulkGet(final Exchange exchange, final String transaction, final String accept)
+            throws FcrepoOperationFailedException {
+        final Object body = exchange.getIn().getBody();
+        final Iterator<?> iterator = body instanceof Iterator ? (Iterator<?>) body : ((Iterable<?>) body).iterator();
+        final List<Object> items = new ArrayList<>();
+        iterator.forEachRemaining(items::add);
+
+        final String baseUrl = getBaseUrl(exchange, transaction);
+        final Preference prefer = getPreference(exchange);
+        final FcrepoItemResponse[] responses = new FcrepoItemResponse[items.size()];
+        final AtomicInteger next = new AtomicInteger();
+        final List<Future<Void>> workers = new ArrayList<>();
+
+        LOGGER.debug("Fcrepo Request [{}] for {} items", baseUrl, items.size());
+
+        // each worker takes the next item, so that no more than bulkConcurrency tasks are ever queued
+        for (int i = 0; i < Math.min(endpoint.getBulkConcurrency(), items.size()); i++) {
+            workers.add(bulkExecutorService.submit(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < responses.length) {
+                    responses[index] = getItem(items.get(index), baseUrl, accept, prefer);
+                }
+                return null;
+            }));
+        }
+
+        try {
+            for (final Future<Void> worker : workers) {
+                worker.get();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            next.set(responses.length);
+            throw new FcrepoOperationFailedException(URI.create(baseUrl), -1, "Interrupted during bulk request");
+        } catch (final ExecutionException ex) {
+            LOGGER.debug("Error performing bulk request", ex.getCause());
+            throw new FcrepoOperationFailedException(URI.create(baseUrl), -1, ex.getCause().getMessage());
+        }
+
+        exchange.getIn().setBody(asList(responses));
+        exchange.getIn().removeHeader(CONTENT_TYPE);
+        exchange.getIn().setHeader(HTTP_RESPONSE_CODE, SC_OK);
+    }
+
+    /**
+     * Perform a GET request for an item of a list body, reading the complete response. The
+     * description of a binary is located through the description cache, when it is enabled, and an
+     * item that already names a description is fetched without a HEAD request.
+     */
+    private FcrepoItemResponse getItem(final Object item, final String baseUrl, final String accept,
+            final Preference prefer) {
+        final String value = item.toString();
+        final String url = value.startsWith("http://") || value.startsWith("https://") ? value : baseUrl + value;
+        final ConcurrencyLimiter limiter = endpoint.getConcurrencyLimiter();
+        URI uri = URI.create(url);
+        boolean acquired = false;
+        long start = 0;
+        int status = -1;
+        try {
+            if (limiter != null) {
+                acquire(limiter, url);
+                acquired = true;
+                start = System.nanoTime();
+            }
+            if (endpoint.getFixity() || !url.endsWith(FCR_METADATA)) {
+                uri = getUri(endpoint, url);
+            }
+            GetBuilder get = fcrepoClient.get(uri).accept(accept);
+            if (prefer.include != null) {
+                get = get.preferRepresentation(prefer.include, prefer.omit);
+            }
+            final FcrepoResponse response = get.perform();
+            status = response.getStatusCode();
+            byte[] body = null;
+            if (response.getBody() != null) {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                IOHelper.copyAndCloseInput(countBytesIn(response.getBody()), out);
+                body = out.toByteArray();
+            }
+            return new FcrepoItemResponse(item, uri, status, response.getContentType(), body);
+        } catch (final FcrepoOperationFailedException ex) {
+            LOGGER.debug("Bulk request for {} failed", url, ex);
+            status = ex.getStatusCode();
+            return new FcrepoItemResponse(item, uri, ex.getStatusCode(), ex.getMessage());
+        } catch (final IOException ex) {
+            LOGGER.debug("Error reading bulk response for {}", url, ex);
+            status = -1;
+            return new FcrepoItemResponse(item, uri, -1, ex.getMessage());
+        } finally {
+            if (acquired) {
+                limiter.release(GET, System.nanoTime() - start, status);
+            }
+        }
+    }
+
+    /**
+     * Commit a flight recorder event, if it is enabled and exceeds its threshold.
+     */
+    private static void commit(final RequestEvent event, final String operation, final String url,
+            final HttpMethods method, final int status, final long bytes) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.url = url;
+            event.method = method == null ? null : method.toString();
+            event.status = status;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    /**
+     * Wrap a request body so that the bytes sent from it are recorded, when the endpoint records metrics.
+     */
+    private InputStream countBytesOut(final InputStream body) {
+        final RequestMetrics metrics = endpoint.getRequestMetrics();
+        return metrics == null ? body : metrics.countBytesOut(body);
+    }
+
+    /**
+     * Wrap a response body, as it is received from the repository, so that the bytes read from it are
+     * recorded, when the endpoint records metrics. Bodies replayed from the response cache or shared by
+     * coalesced requests are not wrapped again.
+     */
+    private InputStream countBytesIn(final InputStream body) {
+        final RequestMetrics metrics = endpoint.getRequestMetrics();
+        return metrics == null || body == null ? body : metrics.countBytesIn(body);
+    }
+
+    private FcrepoResponse countBytesIn(final FcrepoResponse response) {
+        final RequestMetrics metrics = endpoint.getRequestMetrics();
+        if (metrics == null || response.getBody() == null) {
+            return response;
+        }
+        return new FcrepoResponse(response.getUrl(), response.getStatusCode(), response.getHeaders(),
+                metrics.countBytesIn(response.getBody()));
+    }
+
+    /**
+     * Check the fixity of a binary by computing its digests while it is read, rather than having the
+     * repository compute them with the /fcr:fixity endpoint. The message body is set to the same
+     * PREMIS description that the repository produces.
+     */
+    private FcrepoResponse doClientFixity(final Exchange exchange, final URI uri, final String accept)
+            throws FcrepoOperationFailedException {
+        final FixityCheck check = new FixityCheck(endpoint.getFixityAlgorithms());
+        final HttpGet request = new HttpGet(uri);
+        request.setHeader(WANT_DIGEST, check.getWantDigest());
+        final FcrepoResponse response = fcrepoClient.executeRequest(uri, request);
+        if (response.getStatusCode() != SC_OK || response.getBody() == null) {
+            exchange.getIn().setBody(extractResponseBodyAsStream(countBytesIn(response.getBody()), exchange,
+                    response.getUrl()));
+            return response;
+        }
+
+        try {
+            check.digest(countBytesIn(response.getBody()), fixityExecutorService);
+        } catch (final IOException ex) {
+            LOGGER.debug("Error computing the fixity of a binary", ex);
+            throw new FcrepoOperationFailedException(uri, -1, ex.getMessage());
+        }
+
+        final Lang lang = accept == null || contentTypeToLang(accept) == null ? Lang.RDFXML : contentTypeToLang(accept);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RDFDataMgr.write(out, check.toModel(uri, String.join(",", response.getHeaderValues(DIGEST))), lang);
+        exchange.getIn().setHeader(FCREPO_DIGEST, check.getDigestValue());
+        exchange.getIn().setBody(extractResponseBodyAsStream(new ByteArrayInputStream(out.toByteArray()), exchange,
+                uri));
+        return new FcrepoResponse(uri, SC_OK,
+                singletonMap(CONTENT_TYPE, singletonList(lang.getContentType().getContentTypeStr())), null);
+    }
+
+    /**
+     * Download the rest of a binary whose first range has been received with concurrent range requests
+     * into a temporary file. The message body is set to a stream over that file, which is removed once
+     * the stream is closed. A binary that changes during the download is downloaded once more, starting
+     * from a new request for its first range.
+     *
+     * @param exchange the exchange
+     * @param uri the binary URI
+     * @param first the response to the request for the first range
+     * @param request the request for the first range
+     * @return the response
+     * @throws FcrepoOperationFailedException when a request results in an error
+     */
+    private FcrepoResponse doRangedGet(final Exchange exchange, final URI uri, final FcrepoResponse first,
+            final RequestCoalescer.Request request) throws FcrepoOperationFailedException {
+        FcrepoResponse response = first;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return doRangedGetOnce(exchange, uri, response);
+            } catch (final RangedDownload.ChangedException ex) {
+                LOGGER.debug("Binary changed during a ranged download, attempt {}", attempt, ex);
+                if (attempt > 1) {
+                    throw new FcrepoOperationFailedException(uri, SC_PRECONDITION_FAILED, ex.getMessage());
+                }
+            } catch (final IOException ex) {
+                LOGGER.debug("Error downloading binary with range requests", ex);
+                throw new FcrepoOperationFailedException(uri, -1, ex.getMessage());
+            }
+            response = request.perform();
+            if (response.getStatusCode() != SC_PARTIAL_CONTENT) {
+                exchange.getIn().setBody(extractResponseBody(response.getBody(), exchange, uri));
+                return response;
+            }
+        }
+    }
+
+    private FcrepoResponse doRangedGetOnce(final Exchange exchange, final URI uri, final FcrepoResponse response)
+            throws FcrepoOperationFailedException, IOException {
+        final long[] range = RangedDownload.parseContentRange(response.getHeaderValue(CONTENT_RANGE));
+        if (range == null || range[0] != 0 || response.getBody() == null) {
+            IOHelper.close(response.getBody());
+            throw new IOException("Invalid Content-Range in the response from " + uri);
+        }
+        final long received = range[1] + 1;
+        final long length = range[2];
+        final FcrepoResponse complete = new FcrepoResponse(uri, SC_OK,
+                singletonMap(CONTENT_TYPE, singletonList(response.getContentType())), null);
+        if (received >= length) {
+            // the whole binary fit in the first range
+            exchange.getIn().setBody(extractResponseBody(response.getBody(), exchange, uri));
+            return complete;
+        }
+        final String etag = response.getHeaderValue("ETag");
+        final String lastModified = response.getHeaderValue("Last-Modified");
+
+        if (isBlank(endpoint.getToFile())) {
+            final Path file = RangedDownload.download(fcrepoClient, uri, response.getBody(), received, length, etag,
+                    lastModified, endpoint.getRangeChunkSize(), rangeExecutorService, this::countBytesIn, null);
+            final InputStream body = Files.newInputStream(file, DELETE_ON_CLOSE);
+            exchange.getExchangeExtension().addOnCompletion(new SynchronizationAdapter() {
+                @Override
+                public void onDone(final Exchange completed) {
+                    IOHelper.close(body);
+                }
+            });
+            exchange.getIn().setBody(body);
+        } else {
+            final Path target = RangedDownload.download(fcrepoClient, uri, response.getBody(), received, length,
+                    etag, lastModified, endpoint.getRangeChunkSize(), rangeExecutorService, this::countBytesIn,
+                    getTargetFile(exchange));
+            exchange.getIn().setHeader(FILE_NAME_PRODUCED, target.toString());
+            exchange.getIn().setBody(target);
+        }
+        return complete;
+    }
+
+    /**
+     * Store a response body in the cache if it carries a validator and is small enough, and
+     * return a stream over the complete body.
+     */
+    private static InputStream cacheResponse(final ResponseCache cache, final List<Object> key, final URI uri,
+            final FcrepoResponse response) throws FcrepoOperationFailedException {
+        final InputStream body = response.getBody();
+        final String etag = response.getHeaderValue("ETag");
+        final String lastModified = response.getHeaderValue("Last-Modified");
+        if (body == null || (etag == null && lastModified == null)) {
+            return body;
+        }
+        try {
+            return cache.store(key, uri.toString(), response.getStatusCode(), response.getContentType(), etag,
+                    lastModified, RequestEvent.contentLength(response), body);
+        } catch (final IOException ex) {
+            LOGGER.debug("Error reading body for the response cache", ex);
+            IOHelper.close(body);
+            throw new FcrepoOperationFailedException(uri, -1, ex.getMessage());
+        }
     }
 
     private URI getUri(final FcrepoEndpoint endpoint, final String url) throws FcrepoOperationFailedException {
@@ -219,6 +875,30 @@ public class FcrepoProducer extends DefaultProducer {
         return URI.create(url);
     }
 
+    /**
+     * Determine the preferred representation from the FCREPO_PREFER header, or else from the endpoint.
+     */
+    private Preference getPreference(final Exchange exchange) {
+        final String preferHeader = exchange.getIn().getHeader(FCREPO_PREFER, "", String.class);
+        if (!preferHeader.isEmpty()) {
+            final FcrepoPrefer prefer = new FcrepoPrefer(preferHeader);
+            if (prefer.isMinimal()) {
+                return new Preference(asList(URI.create("http://www.w3.org/ns/ldp#PreferMinimalContainer")),
+                        asList(URI.create("http://fedora.info/definitions/fcrepo#ServerManaged")));
+            } else if (prefer.isRepresentation()) {
+                return new Preference(prefer.getInclude(), prefer.getOmit());
+            }
+            return new Preference(null, null);
+        }
+
+        final List<URI> preferInclude = getPreferInclude(endpoint);
+        final List<URI> preferOmit = getPreferOmit(endpoint);
+        if (preferInclude.isEmpty() && preferOmit.isEmpty()) {
+            return new Preference(null, null);
+        }
+        return new Preference(preferInclude, preferOmit);
+    }
+
     private List<URI> getPreferOmit(final FcrepoEndpoint endpoint) {
         if (!isBlank(endpoint.getPreferOmit())) {
             return stream(endpoint.getPreferOmit().split("\\s+")).map(addPreferNamespace).map(URI::create)
@@ -236,16 +916,47 @@ public class FcrepoProducer extends DefaultProducer {
     }
 
     /**
-     * Retrieve the resource location from a HEAD request.
+     * Retrieve the resource location from a HEAD request, or from the endpoint's description
+     * cache when enabled.
      */
     private URI getMetadataUri(final String url)
             throws FcrepoOperationFailedException {
-        final FcrepoResponse headResponse = fcrepoClient.head(URI.create(url)).perform();
+        final DescriptionCache cache = endpoint.getDescriptionCache();
+        if (cache != null) {
+            final URI cached = cache.get(url);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final RequestMetrics metrics = endpoint.getRequestMetrics();
+        final RequestEvent event = new RequestEvent();
+        event.begin();
+        final long start = System.nanoTime();
+        int status = -1;
+        final FcrepoResponse headResponse;
+        try {
+            headResponse = fcrepoClient.head(URI.create(url)).perform();
+            status = headResponse.getStatusCode();
+        } catch (final FcrepoOperationFailedException ex) {
+            status = ex.getStatusCode();
+            throw ex;
+        } finally {
+            if (metrics != null) {
+                metrics.recordPhase(RequestMetrics.METADATA, System.nanoTime() - start);
+            }
+            commit(event, RequestEvent.METADATA, url, HttpMethods.HEAD, status, -1);
+        }
+        final URI location;
         if (headResponse.getLocation() != null) {
-            return headResponse.getLocation();
+            location = headResponse.getLocation();
         } else {
-            return URI.create(url);
+            location = URI.create(url);
         }
+        if (cache != null && headResponse.getStatusCode() < 300) {
+            cache.put(url, location);
+        }
+        return location;
     }
 
 
@@ -332,37 +1043,126 @@ public class FcrepoProducer extends DefaultProducer {
             return uri;
         }
 
+        return getBaseUrl(exchange, transaction) + exchange.getIn().getHeader(FCREPO_IDENTIFIER, "", String.class);
+    }
+
+    /**
+     * Given an exchange, extract the URL to which identifiers are appended: the FCREPO_BASE_URL header or the
+     * endpoint path, followed by the transaction, if any.
+     *
+     * @param exchange the incoming message exchange
+     */
+    private String getBaseUrl(final Exchange exchange, final String transaction) {
         final String baseUrl = exchange.getIn().getHeader(FCREPO_BASE_URL, "", String.class);
         final StringBuilder url = new StringBuilder(baseUrl.isEmpty() ? endpoint.getBaseUrlWithScheme() : baseUrl);
         if (transaction != null) {
             url.append("/");
             url.append(transaction);
         }
-        url.append(exchange.getIn().getHeader(FCREPO_IDENTIFIER, "", String.class));
-
         return url.toString();
     }
 
-    private static Object extractResponseBodyAsStream(final InputStream is, final Exchange exchange) {
+    /**
+     * Extract a GET response body, either streaming it to the endpoint's target file or caching it,
+     * unless it is cached already.
+     */
+    private Object extractResponseBody(final InputStream is, final Exchange exchange, final URI uri)
+            throws FcrepoOperationFailedException {
+        if (is == null || isBlank(endpoint.getToFile())) {
+            return extractResponseBodyAsStream(is, exchange, uri);
+        }
+
+        final RequestMetrics metrics = endpoint.getRequestMetrics();
+        final long start = System.nanoTime();
+        final Path target;
+        try (final ReadableByteChannel source = Channels.newChannel(is)) {
+            target = getTargetFile(exchange);
+            try (final FileChannel out = FileChannel.open(target, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                long position = 0;
+                long transferred;
+                while ((transferred = out.transferFrom(source, position, TRANSFER_SIZE)) > 0) {
+                    position += transferred;
+                }
+            }
+        } catch (final IOException ex) {
+            LOGGER.debug("Error writing response body to file", ex);
+            throw new FcrepoOperationFailedException(uri, -1, ex.getMessage());
+        } finally {
+            if (metrics != null) {
+                metrics.recordPhase(RequestMetrics.EXTRACT, System.nanoTime() - start);
+            }
+        }
+        exchange.getIn().setHeader(FILE_NAME_PRODUCED, target.toString());
+        return target;
+    }
+
+    /**
+     * Resolve the endpoint's toFile expression against the exchange, creating any missing parent directories.
+     */
+    private Path getTargetFile(final Exchange exchange) throws IOException {
+        Expression expression = toFileExpression;
+        if (expression == null) {
+            expression = exchange.getContext().resolveLanguage("simple").createExpression(endpoint.getToFile());
+            expression.init(exchange.getContext());
+            toFileExpression = expression;
+        }
+        final Path target = Paths.get(expression.evaluate(exchange, String.class)).toAbsolutePath();
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        return target;
+    }
+
+    private Object extractResponseBodyAsStream(final InputStream is, final Exchange exchange, final URI uri) {
         // As httpclient is using a AutoCloseInputStream, it will be closed when the connection is closed
         // we need to cache the stream for it.
         if (is == null) {
             return null;
         }
+        // a coalesced response body is already cached, in a copy of its own for each exchange
+        if (is instanceof StreamCache) {
+            return is;
+        }
 
         // convert the input stream to StreamCache if the stream cache is not disabled
         if (exchange.getProperty(DISABLE_HTTP_STREAM_CACHE, FALSE, Boolean.class)) {
             return is;
-        } else {
-            try (final CachedOutputStream cos = new CachedOutputStream(exchange)) {
-                // This CachedOutputStream will not be closed when the exchange is onCompletion
-                IOHelper.copyAndCloseInput(is, cos);
-                // When the InputStream is closed, the CachedOutputStream will be closed
-                return cos.newStreamCache();
-            } catch (final IOException ex) {
-                LOGGER.debug("Error extracting body from http request", ex);
-                return null;
+        }
+        final RequestMetrics metrics = endpoint.getRequestMetrics();
+        final RequestEvent event = new RequestEvent();
+        final LongAdder bytes = event.isEnabled() ? new LongAdder() : null;
+        final InputStream body = bytes == null ? is : RequestMetrics.count(is, bytes);
+        event.begin();
+        final long start = System.nanoTime();
+        try (final CachedOutputStream cos = new CachedOutputStream(exchange)) {
+            // This CachedOutputStream will not be closed when the exchange is onCompletion
+            IOHelper.copyAndCloseInput(body, cos);
+            // When the InputStream is closed, the CachedOutputStream will be closed
+            return cos.newStreamCache();
+        } catch (final IOException ex) {
+            LOGGER.debug("Error extracting body from http request", ex);
+            return null;
+        } finally {
+            if (metrics != null) {
+                metrics.recordPhase(RequestMetrics.EXTRACT, System.nanoTime() - start);
             }
+            commit(event, RequestEvent.EXTRACT, uri == null ? null : uri.toString(), null, -1,
+                    bytes == null ? -1 : bytes.sum());
+        }
+    }
+
+    /**
+     * The included and omitted values of a Prefer header; both are null when no preference applies.
+     */
+    private static final class Preference {
+
+        private final List<URI> include;
+
+        private final List<URI> omit;
+
+        private Preference(final List<URI> include, final List<URI> omit) {
+            this.include = include;
+            this.omit = omit;
         }
     }
 }
@@ -11,6 +11,7 @@ import static org.fcrepo.camel.FcrepoConstants.TRANSACTION;
 import static org.fcrepo.client.FcrepoClient.client;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 
@@ -34,6 +35,8 @@ public class FcrepoTransactionManager extends AbstractPlatformTransactionManager
 
     private FcrepoClient fcrepoClient;
 
+    private volatile FcrepoClient defaultClient;
+
     private String baseUrl;
 
     private String authUsername;
@@ -77,6 +80,7 @@ public class FcrepoTransactionManager extends AbstractPlatformTransactionManager
      */
     public void setAuthUsername(final String authUsername) {
         this.authUsername = authUsername;
+        this.defaultClient = null;
     }
 
     /**
@@ -95,6 +99,7 @@ public class FcrepoTransactionManager extends AbstractPlatformTransactionManager
      */
     public void setAuthPassword(final String authPassword) {
         this.authPassword = authPassword;
+        this.defaultClient = null;
     }
 
     /**
@@ -113,6 +118,7 @@ public class FcrepoTransactionManager extends AbstractPlatformTransactionManager
      */
     public void setAuthHost(final String authHost) {
         this.authHost = authHost;
+        this.defaultClient = null;
     }
 
     /**
@@ -124,26 +130,42 @@ public class FcrepoTransactionManager extends AbstractPlatformTransactionManager
         return authHost;
     }
 
+    /**
+     * Set the client used for transaction requests. Without one, a client is built from the
+     * authentication settings, and built again whenever one of them changes.
+     *
+     * @param client the repository client
+     */
+    public void setClient(final FcrepoClient client) {
+        this.fcrepoClient = client;
+    }
+
     @Override
     protected void doBegin(final Object transaction, final TransactionDefinition definition) {
-        final FcrepoResponse response;
         final InputStream is = null;
         final String contentType = null;
         final FcrepoTransactionObject tx = (FcrepoTransactionObject)transaction;
 
         if (tx.getSessionId() == null) {
-            try {
-                response = getClient().post(URI.create(baseUrl + TRANSACTION))
-                    .body(is, contentType).perform();
+            final URI uri = URI.create(baseUrl + TRANSACTION);
+            final TransactionEvent event = new TransactionEvent();
+            event.begin();
+            try (final FcrepoResponse response = getClient().post(uri).body(is, contentType).perform()) {
+                event.status = response == null ? -1 : response.getStatusCode();
+                event.bytes = RequestEvent.contentLength(response);
+                if (response != null && response.getLocation() != null) {
+                    tx.setSessionId(response.getLocation().toString().substring(baseUrl.length() + 1));
+                } else {
+                    throw new CannotCreateTransactionException("Invalid response while creating transaction");
+                }
             } catch (final FcrepoOperationFailedException ex) {
                 LOGGER.debug("HTTP Operation failed: ", ex);
+                event.status = ex.getStatusCode();
                 throw new CannotCreateTransactionException("Could not create fcrepo transaction");
-            }
-
-            if (response != null && response.getLocation() != null) {
-                tx.setSessionId(response.getLocation().toString().substring(baseUrl.length() + 1));
-            } else {
-                throw new CannotCreateTransactionException("Invalid response while creating transaction");
+            } catch (final IOException ex) {
+                LOGGER.debug("Could not close the transaction response: ", ex);
+            } finally {
+                commit(event, TransactionEvent.BEGIN, uri);
             }
         }
     }
@@ -154,14 +176,21 @@ public class FcrepoTransactionManager extends AbstractPlatformTransactionManager
         final InputStream is = null;
         final String contentType = null;
 
-        try {
-            getClient().post(URI.create(baseUrl + "/" + tx.getSessionId() + COMMIT))
-                .body(is, contentType).perform();
+        final URI uri = URI.create(baseUrl + "/" + tx.getSessionId() + COMMIT);
+        final TransactionEvent event = new TransactionEvent();
+        event.begin();
+        try (final FcrepoResponse response = getClient().post(uri).body(is, contentType).perform()) {
+            event.status = response == null ? -1 : response.getStatusCode();
+            event.bytes = RequestEvent.contentLength(response);
         } catch (final FcrepoOperationFailedException ex) {
             LOGGER.debug("Transaction commit failed: ", ex);
+            event.status = ex.getStatusCode();
             throw new TransactionSystemException("Could not commit fcrepo transaction");
+        } catch (final IOException ex) {
+            LOGGER.debug("Could not close the transaction response: ", ex);
         } finally {
             tx.setSessionId(null);
+            commit(event, TransactionEvent.COMMIT, uri);
         }
     }
 
@@ -169,13 +198,29 @@ public class FcrepoTransactionManager extends AbstractPlatformTransactionManager
     protected void doRollback(final DefaultTransactionStatus status) {
         final FcrepoTransactionObject tx = (FcrepoTransactionObject)status.getTransaction();
 
-        try {
-            getClient().post(URI.create(baseUrl + "/" + tx.getSessionId() + ROLLBACK)).perform();
+        final URI uri = URI.create(baseUrl + "/" + tx.getSessionId() + ROLLBACK);
+        final TransactionEvent event = new TransactionEvent();
+        event.begin();
+        try (final FcrepoResponse response = getClient().post(uri).perform()) {
+            event.status = response == null ? -1 : response.getStatusCode();
+            event.bytes = RequestEvent.contentLength(response);
         } catch (final FcrepoOperationFailedException ex) {
             LOGGER.debug("Transaction rollback failed: ", ex);
+            event.status = ex.getStatusCode();
             throw new TransactionSystemException("Could not rollback fcrepo transaction");
+        } catch (final IOException ex) {
+            LOGGER.debug("Could not close the transaction response: ", ex);
         } finally {
             tx.setSessionId(null);
+            commit(event, TransactionEvent.ROLLBACK, uri);
+        }
+    }
+
+    private static void commit(final TransactionEvent event, final String operation, final URI uri) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.url = uri.toString();
+            event.commit();
         }
     }
 
@@ -185,10 +230,15 @@ public class FcrepoTransactionManager extends AbstractPlatformTransactionManager
     }
 
     private FcrepoClient getClient() {
-        if (fcrepoClient == null) {
-            return client().credentials(authUsername, authPassword).authScope(authHost)
+        if (fcrepoClient != null) {
+            return fcrepoClient;
+        }
+        FcrepoClient client = defaultClient;
+        if (client == null) {
+            client = client().credentials(authUsername, authPassword).authScope(authHost)
                 .throwExceptionOnFailure().build();
+            defaultClient = client;
         }
-        return fcrepoClient;
+        return client;
     }
 }
@@ -0,0 +1,197 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.util.Collections.emptyList;
+import static org.apache.jena.rdf.model.ModelFactory.createDefaultModel;
+import static org.apache.jena.rdf.model.ResourceFactory.createProperty;
+import static org.apache.jena.rdf.model.ResourceFactory.createResource;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.slf4j.Logger;
+
+/**
+ * A fixity check computed by the client from a single pass over a binary. The digests of each
+ * chunk are computed in parallel on an executor while the next chunk is read, and the results are
+ * compared with the {@code Digest} header returned by the repository.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+final class FixityCheck {
+
+    private static final Logger LOGGER = getLogger(FixityCheck.class);
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private static final String PREMIS = "http://www.loc.gov/premis/rdf/v1#";
+
+    private static final Resource FIXITY = createResource(PREMIS + "Fixity");
+
+    private static final Resource EVENT_OUTCOME_DETAIL = createResource(PREMIS + "EventOutcomeDetail");
+
+    private static final Property HAS_FIXITY = createProperty(PREMIS + "hasFixity");
+
+    private static final Property HAS_EVENT_OUTCOME = createProperty(PREMIS + "hasEventOutcome");
+
+    private static final Property HAS_MESSAGE_DIGEST = createProperty(PREMIS + "hasMessageDigest");
+
+    private static final Property HAS_SIZE = createProperty(PREMIS + "hasSize");
+
+    static final String SUCCESS = "SUCCESS";
+
+    static final String BAD_CHECKSUM = "BAD_CHECKSUM";
+
+    private final Map<String, MessageDigest> digests = new LinkedHashMap<>();
+
+    private final Map<String, byte[]> values = new LinkedHashMap<>();
+
+    private long size = 0;
+
+    /**
+     * Create a fixity check.
+     *
+     * @param algorithms a comma or space separated list of algorithms, e.g. {@code sha-1,sha-256}
+     * @throws IllegalArgumentException if an algorithm is not supported
+     */
+    FixityCheck(final String algorithms) {
+        for (final String algorithm : algorithms.split("[,\\s]+")) {
+            if (!algorithm.isEmpty()) {
+                digests.put(Digests.name(algorithm), Digests.getDigest(algorithm));
+            }
+        }
+        if (digests.isEmpty()) {
+            throw new IllegalArgumentException("No fixity algorithms in: " + algorithms);
+        }
+    }
+
+    /**
+     * The value of a {@code Want-Digest} header requesting the algorithms of this check.
+     *
+     * @return the header value
+     */
+    String getWantDigest() {
+        return String.join(", ", digests.keySet());
+    }
+
+    /**
+     * Read a binary, computing each digest.
+     *
+     * @param body the binary content, which is closed once it has been read
+     * @param executor the executor on which the digests are computed
+     * @throws IOException when the content cannot be read
+     */
+    void digest(final InputStream body, final ExecutorService executor) throws IOException {
+        byte[] current = new byte[BUFFER_SIZE];
+        byte[] next = new byte[BUFFER_SIZE];
+        List<Future<?>> pending = emptyList();
+        try (final InputStream in = body) {
+            int read;
+            while ((read = fill(in, current)) > 0) {
+                await(pending);
+                pending = update(current, read, executor);
+                size += read;
+                // the next chunk is read while the current one is hashed
+                final byte[] swap = current;
+                current = next;
+                next = swap;
+            }
+            await(pending);
+        } finally {
+            pending.forEach(task -> task.cancel(true));
+        }
+        digests.forEach((algorithm, digest) -> values.put(algorithm, digest.digest()));
+    }
+
+    /**
+     * The computed digests as a {@code Digest} header value.
+     *
+     * @return the instance digests, e.g. {@code sha=<hex>,sha-256=<hex>}
+     */
+    String getDigestValue() {
+        final List<String> instances = new ArrayList<>();
+        values.forEach((algorithm, value) -> instances.add(Digests.format(algorithm, value)));
+        return String.join(",", instances);
+    }
+
+    /**
+     * Describe the result of the check with the PREMIS vocabulary used by the {@code fcr:fixity} endpoint.
+     * A digest the repository did not report is described without an outcome.
+     *
+     * @param uri the binary URI
+     * @param digestHeader the {@code Digest} header returned by the repository
+     * @return the fixity result
+     */
+    Model toModel(final URI uri, final String digestHeader) {
+        final Map<String, String> expected = Digests.parse(digestHeader);
+        final Model model = createDefaultModel();
+        final Resource binary = model.createResource(uri.toString());
+        values.forEach((algorithm, value) -> {
+            final Resource result = model.createResource()
+                .addProperty(RDF.type, FIXITY)
+                .addProperty(RDF.type, EVENT_OUTCOME_DETAIL)
+                .addProperty(HAS_MESSAGE_DIGEST, model.createResource(
+                        "urn:" + ("sha".equals(algorithm) ? "sha1" : algorithm) + ":" + Digests.toHex(value)))
+                .addLiteral(HAS_SIZE, model.createTypedLiteral(Long.toString(size), XSDDatatype.XSDlong));
+            final String reference = expected.get(algorithm);
+            if (reference == null) {
+                LOGGER.debug("No {} digest reported for {}", algorithm, uri);
+            } else {
+                result.addProperty(HAS_EVENT_OUTCOME, Digests.matches(value, reference) ? SUCCESS : BAD_CHECKSUM);
+            }
+            binary.addProperty(HAS_FIXITY, result);
+        });
+        return model;
+    }
+
+    private List<Future<?>> update(final byte[] chunk, final int length, final ExecutorService executor) {
+        final List<Future<?>> tasks = new ArrayList<>(digests.size());
+        for (final MessageDigest digest : digests.values()) {
+            tasks.add(executor.submit(() -> digest.update(chunk, 0, length)));
+        }
+        return tasks;
+    }
+
+    private static void await(final List<Future<?>> tasks) throws IOException {
+        try {
+            for (final Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while computing digests");
+        } catch (final ExecutionException ex) {
+            throw new IOException("Error computing digests", ex.getCause());
+        }
+    }
+
+    private static int fill(final InputStream in, final byte[] buffer) throws IOException {
+        int total = 0;
+        int read;
+        while (total < buffer.length && (read = in.read(buffer, total, buffer.length - total)) != -1) {
+            total += read;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
+import static org.apache.http.HttpStatus.SC_OK;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.fcrepo.client.FcrepoClient;
+import org.fcrepo.client.FcrepoOperationFailedException;
+import org.fcrepo.client.FcrepoResponse;
+import org.slf4j.Logger;
+
+/**
+ * A {@link FcrepoClient} that executes its requests with the JDK http client, which multiplexes
+ * concurrent requests over a single HTTP/2 connection and falls back to HTTP/1.1 when the server
+ * does not support HTTP/2. The JDK client is shared by the {@link FcrepoComponent}.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+class Http2FcrepoClient extends FcrepoClient {
+
+    private static final Logger LOGGER = getLogger(Http2FcrepoClient.class);
+
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.addAll(Arrays.asList("Connection", "Content-Length", "Expect", "Host", "Upgrade"));
+    }
+
+    private final HttpClient httpClient;
+
+    private final String authorization;
+
+    private final String authHost;
+
+    private final boolean throwExceptionOnFailure;
+
+    /**
+     * Create a client backed by a shared JDK http client.
+     *
+     * @param httpClient the shared http client
+     * @param username the username used for authentication
+     * @param password the password used for authentication
+     * @param host the host realm used for authentication
+     * @param throwExceptionOnFailure whether HTTP error codes throw exceptions
+     */
+    Http2FcrepoClient(final HttpClient httpClient, final String username, final String password,
+            final String host, final boolean throwExceptionOnFailure) {
+        super(null, null, null, throwExceptionOnFailure);
+        this.httpClient = httpClient;
+        this.authHost = host;
+        this.throwExceptionOnFailure = throwExceptionOnFailure;
+        if (isBlank(username) || isBlank(password)) {
+            this.authorization = null;
+        } else {
+            this.authorization = "Basic " + Base64.getEncoder().encodeToString((username + ":" + password)
+                    .getBytes(UTF_8));
+        }
+    }
+
+    /**
+     * Create a JDK http client that prefers HTTP/2.
+     *
+     * @return the http client
+     */
+    static HttpClient createHttpClient() {
+        return HttpClient.newBuilder().version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NEVER).build();
+    }
+
+    @Override
+    public FcrepoResponse executeRequest(final URI url, final HttpRequestBase request)
+            throws FcrepoOperationFailedException {
+        LOGGER.debug("Fcrepo {} request to {}", request.getMethod(), url);
+        try {
+            final HttpResponse<InputStream> response =
+                httpClient.send(toRequest(request), BodyHandlers.ofInputStream());
+            final int status = response.statusCode();
+            LOGGER.debug("Fcrepo {} response from {} over {}", status, url, response.version());
+
+            if (throwExceptionOnFailure && (status < SC_OK || status >= SC_BAD_REQUEST)) {
+                response.body().close();
+                throw new FcrepoOperationFailedException(url, status,
+                        EnglishReasonPhraseCatalog.INSTANCE.getReason(status, null));
+            }
+            return new FcrepoResponse(url, status, getHeaders(response), response.body());
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new FcrepoOperationFailedException(url, -1, "Interrupted during request");
+        } catch (final IOException | UncheckedIOException ex) {
+            LOGGER.debug("HTTP Operation failed: ", ex);
+            throw new FcrepoOperationFailedException(url, -1, ex.getMessage());
+        }
+    }
+
+    private HttpRequest toRequest(final HttpRequestBase request) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(request.getURI());
+        for (final Header header : request.getAllHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName())) {
+                builder.header(header.getName(), header.getValue());
+            }
+        }
+        if (authorization != null && !request.containsHeader("Authorization")
+                && (isBlank(authHost) || authHost.equalsIgnoreCase(request.getURI().getHost()))) {
+            builder.header("Authorization", authorization);
+        }
+
+        BodyPublisher body = BodyPublishers.noBody();
+        if (request instanceof HttpEntityEnclosingRequest) {
+            final HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            if (entity != null) {
+                if (entity.getContentType() != null && !request.containsHeader("Content-Type")) {
+                    builder.header("Content-Type", entity.getContentType().getValue());
+                }
+                body = getBody(entity);
+            }
+        }
+        return builder.method(request.getMethod(), body).build();
+    }
+
+    private static BodyPublisher getBody(final HttpEntity entity) {
+        final BodyPublisher stream = BodyPublishers.ofInputStream(() -> {
+            try {
+                return entity.getContent();
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        final long length = entity.getContentLength();
+        if (length == 0) {
+            return BodyPublishers.noBody();
+        }
+        // a known length is sent as a Content-Length rather than in chunks
+        return length > 0 ? BodyPublishers.fromPublisher(stream, length) : stream;
+    }
+
+    private static Map<String, List<String>> getHeaders(final HttpResponse<InputStream> response) {
+        final Map<String, List<String>> headers = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                headers.put(name, values);
+            }
+        });
+        return headers;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
+import static org.apache.http.HttpStatus.SC_OK;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.fcrepo.client.FcrepoClient;
+import org.fcrepo.client.FcrepoOperationFailedException;
+import org.fcrepo.client.FcrepoResponse;
+import org.slf4j.Logger;
+
+/**
+ * A {@link FcrepoClient} that executes its requests on an http client owned by the
+ * {@link FcrepoComponent}, so that every endpoint, producer and transaction manager
+ * of a component draws from the same connection pool. Credentials are supplied per
+ * request, which allows clients with different credentials to share a pool. The pool is looked up
+ * on each request, so a client outlives a restart of the component, which replaces the pools.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+class PooledFcrepoClient extends FcrepoClient {
+
+    private static final Logger LOGGER = getLogger(PooledFcrepoClient.class);
+
+    private final Supplier<CloseableHttpClient> connectionPool;
+
+    private final CredentialsProvider credentialsProvider;
+
+    private final boolean throwExceptionOnFailure;
+
+    /**
+     * Create a client backed by a shared http client.
+     *
+     * @param connectionPool supplies the shared, pooled http client
+     * @param username the username used for authentication
+     * @param password the password used for authentication
+     * @param host the host realm used for authentication
+     * @param throwExceptionOnFailure whether HTTP error codes throw exceptions
+     */
+    PooledFcrepoClient(final Supplier<CloseableHttpClient> connectionPool, final String username, final String password,
+            final String host, final boolean throwExceptionOnFailure) {
+        super(null, null, null, throwExceptionOnFailure);
+        this.connectionPool = connectionPool;
+        this.throwExceptionOnFailure = throwExceptionOnFailure;
+        if (isBlank(username) || isBlank(password)) {
+            this.credentialsProvider = null;
+        } else {
+            this.credentialsProvider = new BasicCredentialsProvider();
+            this.credentialsProvider.setCredentials(
+                    isBlank(host) ? AuthScope.ANY : new AuthScope(host, AuthScope.ANY_PORT),
+                    new UsernamePasswordCredentials(username, password));
+        }
+    }
+
+    @Override
+    public FcrepoResponse executeRequest(final URI url, final HttpRequestBase request)
+            throws FcrepoOperationFailedException {
+        final HttpClientContext context = HttpClientContext.create();
+        if (credentialsProvider != null) {
+            context.setCredentialsProvider(credentialsProvider);
+        }
+
+        LOGGER.debug("Fcrepo {} request to {}", request.getMethod(), url);
+        try {
+            final CloseableHttpResponse response = connectionPool.get().execute(request, context);
+            final int status = response.getStatusLine().getStatusCode();
+            final HttpEntity entity = response.getEntity();
+
+            if (throwExceptionOnFailure && (status < SC_OK || status >= SC_BAD_REQUEST)) {
+                // release the connection back to the pool before reporting the failure
+                EntityUtils.consumeQuietly(entity);
+                response.close();
+                throw new FcrepoOperationFailedException(url, status, response.getStatusLine().getReasonPhrase());
+            }
+
+            final InputStream body;
+            if (entity == null) {
+                response.close();
+                body = null;
+            } else {
+                // the connection is released once the body has been consumed or closed
+                body = entity.getContent();
+            }
+            return new FcrepoResponse(url, status, getHeaders(response), body);
+        } catch (final IOException ex) {
+            LOGGER.debug("HTTP Operation failed: ", ex);
+            throw new FcrepoOperationFailedException(url, -1, ex.getMessage());
+        }
+    }
+
+    private static Map<String, List<String>> getHeaders(final CloseableHttpResponse response) {
+        final Map<String, List<String>> headers = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+        for (final Header header : response.getAllHeaders()) {
+            headers.computeIfAbsent(header.getName(), k -> new ArrayList<>()).add(header.getValue());
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static org.apache.http.HttpHeaders.IF_MATCH;
+import static org.apache.http.HttpHeaders.IF_UNMODIFIED_SINCE;
+import static org.apache.http.HttpHeaders.RANGE;
+import static org.apache.http.HttpStatus.SC_PARTIAL_CONTENT;
+import static org.apache.http.HttpStatus.SC_PRECONDITION_FAILED;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.http.client.methods.HttpGet;
+import org.fcrepo.client.FcrepoClient;
+import org.fcrepo.client.FcrepoOperationFailedException;
+import org.fcrepo.client.FcrepoResponse;
+import org.slf4j.Logger;
+
+/**
+ * Downloads the rest of a binary, whose first range has already been received, with concurrent
+ * {@code Range} requests, writing each range at its position in a pre-sized file. Each request is
+ * made conditional on the validator of the response to the first range, so that ranges of two
+ * versions of a binary are never mixed: a binary that changes during the download fails it with a
+ * {@link ChangedException}.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+final class RangedDownload {
+
+    private static final Logger LOGGER = getLogger(RangedDownload.class);
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes\\s+(\\d+)-(\\d+)/(\\d+)");
+
+    private RangedDownload() {
+        // prevent instantiation
+    }
+
+    /**
+     * Parse the value of a {@code Content-Range} header.
+     *
+     * @param value the header value, or null
+     * @return the first and last positions of the range and the length of the binary, or null if the
+     *         value is missing, does not describe a range of bytes or does not give the length
+     */
+    static long[] parseContentRange(final String value) {
+        if (value == null) {
+            return null;
+        }
+        final Matcher matcher = CONTENT_RANGE.matcher(value.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            final long first = Long.parseLong(matcher.group(1));
+            final long last = Long.parseLong(matcher.group(2));
+            final long length = Long.parseLong(matcher.group(3));
+            return first <= last && last < length ? new long[] {first, last, length} : null;
+        } catch (final NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Download a binary into a file.
+     *
+     * @param client the repository client
+     * @param uri the binary URI
+     * @param received the body of the response to the first range, which is closed
+     * @param offset the number of bytes in the first range
+     * @param length the length of the binary
+     * @param etag the ETag of the binary, or null
+     * @param lastModified the Last-Modified date of the binary, or null
+     * @param chunkSize the number of bytes fetched by each range request
+     * @param executor the executor on which the range requests are run
+     * @param counter wraps the body of each range response, to count the bytes read from it
+     * @param target the file to write, or null to write to a temporary file
+     * @return the file holding the binary
+     * @throws FcrepoOperationFailedException when a range request results in an error
+     * @throws ChangedException when the binary changed during the download
+     * @throws IOException when the binary could not be written
+     */
+    static Path download(final FcrepoClient client, final URI uri, final InputStream received, final long offset,
+            final long length, final String etag, final String lastModified, final long chunkSize,
+            final ExecutorService executor, final UnaryOperator<InputStream> counter, final Path target)
+            throws FcrepoOperationFailedException, IOException {
+        final List<Future<Void>> ranges = new ArrayList<>();
+        boolean complete = false;
+        Path file = null;
+        try (final InputStream body = received) {
+            file = target == null ? Files.createTempFile("fcrepo-", ".download") : target;
+            try (final RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.setLength(length);
+                final FileChannel channel = raf.getChannel();
+                download(client, uri, body, offset, length, etag, lastModified, chunkSize, executor, counter,
+                        channel, ranges);
+            }
+            complete = true;
+            LOGGER.debug("Downloaded {} bytes from {} in {} ranges", length, uri, ranges.size() + 1);
+            return file;
+        } finally {
+            if (!complete) {
+                ranges.forEach(range -> range.cancel(true));
+                if (file != null) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static void download(final FcrepoClient client, final URI uri, final InputStream received,
+            final long offset, final long length, final String etag, final String lastModified,
+            final long chunkSize, final ExecutorService executor, final UnaryOperator<InputStream> counter,
+            final FileChannel channel, final List<Future<Void>> ranges)
+            throws FcrepoOperationFailedException, IOException {
+        try {
+            for (long start = offset; start < length; start += chunkSize) {
+                final long first = start;
+                final long last = Math.min(start + chunkSize, length) - 1;
+                ranges.add(executor.submit(() -> {
+                    fetch(client, uri, first, last, etag, lastModified, counter, channel);
+                    return null;
+                }));
+            }
+
+            // the first range is written while the others are fetched
+            write(uri, received, 0, offset - 1, channel);
+            for (final Future<Void> range : ranges) {
+                range.get();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while downloading " + uri);
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof FcrepoOperationFailedException) {
+                throw (FcrepoOperationFailedException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Error downloading " + uri, cause);
+        }
+    }
+
+    private static void fetch(final FcrepoClient client, final URI uri, final long first, final long last,
+            final String etag, final String lastModified, final UnaryOperator<InputStream> counter,
+            final FileChannel channel) throws FcrepoOperationFailedException, IOException {
+        final HttpGet request = new HttpGet(uri);
+        request.setHeader(RANGE, "bytes=" + first + "-" + last);
+        // If-Match needs a strong ETag; a weak one would never match
+        if (etag != null && !etag.startsWith("W/")) {
+            request.setHeader(IF_MATCH, etag);
+        } else if (lastModified != null) {
+            request.setHeader(IF_UNMODIFIED_SINCE, lastModified);
+        }
+
+        final FcrepoResponse response;
+        try {
+            response = client.executeRequest(uri, request);
+        } catch (final FcrepoOperationFailedException ex) {
+            if (ex.getStatusCode() == SC_PRECONDITION_FAILED) {
+                throw new ChangedException(uri);
+            }
+            throw ex;
+        }
+        try (final InputStream body = response.getBody()) {
+            if (response.getStatusCode() == SC_PRECONDITION_FAILED) {
+                throw new ChangedException(uri);
+            } else if (response.getStatusCode() != SC_PARTIAL_CONTENT || body == null) {
+                throw new IOException("Range request to " + uri + " returned status " + response.getStatusCode());
+            }
+            write(uri, counter.apply(body), first, last, channel);
+        }
+    }
+
+    private static void write(final URI uri, final InputStream body, final long first, final long last,
+            final FileChannel channel) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long position = first;
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            final ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+            while (bytes.hasRemaining()) {
+                position += channel.write(bytes, position);
+            }
+        }
+        if (position != last + 1) {
+            throw new IOException("Incomplete range " + first + "-" + last + " from " + uri);
+        }
+    }
+
+    /**
+     * Signals that a binary changed while it was being downloaded.
+     */
+    static final class ChangedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private ChangedException(final URI uri) {
+            super("Binary " + uri + " changed during a ranged download");
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.util.Collections.nCopies;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.CachedOutputStream;
+import org.apache.camel.util.IOHelper;
+import org.fcrepo.client.FcrepoOperationFailedException;
+import org.fcrepo.client.FcrepoResponse;
+import org.slf4j.Logger;
+
+/**
+ * Lets concurrent, identical GET requests share a single in-flight HTTP call. The first request
+ * for a key performs the call; requests for the same key that arrive before its response does wait
+ * for it. A response that nobody waited for is returned as it is, streaming; otherwise its body is
+ * read once into a stream cache, which spills to disk according to the context's stream caching
+ * strategy, and every request receives its own copy.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+class RequestCoalescer {
+
+    private static final Logger LOGGER = getLogger(RequestCoalescer.class);
+
+    private final Map<List<Object>, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong calls = new AtomicLong();
+
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * A request to the repository.
+     */
+    @FunctionalInterface
+    interface Request {
+        /**
+         * Perform the request.
+         *
+         * @return the response
+         * @throws FcrepoOperationFailedException when the request results in an error
+         */
+        FcrepoResponse perform() throws FcrepoOperationFailedException;
+    }
+
+    /**
+     * Perform a request, or wait for an identical request that is already in flight.
+     *
+     * @param exchange the exchange on whose behalf the request is made
+     * @param key the request key, such as the URL, Accept and Prefer values
+     * @param uri the request URI
+     * @param request the request
+     * @return a response whose body can be read independently of any other caller
+     * @throws FcrepoOperationFailedException when the request results in an error
+     */
+    FcrepoResponse execute(final Exchange exchange, final List<Object> key, final URI uri, final Request request)
+            throws FcrepoOperationFailedException {
+        final Flight created = new Flight();
+        final int[] position = new int[1];
+        final Flight flight = inFlight.compute(key, (k, existing) -> {
+            if (existing == null) {
+                return created;
+            }
+            position[0] = existing.join(exchange);
+            return existing;
+        });
+        if (flight != created) {
+            coalesced.incrementAndGet();
+            LOGGER.debug("Coalescing request to {}", uri);
+            return await(flight, uri).toFcrepoResponse(position[0]);
+        }
+
+        calls.incrementAndGet();
+        final FcrepoResponse response;
+        try {
+            response = request.perform();
+        } catch (final FcrepoOperationFailedException | RuntimeException ex) {
+            inFlight.remove(key, flight);
+            flight.result.completeExceptionally(ex);
+            throw ex;
+        }
+        // once the flight is removed no request can join it, so its waiters are known
+        inFlight.remove(key, flight);
+        final List<Exchange> waiters = flight.getWaiters();
+        if (waiters.isEmpty() || response.getBody() == null) {
+            flight.result.complete(new Result(response, nCopies(waiters.size(), null)));
+            return response;
+        }
+
+        try {
+            final StreamCache body = buffer(exchange, response.getBody());
+            final List<InputStream> copies = new ArrayList<>(waiters.size());
+            for (final Exchange waiter : waiters) {
+                copies.add((InputStream) body.copy(waiter));
+            }
+            final Result result = new Result(response, copies);
+            flight.result.complete(result);
+            return result.withBody((InputStream) body);
+        } catch (final IOException ex) {
+            LOGGER.debug("Error reading response body", ex);
+            final FcrepoOperationFailedException failure =
+                new FcrepoOperationFailedException(response.getUrl(), -1, ex.getMessage());
+            flight.result.completeExceptionally(failure);
+            throw failure;
+        }
+    }
+
+    private static StreamCache buffer(final Exchange exchange, final InputStream body) throws IOException {
+        try (final CachedOutputStream cos = new CachedOutputStream(exchange)) {
+            IOHelper.copyAndCloseInput(body, cos);
+            return cos.newStreamCache();
+        }
+    }
+
+    private static Result await(final Flight flight, final URI uri) throws FcrepoOperationFailedException {
+        try {
+            return flight.result.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new FcrepoOperationFailedException(uri, -1, "Interrupted while waiting for a coalesced request");
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof FcrepoOperationFailedException) {
+                throw (FcrepoOperationFailedException) ex.getCause();
+            }
+            throw new FcrepoOperationFailedException(uri, -1, ex.getCause().getMessage());
+        }
+    }
+
+    /**
+     * @return the number of HTTP calls made
+     */
+    long getCalls() {
+        return calls.get();
+    }
+
+    /**
+     * @return the number of requests that shared another request's HTTP call
+     */
+    long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * @return the number of HTTP calls currently in flight
+     */
+    int getInFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * An HTTP call in flight, with the exchanges waiting for it. Waiters join while the flight is
+     * registered, under the map's lock for its key, so the list is complete once it is removed.
+     */
+    private static final class Flight {
+
+        private final CompletableFuture<Result> result = new CompletableFuture<>();
+
+        private final List<Exchange> waiters = new ArrayList<>();
+
+        private synchronized int join(final Exchange exchange) {
+            waiters.add(exchange);
+            return waiters.size() - 1;
+        }
+
+        private synchronized List<Exchange> getWaiters() {
+            return new ArrayList<>(waiters);
+        }
+    }
+
+    /**
+     * A response together with a copy of its body for each waiter.
+     */
+    private static final class Result {
+
+        private final FcrepoResponse response;
+
+        private final List<InputStream> bodies;
+
+        private Result(final FcrepoResponse response, final List<InputStream> bodies) {
+            this.response = response;
+            this.bodies = bodies;
+        }
+
+        private FcrepoResponse toFcrepoResponse(final int waiter) {
+            return withBody(bodies.get(waiter));
+        }
+
+        private FcrepoResponse withBody(final InputStream body) {
+            return new FcrepoResponse(response.getUrl(), response.getStatusCode(), response.getHeaders(), body);
+        }
+    }
+}
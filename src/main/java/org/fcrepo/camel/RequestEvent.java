@@ -0,0 +1,70 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import org.fcrepo.client.FcrepoResponse;
+
+/**
+ * A JDK Flight Recorder event for a request to the repository, or for one of its phases:
+ * {@code request} for the request itself, {@code metadata} for the HEAD request that locates
+ * a resource's description, and {@code extract} for reading the response body. When the event
+ * is disabled in the recording settings, {@link #shouldCommit} is false and nothing is recorded.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+@Name("org.fcrepo.camel.Request")
+@Label("Fedora Request")
+@Category({"Fedora", "Camel"})
+@Description("A request to a Fedora repository")
+class RequestEvent extends Event {
+
+    static final String REQUEST = "request";
+
+    static final String METADATA = "metadata";
+
+    static final String EXTRACT = "extract";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("URL")
+    String url;
+
+    @Label("Method")
+    String method;
+
+    @Label("Status")
+    @Description("The response status code, or -1 if the request failed without a response")
+    int status = -1;
+
+    @Label("Bytes")
+    @Description("The response body length, or -1 if it is unknown")
+    @DataAmount
+    long bytes = -1;
+
+    /**
+     * Get the length of a response body from its Content-Length header.
+     *
+     * @param response the response
+     * @return the length, or -1 if it is unknown
+     */
+    static long contentLength(final FcrepoResponse response) {
+        final String length = response == null ? null : response.getHeaderValue("Content-Length");
+        try {
+            return length == null ? -1 : Long.parseLong(length.trim());
+        } catch (final NumberFormatException ex) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.fcrepo.client.HttpMethods;
+
+/**
+ * Runtime statistics for the requests made by an endpoint: latency histograms for each HTTP
+ * method and response code class, latency histograms for the phases of a request (the metadata
+ * HEAD probe, response body extraction and transaction overhead), bytes transferred and errors.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+class RequestMetrics {
+
+    static final String METADATA = "metadata";
+
+    static final String EXTRACT = "extract";
+
+    static final String TRANSACTION = "transaction";
+
+    private final ConcurrentMap<String, LatencyHistogram> requests = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, LatencyHistogram> phases = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram all = new LatencyHistogram();
+
+    private final LongAdder bytesIn = new LongAdder();
+
+    private final LongAdder bytesOut = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Record a completed request.
+     *
+     * @param method the HTTP method
+     * @param statusCode the response status code, or -1 if the request failed without a response
+     * @param nanos the latency in nanoseconds
+     */
+    void recordRequest(final HttpMethods method, final int statusCode, final long nanos) {
+        final String key = method + " " + (statusCode < 100 ? "error" : statusCode / 100 + "xx");
+        requests.computeIfAbsent(key, k -> new LatencyHistogram()).record(nanos);
+        all.record(nanos);
+        if (statusCode < 100 || statusCode >= 400) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Record the latency of a phase of a request.
+     *
+     * @param phase the phase
+     * @param nanos the latency in nanoseconds
+     */
+    void recordPhase(final String phase, final long nanos) {
+        phases.computeIfAbsent(phase, k -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Wrap a request body so that the bytes sent from it are recorded.
+     *
+     * @param body the request body
+     * @return the wrapped body
+     */
+    InputStream countBytesOut(final InputStream body) {
+        return count(body, bytesOut);
+    }
+
+    /**
+     * Record bytes sent to the repository from a body of known length.
+     *
+     * @param bytes the number of bytes
+     */
+    void recordBytesOut(final long bytes) {
+        if (bytes > 0) {
+            bytesOut.add(bytes);
+        }
+    }
+
+    /**
+     * Wrap a response body so that the bytes read from it are recorded.
+     *
+     * @param body the response body
+     * @return the wrapped body
+     */
+    InputStream countBytesIn(final InputStream body) {
+        return count(body, bytesIn);
+    }
+
+    /**
+     * Wrap a stream so that the bytes read from it are added to a counter.
+     *
+     * @param body the stream
+     * @param bytes the counter
+     * @return the wrapped stream
+     */
+    static InputStream count(final InputStream body, final LongAdder bytes) {
+        if (body == null) {
+            return null;
+        }
+        return new FilterInputStream(body) {
+            @Override
+            public int read() throws IOException {
+                final int b = super.read();
+                if (b != -1) {
+                    bytes.increment();
+                }
+                return b;
+            }
+
+            @Override
+            public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+                final int read = super.read(buffer, offset, length);
+                if (read > 0) {
+                    bytes.add(read);
+                }
+                return read;
+            }
+        };
+    }
+
+    /**
+     * @return the latency histogram of all requests
+     */
+    LatencyHistogram getAll() {
+        return all;
+    }
+
+    /**
+     * @return the number of requests that failed or returned an error status
+     */
+    long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return the number of response bytes read
+     */
+    long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    /**
+     * @return the number of request bytes sent
+     */
+    long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    /**
+     * Describe every histogram, one per line, with its count and p50, p99 and p99.9 latencies in milliseconds.
+     *
+     * @return the description
+     */
+    String describe() {
+        final StringBuilder description = new StringBuilder();
+        describe(description, new TreeMap<>(requests));
+        describe(description, new TreeMap<>(phases));
+        return description.toString();
+    }
+
+    private static void describe(final StringBuilder description, final Map<String, LatencyHistogram> histograms) {
+        histograms.forEach((key, histogram) -> description.append(String.format(
+                "%s: count=%d p50=%.3fms p99=%.3fms p999=%.3fms%n", key, histogram.getCount(),
+                histogram.getPercentile(50) / 1000.0, histogram.getPercentile(99) / 1000.0,
+                histogram.getPercentile(99.9) / 1000.0)));
+    }
+}
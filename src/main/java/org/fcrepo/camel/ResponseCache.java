@@ -0,0 +1,423 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * A cache of GET responses that carry a validator ({@code ETag} or {@code Last-Modified}),
+ * used to revalidate repeated requests with a conditional GET. Entries are kept in memory up
+ * to a fixed number of bytes; when a spill directory is configured, the least recently used
+ * entries are moved to disk instead of being discarded, and a response larger than the memory
+ * limit is written straight to disk as it is read.
+ *
+ * <p>Entries are keyed by the request (URL, Accept and Prefer values) and indexed by the
+ * repository resource they belong to, so that all representations of a resource, including
+ * its {@code fcr:} sub-resources, can be discarded at once.</p>
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+class ResponseCache {
+
+    private static final Logger LOGGER = getLogger(ResponseCache.class);
+
+    private static final String FCR_PREFIX = "/fcr:";
+
+    private final long maxMemory;
+
+    private final long maxDiskSpace;
+
+    private final Path spillDirectory;
+
+    private final LinkedHashMap<List<Object>, CachedResponse> memory = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LinkedHashMap<List<Object>, CachedResponse> disk = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<String, Set<List<Object>>> resources = new HashMap<>();
+
+    private long memoryUsed = 0;
+
+    private long diskUsed = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Create a response cache.
+     *
+     * @param maxMemory the maximum number of bytes held in memory
+     * @param spillDirectory the directory to which entries are spilled, or null
+     * @param maxDiskSpace the maximum number of bytes spilled to disk
+     */
+    ResponseCache(final long maxMemory, final Path spillDirectory, final long maxDiskSpace) {
+        this.maxMemory = maxMemory;
+        this.spillDirectory = spillDirectory;
+        this.maxDiskSpace = spillDirectory == null ? 0 : maxDiskSpace;
+    }
+
+    /**
+     * Find a cached response for a request.
+     *
+     * @param key the request key
+     * @return the cached response or null
+     */
+    synchronized CachedResponse get(final List<Object> key) {
+        final CachedResponse cached = memory.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return disk.get(key);
+    }
+
+    /**
+     * Open the body of a cached response.
+     *
+     * @param cached the cached response
+     * @return the response body, or null if it can no longer be read
+     */
+    synchronized InputStream openBody(final CachedResponse cached) {
+        if (cached.body != null) {
+            return new ByteArrayInputStream(cached.body);
+        }
+        try {
+            return Files.newInputStream(cached.file);
+        } catch (final IOException ex) {
+            LOGGER.debug("Could not read cached response from {}", cached.file, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Cache a response.
+     *
+     * @param key the request key
+     * @param url the request URL
+     * @param statusCode the response status code
+     * @param contentType the response content type
+     * @param etag the value of the ETag header, if any
+     * @param lastModified the value of the Last-Modified header, if any
+     * @param body the response body
+     */
+    synchronized void put(final List<Object> key, final String url, final int statusCode, final String contentType,
+            final String etag, final String lastModified, final byte[] body) {
+        remove(key);
+        if (body.length > Math.max(maxMemory, maxDiskSpace)) {
+            return;
+        }
+
+        final CachedResponse cached = new CachedResponse(resourceOf(url), statusCode, contentType, etag,
+                lastModified, body, body.length);
+        resources.computeIfAbsent(cached.resource, k -> new HashSet<>()).add(key);
+        if (body.length > maxMemory) {
+            spill(key, cached);
+        } else {
+            memory.put(key, cached);
+            memoryUsed += cached.size;
+        }
+
+        final Iterator<Map.Entry<List<Object>, CachedResponse>> eldest = memory.entrySet().iterator();
+        while (memoryUsed > maxMemory && eldest.hasNext()) {
+            final Map.Entry<List<Object>, CachedResponse> entry = eldest.next();
+            eldest.remove();
+            memoryUsed -= entry.getValue().size;
+            spill(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private synchronized void putFile(final List<Object> key, final String url, final int statusCode,
+            final String contentType, final String etag, final String lastModified, final Path file,
+            final long size) {
+        remove(key);
+        final CachedResponse cached = new CachedResponse(resourceOf(url), statusCode, contentType, etag,
+                lastModified, null, size);
+        cached.file = file;
+        resources.computeIfAbsent(cached.resource, k -> new HashSet<>()).add(key);
+        disk.put(key, cached);
+        diskUsed += size;
+        evictFromDisk();
+    }
+
+    /**
+     * Cache a response while its body is read. Up to the in-memory limit is buffered on the heap; a
+     * larger body is written to a spill file, when a spill directory is configured and the body fits
+     * the disk limit, and is otherwise passed through without being cached.
+     *
+     * @param key the request key
+     * @param url the request URL
+     * @param statusCode the response status code
+     * @param contentType the response content type
+     * @param etag the value of the ETag header, if any
+     * @param lastModified the value of the Last-Modified header, if any
+     * @param contentLength the length of the body, or -1 if it is not known
+     * @param body the response body
+     * @return a stream over the complete body
+     * @throws IOException if the body could not be read
+     */
+    InputStream store(final List<Object> key, final String url, final int statusCode, final String contentType,
+            final String etag, final String lastModified, final long contentLength, final InputStream body)
+            throws IOException {
+        if (contentLength > Math.max(maxMemory, maxDiskSpace)) {
+            return body;
+        }
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final byte[] chunk = new byte[8192];
+        int read = 0;
+        while (buffer.size() <= maxMemory && (read = body.read(chunk)) != -1) {
+            buffer.write(chunk, 0, read);
+        }
+        if (read == -1) {
+            body.close();
+            final byte[] bytes = buffer.toByteArray();
+            put(key, url, statusCode, contentType, etag, lastModified, bytes);
+            return new ByteArrayInputStream(bytes);
+        } else if (spillDirectory == null || buffer.size() > maxDiskSpace) {
+            return new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), body);
+        }
+
+        Files.createDirectories(spillDirectory);
+        final Path file = Files.createTempFile(spillDirectory, "fcrepo-", ".cache");
+        long size = buffer.size();
+        try (final OutputStream out = Files.newOutputStream(file)) {
+            buffer.writeTo(out);
+            while (size <= maxDiskSpace && (read = body.read(chunk)) != -1) {
+                out.write(chunk, 0, read);
+                size += read;
+            }
+        } catch (final IOException ex) {
+            delete(file);
+            throw ex;
+        }
+        if (read != -1) {
+            // too large to cache: hand back what was read followed by the rest of the stream
+            return new SequenceInputStream(new SpillInputStream(file), body);
+        }
+        body.close();
+        final InputStream cached = Files.newInputStream(file);
+        putFile(key, url, statusCode, contentType, etag, lastModified, file, size);
+        return cached;
+    }
+
+    /**
+     * Discard all responses cached for a repository resource.
+     *
+     * @param uri the resource URI
+     */
+    synchronized void invalidate(final String uri) {
+        final Set<List<Object>> keys = resources.get(resourceOf(uri));
+        if (keys != null) {
+            new HashSet<>(keys).forEach(this::remove);
+        }
+    }
+
+    /**
+     * Discard a single cached response.
+     *
+     * @param key the request key
+     */
+    synchronized void remove(final List<Object> key) {
+        CachedResponse cached = memory.remove(key);
+        if (cached != null) {
+            memoryUsed -= cached.size;
+        } else {
+            cached = disk.remove(key);
+            if (cached != null) {
+                diskUsed -= cached.size;
+                delete(cached.file);
+            }
+        }
+        if (cached != null) {
+            final Set<List<Object>> keys = resources.get(cached.resource);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    resources.remove(cached.resource);
+                }
+            }
+        }
+    }
+
+    /**
+     * Discard all cached responses.
+     */
+    synchronized void clear() {
+        disk.values().forEach(cached -> delete(cached.file));
+        disk.clear();
+        memory.clear();
+        resources.clear();
+        diskUsed = 0;
+        memoryUsed = 0;
+    }
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    synchronized long getMemoryUsed() {
+        return memoryUsed;
+    }
+
+    synchronized long getDiskUsed() {
+        return diskUsed;
+    }
+
+    synchronized int size() {
+        return memory.size() + disk.size();
+    }
+
+    private void spill(final List<Object> key, final CachedResponse cached) {
+        if (spillDirectory == null || cached.size > maxDiskSpace) {
+            dropIndex(key, cached);
+            return;
+        }
+        try {
+            Files.createDirectories(spillDirectory);
+            cached.file = Files.createTempFile(spillDirectory, "fcrepo-", ".cache");
+            Files.write(cached.file, cached.body);
+        } catch (final IOException ex) {
+            LOGGER.debug("Could not spill cached response to {}", spillDirectory, ex);
+            delete(cached.file);
+            dropIndex(key, cached);
+            return;
+        }
+        cached.body = null;
+        disk.put(key, cached);
+        diskUsed += cached.size;
+        evictFromDisk();
+    }
+
+    private void evictFromDisk() {
+        final Iterator<Map.Entry<List<Object>, CachedResponse>> eldest = disk.entrySet().iterator();
+        while (diskUsed > maxDiskSpace && eldest.hasNext()) {
+            final Map.Entry<List<Object>, CachedResponse> entry = eldest.next();
+            eldest.remove();
+            diskUsed -= entry.getValue().size;
+            delete(entry.getValue().file);
+            dropIndex(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void dropIndex(final List<Object> key, final CachedResponse cached) {
+        final Set<List<Object>> keys = resources.get(cached.resource);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                resources.remove(cached.resource);
+            }
+        }
+    }
+
+    private static void delete(final Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (final IOException ex) {
+                LOGGER.debug("Could not delete cached response {}", file, ex);
+            }
+        }
+    }
+
+    private static String resourceOf(final String url) {
+        final int fcr = url.indexOf(FCR_PREFIX);
+        return fcr < 0 ? url : url.substring(0, fcr);
+    }
+
+    /**
+     * A stream over a spill file that was not cached, which is deleted once the stream is closed.
+     */
+    private static final class SpillInputStream extends FilterInputStream {
+        private final Path file;
+
+        private SpillInputStream(final Path file) throws IOException {
+            super(Files.newInputStream(file));
+            this.file = file;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                delete(file);
+            }
+        }
+    }
+
+    /**
+     * A cached response.
+     */
+    static final class CachedResponse {
+        private final String resource;
+        private final int statusCode;
+        private final String contentType;
+        private final String etag;
+        private final String lastModified;
+        private final long size;
+        private byte[] body;
+        private Path file;
+
+        private CachedResponse(final String resource, final int statusCode, final String contentType,
+                final String etag, final String lastModified, final byte[] body, final long size) {
+            this.resource = resource;
+            this.statusCode = statusCode;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.body = body;
+            this.size = size;
+        }
+
+        int getStatusCode() {
+            return statusCode;
+        }
+
+        String getContentType() {
+            return contentType;
+        }
+
+        String getETag() {
+            return etag;
+        }
+
+        String getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JDK Flight Recorder event for beginning, committing or rolling back a repository transaction.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+@Name("org.fcrepo.camel.Transaction")
+@Label("Fedora Transaction")
+@Category({"Fedora", "Camel"})
+@Description("A transaction boundary in a Fedora repository")
+class TransactionEvent extends Event {
+
+    static final String BEGIN = "begin";
+
+    static final String COMMIT = "commit";
+
+    static final String ROLLBACK = "rollback";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("URL")
+    String url;
+
+    @Label("Method")
+    String method = "POST";
+
+    @Label("Status")
+    @Description("The response status code, or -1 if the request failed without a response")
+    int status = -1;
+
+    @Label("Bytes")
+    @Description("The response body length, or -1 if it is unknown")
+    @DataAmount
+    long bytes = -1;
+}
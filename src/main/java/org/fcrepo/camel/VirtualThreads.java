@@ -0,0 +1,43 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+
+/**
+ * Access to a virtual-thread-per-task executor, which is looked up at runtime so that the
+ * component still runs on JVMs without virtual threads.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+final class VirtualThreads {
+
+    private static final Logger LOGGER = getLogger(VirtualThreads.class);
+
+    private VirtualThreads() {
+        // prevent instantiation
+    }
+
+    /**
+     * Create an executor that starts a new virtual thread for each task.
+     *
+     * @return the executor, or null if the JVM does not support virtual threads
+     */
+    static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final ReflectiveOperationException ex) {
+            LOGGER.debug("Virtual threads are not supported by this JVM", ex);
+            return null;
+        }
+    }
+}
@@ -6,14 +6,9 @@
 
 package org.fcrepo.camel.processor;
 
-import static java.util.Arrays.asList;
-import static java.util.Optional.ofNullable;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toMap;
-
 import java.net.URI;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 
 /**
  * ActivityStream vocabulary
@@ -84,9 +79,26 @@ public enum ActivityStreamTerms {
     /** ActivityStreams baseURI */
     public static final String ACTIVITY_STREAMS_BASEURI = "https://www.w3.org/ns/activitystreams#";
 
-    private static Map<String, String> terms = asList(values()).stream()
-            .map(Objects::toString)
-            .collect(toMap(identity(), t -> ACTIVITY_STREAMS_BASEURI + t));
+    private static final Map<String, String> TERMS = new HashMap<>();
+
+    /** The terms, by a hash of their characters, with linear probing */
+    private static final ActivityStreamTerms[] TABLE = new ActivityStreamTerms[128];
+
+    /** The interned URI of each term, by ordinal */
+    private static final String[] URIS = new String[values().length];
+
+    static {
+        for (final ActivityStreamTerms term : values()) {
+            final String uri = (ACTIVITY_STREAMS_BASEURI + term.name()).intern();
+            URIS[term.ordinal()] = uri;
+            TERMS.put(term.name(), uri);
+            int slot = hash(term.name().toCharArray(), 0, term.name().length());
+            while (TABLE[slot] != null) {
+                slot = (slot + 1) & (TABLE.length - 1);
+            }
+            TABLE[slot] = term;
+        }
+    }
 
     /**
      * Return the URI of this term.
@@ -104,6 +116,42 @@ public enum ActivityStreamTerms {
      * @return Corresponding activityStream URI, or the original string if it does not map to an AS term.
      */
     public static String expand(final String term) {
-        return ofNullable(terms.get(term)).orElse(term);
+        final String uri = TERMS.get(term);
+        return uri != null ? uri : term;
+    }
+
+    /**
+     * Expand a term held in a character buffer, such as the text of a JSON token, without building a string.
+     *
+     * @param text the characters
+     * @param offset the offset of the term
+     * @param length the length of the term
+     * @return the interned activityStream URI, or null if the characters are not an AS term
+     */
+    static String expand(final char[] text, final int offset, final int length) {
+        for (int slot = hash(text, offset, length); TABLE[slot] != null; slot = (slot + 1) & (TABLE.length - 1)) {
+            final String name = TABLE[slot].name();
+            if (name.length() == length && matches(name, text, offset)) {
+                return URIS[TABLE[slot].ordinal()];
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(final String name, final char[] text, final int offset) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != text[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(final char[] text, final int offset, final int length) {
+        int hash = length;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + text[i];
+        }
+        return (hash ^ (hash >>> 7)) & (TABLE.length - 1);
     }
 }
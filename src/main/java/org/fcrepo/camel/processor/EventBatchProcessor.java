@@ -0,0 +1,44 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+
+package org.fcrepo.camel.processor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+/**
+ * Decodes a batch of Fedora messages, such as a JSON array of events or a List of Maps, into a
+ * List of {@link FcrepoEvent} values. A JSON body is read in a single streaming pass. The list can
+ * then be split, with each part passed through an {@link EventProcessor} to set its headers.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class EventBatchProcessor implements Processor {
+
+    /**
+     * Process the batch of Fedora messages
+     *
+     * @param exchange the current camel message exchange
+     */
+    public void process(final Exchange exchange) throws IOException {
+        final List<FcrepoEvent> events = new ArrayList<>();
+        try (final EventIterator iterator = EventIterator.of(exchange.getIn().getBody())) {
+            while (iterator.hasNext()) {
+                final FcrepoEvent event = iterator.next();
+                if (iterator.isDecoded()) {
+                    EventProcessor.invalidate(exchange.getContext(), event);
+                }
+                events.add(event);
+            }
+        }
+        exchange.getIn().setBody(events);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+
+package org.fcrepo.camel.processor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+
+/**
+ * Merges the Fedora events for a resource that arrive within a quiet period into a single event,
+ * for use with the aggregate EIP, correlated on the {@code CamelFcrepoUri} header:
+ *
+ * <pre>
+ *     .aggregate(header(FCREPO_URI), coalescer).completionTimeout(quietPeriod)
+ * </pre>
+ *
+ * <p>The merged event carries the union of the event types and agents, and the remaining values of
+ * the latest event; a delete wins over an update. So that a resource that keeps changing is still
+ * processed, a group that has been open for {@code maxDelay} milliseconds is completed when the next
+ * event arrives, which then starts a new group.
+ *
+ * <p>The events are read from the message headers, as set by the {@link EventProcessor}, or from an
+ * {@link FcrepoEvent} body. The merged message has an {@link FcrepoEvent} body and its headers.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class EventCoalescer implements AggregationStrategy {
+
+    /**
+     * The exchange property holding the time, in milliseconds, at which a group was started.
+     */
+    public static final String COALESCED_SINCE = "CamelFcrepoCoalescedSince";
+
+    private static final String UPDATE = ActivityStreamTerms.Update.asUri().toString();
+
+    private static final String DELETE = ActivityStreamTerms.Delete.asUri().toString();
+
+    private long maxDelay = 0L;
+
+    @Override
+    public Exchange aggregate(final Exchange oldExchange, final Exchange newExchange) {
+        final FcrepoEvent event = FcrepoEvent.fromHeaders(newExchange.getIn());
+        if (oldExchange == null) {
+            newExchange.setProperty(COALESCED_SINCE, System.currentTimeMillis());
+            setEvent(newExchange.getIn(), event);
+            return newExchange;
+        }
+        setEvent(oldExchange.getIn(), merge(oldExchange.getIn().getBody(FcrepoEvent.class), event));
+        return oldExchange;
+    }
+
+    @Override
+    public boolean canPreComplete() {
+        return maxDelay > 0;
+    }
+
+    @Override
+    public boolean preComplete(final Exchange oldExchange, final Exchange newExchange) {
+        if (oldExchange == null) {
+            return false;
+        }
+        final Long since = oldExchange.getProperty(COALESCED_SINCE, Long.class);
+        return since != null && System.currentTimeMillis() - since >= maxDelay;
+    }
+
+    /**
+     * Merge two events for the same resource.
+     *
+     * @param earlier the earlier event, or null
+     * @param later the later event
+     * @return the merged event
+     */
+    static FcrepoEvent merge(final FcrepoEvent earlier, final FcrepoEvent later) {
+        if (earlier == null) {
+            return later;
+        }
+        final Set<String> types = new LinkedHashSet<>(earlier.getEventTypes());
+        types.addAll(later.getEventTypes());
+        if (types.contains(DELETE)) {
+            types.remove(UPDATE);
+        }
+        final Set<String> agents = new LinkedHashSet<>(earlier.getAgents());
+        agents.addAll(later.getAgents());
+        return new FcrepoEvent(
+                later.getId() != null ? later.getId() : earlier.getId(),
+                later.getUri() != null ? later.getUri() : earlier.getUri(),
+                later.getDateTime() != null ? later.getDateTime() : earlier.getDateTime(),
+                toList(types),
+                later.getResourceTypes().isEmpty() ? earlier.getResourceTypes() : later.getResourceTypes(),
+                toList(agents));
+    }
+
+    private static void setEvent(final Message message, final FcrepoEvent event) {
+        message.setBody(event);
+        event.applyTo(message);
+    }
+
+    private static List<String> toList(final Set<String> values) {
+        return values.isEmpty() ? null : new ArrayList<>(values);
+    }
+
+    /**
+     * @return the time in milliseconds after which a group is completed by the next event (0 for no limit)
+     */
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * @param maxDelay the time in milliseconds after which a group is completed by the next event (0 for no limit)
+     */
+    public void setMaxDelay(final long maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+
+package org.fcrepo.camel.processor;
+
+import static org.apache.camel.Exchange.DUPLICATE_MESSAGE;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_ID;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+
+/**
+ * Filters out redelivered Fedora events, by their {@code CamelFcrepoEventId} header. Recently seen
+ * event ids are remembered exactly, up to {@code cacheSize} ids for at most {@code window}
+ * milliseconds. For a longer horizon, a Bloom filter can remember the last one to two
+ * generations of {@code bloomFilterSize} ids, with the given false positive rate; when a
+ * {@code stateFile} is set, the Bloom filter is kept in that memory-mapped file, so that it
+ * survives a restart.
+ *
+ * <p>A duplicate event has its {@code CamelDuplicateMessage} property set and, unless
+ * {@code skipDuplicate} is false, stops the route. Messages without an event id pass through.
+ * This processor should follow the {@link EventProcessor}, which sets the event id header.
+ *
+ * <p>An event id is held exactly as soon as the event is seen, so that a redelivery arriving while
+ * the event is still being processed is filtered out; if the exchange then fails, the id is
+ * forgotten again, so that the redelivered event can succeed. Since an id cannot be removed from a
+ * Bloom filter, it is only added there once the exchange has completed successfully.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class EventDeduplicator extends ServiceSupport implements Processor {
+
+    private static final Logger LOGGER = getLogger(EventDeduplicator.class);
+
+    private final Map<String, Long> recent = new LinkedHashMap<>();
+
+    private final AtomicLong duplicates = new AtomicLong();
+
+    private int cacheSize = 10000;
+
+    private long window = 3600000L;
+
+    private int bloomFilterSize = 0;
+
+    private double falsePositiveRate = 0.001;
+
+    private String stateFile = null;
+
+    private boolean skipDuplicate = true;
+
+    private RotatingBloomFilter bloomFilter;
+
+    @Override
+    protected void doStart() throws Exception {
+        if (bloomFilterSize > 0 && bloomFilter == null) {
+            bloomFilter = new RotatingBloomFilter(bloomFilterSize, falsePositiveRate,
+                    stateFile == null ? null : Paths.get(stateFile));
+        } else if (bloomFilterSize <= 0 && stateFile != null) {
+            LOGGER.warn("The deduplication state file {} is only used with a Bloom filter", stateFile);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (bloomFilter != null) {
+            bloomFilter.flush();
+            bloomFilter = null;
+        }
+    }
+
+    /**
+     * Filter out a duplicate Fedora event
+     *
+     * @param exchange the current camel message exchange
+     */
+    public void process(final Exchange exchange) {
+        final String id = exchange.getIn().getHeader(FCREPO_EVENT_ID, String.class);
+        if (id == null) {
+            return;
+        }
+        if (isDuplicate(id)) {
+            LOGGER.debug("Duplicate event: {}", id);
+            duplicates.incrementAndGet();
+            exchange.setProperty(DUPLICATE_MESSAGE, true);
+            if (skipDuplicate) {
+                exchange.setRouteStop(true);
+            }
+            return;
+        }
+        exchange.getExchangeExtension().addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onComplete(final Exchange done) {
+                completed(id);
+            }
+
+            @Override
+            public void onFailure(final Exchange done) {
+                LOGGER.debug("Forgetting event {} after a failure", id);
+                forget(id);
+            }
+        });
+    }
+
+    /**
+     * Check whether an event has been seen, and hold its id exactly until it has been processed.
+     *
+     * @param id the event id
+     * @return whether the event has been seen
+     */
+    private synchronized boolean isDuplicate(final String id) {
+        final long now = currentTimeMillis();
+        expire(now);
+        if (recent.containsKey(id)) {
+            return true;
+        }
+        recent.put(id, now);
+        if (recent.size() > cacheSize) {
+            final Iterator<Long> eldest = recent.values().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+
+        final RotatingBloomFilter filter = bloomFilter;
+        return filter != null && filter.mightContain(id);
+    }
+
+    /**
+     * Remember a successfully processed event beyond the exact cache.
+     */
+    private synchronized void completed(final String id) {
+        final RotatingBloomFilter filter = bloomFilter;
+        if (filter != null) {
+            filter.put(id);
+        }
+    }
+
+    /**
+     * Forget an event whose processing failed, so that a redelivery is not taken for a duplicate.
+     */
+    private synchronized void forget(final String id) {
+        recent.remove(id);
+    }
+
+    /**
+     * @return the current time in milliseconds, against which the window is measured
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Forget the ids that were first seen before the window; ids are held in the order they were seen.
+     */
+    private void expire(final long now) {
+        final Iterator<Long> seen = recent.values().iterator();
+        while (seen.hasNext() && now - seen.next() > window) {
+            seen.remove();
+        }
+    }
+
+    /**
+     * @return the number of duplicate events
+     */
+    public long getDuplicates() {
+        return duplicates.get();
+    }
+
+    /**
+     * @return the number of event ids held exactly
+     */
+    public synchronized int getCachedIds() {
+        return recent.size();
+    }
+
+    /**
+     * @return the maximum number of event ids held exactly
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * @param cacheSize the maximum number of event ids held exactly
+     */
+    public void setCacheSize(final int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * @return the time in milliseconds for which an event id is held exactly
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * @param window the time in milliseconds for which an event id is held exactly
+     */
+    public void setWindow(final long window) {
+        this.window = window;
+    }
+
+    /**
+     * @return the number of event ids in a generation of the Bloom filter (0 disables it)
+     */
+    public int getBloomFilterSize() {
+        return bloomFilterSize;
+    }
+
+    /**
+     * @param bloomFilterSize the number of event ids in a generation of the Bloom filter (0 disables it)
+     */
+    public void setBloomFilterSize(final int bloomFilterSize) {
+        this.bloomFilterSize = bloomFilterSize;
+    }
+
+    /**
+     * @return the false positive rate of a full generation of the Bloom filter
+     */
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    /**
+     * @param falsePositiveRate the false positive rate of a full generation of the Bloom filter
+     */
+    public void setFalsePositiveRate(final double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * @return the file holding the Bloom filter, or null to keep it in memory
+     */
+    public String getStateFile() {
+        return stateFile;
+    }
+
+    /**
+     * @param stateFile the file holding the Bloom filter, or null to keep it in memory
+     */
+    public void setStateFile(final String stateFile) {
+        this.stateFile = stateFile;
+    }
+
+    /**
+     * @return whether a duplicate event stops the route
+     */
+    public boolean isSkipDuplicate() {
+        return skipDuplicate;
+    }
+
+    /**
+     * @param skipDuplicate whether a duplicate event stops the route
+     */
+    public void setSkipDuplicate(final boolean skipDuplicate) {
+        this.skipDuplicate = skipDuplicate;
+    }
+}
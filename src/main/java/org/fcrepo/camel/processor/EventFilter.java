@@ -0,0 +1,227 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+
+package org.fcrepo.camel.processor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.Predicate;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.StreamCache;
+
+/**
+ * A filter over Fedora events, by event type, resource type, URI and agent:
+ *
+ * <pre>
+ *     new EventFilter()
+ *         .eventType("Create", "Update")
+ *         .excludeResourceType("http://fedora.info/definitions/v4/repository#Binary")
+ *         .uriPrefix("http://localhost:8080/fcrepo/rest/collections/")
+ * </pre>
+ *
+ * <p>An event matches when it matches every criterion that has been set; a criterion with several
+ * values matches any of them. Given to an {@link EventProcessor}, the filter is evaluated while the
+ * JSON message is read, so that an event is rejected as soon as a member fails to match, without
+ * decoding the rest of the message or setting any header. It can also be used as a predicate, e.g. with
+ * the filter EIP, over the message body, an event decoded by a lazy {@link EventProcessor}, or the
+ * event headers.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class EventFilter implements Predicate {
+
+    private final Set<String> eventTypes = new HashSet<>();
+
+    private final Set<String> resourceTypes = new HashSet<>();
+
+    private final Set<String> excludedResourceTypes = new HashSet<>();
+
+    private final List<String> uriPrefixes = new ArrayList<>();
+
+    private final Set<String> agents = new HashSet<>();
+
+    private Pattern uriPattern;
+
+    /**
+     * Match events of any of these types.
+     *
+     * @param types the event types, as URIs or ActivityStream terms (e.g. "Update")
+     * @return this filter
+     */
+    public EventFilter eventType(final String... types) {
+        for (final String type : types) {
+            eventTypes.add(ActivityStreamTerms.expand(type));
+        }
+        return this;
+    }
+
+    /**
+     * Match events for resources of any of these types.
+     *
+     * @param types the resource types
+     * @return this filter
+     */
+    public EventFilter resourceType(final String... types) {
+        for (final String type : types) {
+            resourceTypes.add(type);
+        }
+        return this;
+    }
+
+    /**
+     * Reject events for resources of any of these types.
+     *
+     * @param types the resource types
+     * @return this filter
+     */
+    public EventFilter excludeResourceType(final String... types) {
+        for (final String type : types) {
+            excludedResourceTypes.add(type);
+        }
+        return this;
+    }
+
+    /**
+     * Match events for resources whose URI starts with any of these prefixes.
+     *
+     * @param prefixes the URI prefixes
+     * @return this filter
+     */
+    public EventFilter uriPrefix(final String... prefixes) {
+        for (final String prefix : prefixes) {
+            uriPrefixes.add(prefix);
+        }
+        return this;
+    }
+
+    /**
+     * Match events for resources whose whole URI matches this regular expression.
+     *
+     * @param regex the regular expression
+     * @return this filter
+     */
+    public EventFilter uriPattern(final String regex) {
+        this.uriPattern = Pattern.compile(regex);
+        return this;
+    }
+
+    /**
+     * Match events by any of these agents.
+     *
+     * @param names the agent names or ids
+     * @return this filter
+     */
+    public EventFilter agent(final String... names) {
+        for (final String name : names) {
+            agents.add(name);
+        }
+        return this;
+    }
+
+    /**
+     * Whether an event matches this filter.
+     *
+     * @param event the event
+     * @return whether the event matches
+     */
+    public boolean matches(final FcrepoEvent event) {
+        return matchesEventTypes(event.getEventTypes()) && matchesUri(event.getUri())
+            && matchesResourceTypes(event.getResourceTypes()) && matchesAgents(event.getAgents());
+    }
+
+    @Override
+    public boolean matches(final Exchange exchange) {
+        final FcrepoEvent decoded = exchange.getProperty(EventProcessor.FCREPO_EVENT, FcrepoEvent.class);
+        if (decoded != null) {
+            return matches(decoded);
+        }
+        final Message message = exchange.getIn();
+        final Object body = message.getBody();
+        if (body instanceof FcrepoEvent || body instanceof Map || body instanceof String) {
+            return read(body) != null;
+        } else if (body instanceof StreamCache) {
+            try {
+                return read(body) != null;
+            } finally {
+                ((StreamCache) body).reset();
+            }
+        } else if (body instanceof InputStream) {
+            // keep the message readable by the rest of the route
+            final String json = message.getBody(String.class);
+            message.setBody(json);
+            return read(json) != null;
+        }
+        return matches(FcrepoEvent.fromHeaders(message));
+    }
+
+    private FcrepoEvent read(final Object body) {
+        try {
+            return EventIterator.decode(body, this);
+        } catch (final IOException ex) {
+            throw new RuntimeCamelException("Error reading a Fedora event", ex);
+        }
+    }
+
+    boolean matchesEventTypes(final List<String> types) {
+        return eventTypes.isEmpty() || containsAny(eventTypes, types);
+    }
+
+    boolean matchesResourceTypes(final List<String> types) {
+        return (resourceTypes.isEmpty() || containsAny(resourceTypes, types))
+            && (excludedResourceTypes.isEmpty() || !containsAny(excludedResourceTypes, types));
+    }
+
+    boolean matchesUri(final String uri) {
+        if (uriPrefixes.isEmpty() && uriPattern == null) {
+            return true;
+        } else if (uri == null) {
+            return false;
+        } else if (uriPattern != null && !uriPattern.matcher(uri).matches()) {
+            return false;
+        }
+        if (uriPrefixes.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < uriPrefixes.size(); i++) {
+            if (uri.startsWith(uriPrefixes.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean matchesAgents(final List<String> names) {
+        return agents.isEmpty() || containsAny(agents, names);
+    }
+
+    private static boolean containsAny(final Set<String> set, final List<String> values) {
+        if (values != null) {
+            for (int i = 0; i < values.size(); i++) {
+                if (set.contains(values.get(i))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "EventFilter[eventTypes=" + eventTypes + ", resourceTypes=" + resourceTypes
+            + ", excludedResourceTypes=" + excludedResourceTypes + ", uriPrefixes=" + uriPrefixes
+            + ", uriPattern=" + uriPattern + ", agents=" + agents + "]";
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+
+package org.fcrepo.camel.processor;
+
+import static com.fasterxml.jackson.core.JsonToken.END_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.START_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.singletonList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.camel.RuntimeCamelException;
+
+/**
+ * Decodes the events in a message body one at a time. A JSON body (a String or an InputStream)
+ * may hold a single event or an array of events, which is read in a single streaming pass as the
+ * iterator advances; any other body may be an event, a Map, or a List of them.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+final class EventIterator implements Iterator<FcrepoEvent>, Closeable {
+
+    private final JsonParser parser;
+
+    private final Iterator<?> items;
+
+    private boolean array;
+
+    private FcrepoEvent next;
+
+    private boolean nextDecoded;
+
+    private boolean decoded;
+
+    private boolean done;
+
+    private EventIterator(final JsonParser parser, final Iterator<?> items) {
+        this.parser = parser;
+        this.items = items;
+    }
+
+    /**
+     * Iterate over the events in a message body.
+     *
+     * @param body the message body
+     * @return the events
+     * @throws IOException if the JSON cannot be read
+     */
+    static EventIterator of(final Object body) throws IOException {
+        if (body instanceof String) {
+            return new EventIterator(EventReader.FACTORY.createParser((String) body), null);
+        } else if (body instanceof InputStream) {
+            return new EventIterator(EventReader.FACTORY.createParser((InputStream) body), null);
+        } else if (body instanceof Iterable) {
+            return new EventIterator(null, ((Iterable<?>) body).iterator());
+        }
+        return new EventIterator(null, body == null ? emptyIterator() : singletonList(body).iterator());
+    }
+
+    /**
+     * Decode a single event.
+     *
+     * @param item an event, a Map, or a JSON String or InputStream
+     * @return the event, or null if the item cannot hold an event
+     * @throws IOException if the JSON cannot be read
+     */
+    static FcrepoEvent decode(final Object item) throws IOException {
+        return decode(item, null);
+    }
+
+    /**
+     * Decode a single event, if it matches a filter. JSON is only read until a member fails to match.
+     *
+     * @param item an event, a Map, or a JSON String or InputStream
+     * @param filter the filter, or null to match any event
+     * @return the event, or null if the item cannot hold an event or does not match the filter
+     * @throws IOException if the JSON cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    static FcrepoEvent decode(final Object item, final EventFilter filter) throws IOException {
+        final FcrepoEvent event;
+        if (item instanceof FcrepoEvent) {
+            event = (FcrepoEvent) item;
+        } else if (item instanceof Map) {
+            event = EventProcessor.toEvent((Map<String, Object>) item);
+        } else if (item instanceof String) {
+            try (final JsonParser json = EventReader.FACTORY.createParser((String) item)) {
+                return EventReader.read(json, filter);
+            }
+        } else if (item instanceof InputStream) {
+            try (final JsonParser json = EventReader.FACTORY.createParser((InputStream) item)) {
+                return EventReader.read(json, filter);
+            }
+        } else {
+            return null;
+        }
+        return filter == null || filter.matches(event) ? event : null;
+    }
+
+    /**
+     * Decode a single event for a filter. A JSON event that fails to match is only read as far as its
+     * event type and object, which identify the changed resource.
+     *
+     * @param item an event, a Map, or a JSON String or InputStream
+     * @param filter the filter
+     * @return the event, to be checked against the filter, or null if the item cannot hold an event
+     * @throws IOException if the JSON cannot be read
+     */
+    static FcrepoEvent decodeIdentifying(final Object item, final EventFilter filter) throws IOException {
+        if (item instanceof String) {
+            try (final JsonParser json = EventReader.FACTORY.createParser((String) item)) {
+                return EventReader.readIdentifying(json, filter);
+            }
+        } else if (item instanceof InputStream) {
+            try (final JsonParser json = EventReader.FACTORY.createParser((InputStream) item)) {
+                return EventReader.readIdentifying(json, filter);
+            }
+        }
+        return decode(item);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            try {
+                next = parser != null ? readNext() : decodeNext();
+            } catch (final IOException ex) {
+                throw new RuntimeCamelException("Error reading Fedora events", ex);
+            }
+            done = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public FcrepoEvent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final FcrepoEvent event = next;
+        decoded = nextDecoded;
+        next = null;
+        return event;
+    }
+
+    /**
+     * @return whether the last event was decoded from the body, rather than being an {@link FcrepoEvent} already
+     */
+    boolean isDecoded() {
+        return decoded;
+    }
+
+    @Override
+    public void close() throws IOException {
+        done = true;
+        if (parser != null) {
+            parser.close();
+        }
+    }
+
+    private FcrepoEvent readNext() throws IOException {
+        nextDecoded = true;
+        if (!array) {
+            // the first token tells a single event from an array of events
+            final JsonToken token = parser.nextToken();
+            if (token == START_OBJECT) {
+                final FcrepoEvent event = EventReader.readCurrent(parser);
+                parser.close();
+                return event;
+            } else if (token != START_ARRAY) {
+                return null;
+            }
+            array = true;
+        }
+        for (JsonToken token = parser.nextToken(); token != null && token != END_ARRAY; token = parser.nextToken()) {
+            if (token == START_OBJECT) {
+                return EventReader.readCurrent(parser);
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private FcrepoEvent decodeNext() throws IOException {
+        while (items.hasNext()) {
+            final Object item = items.next();
+            final FcrepoEvent event = decode(item);
+            if (event != null) {
+                nextDecoded = !(item instanceof FcrepoEvent);
+                return event;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+
+package org.fcrepo.camel.processor;
+
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_URI;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.slf4j.Logger;
+
+/**
+ * Continues the routing of Fedora events on a fixed number of serial lanes, chosen by a hash of the
+ * {@code CamelFcrepoUri} header (or, optionally, of its parent container), so that the events for a
+ * resource are processed in order while the events for different resources are processed in parallel:
+ *
+ * <pre>
+ *     from("activemq:queue:fedora?asyncConsumer=true")
+ *         .process(new EventProcessor())
+ *         .process(lanes)
+ *         .to("direct:event");
+ * </pre>
+ *
+ * <p>Like the threads EIP, the rest of the route runs on the lane's thread. A lane only moves on to its
+ * next event once the exchange has completed, so an asynchronous step later in the route holds the
+ * lane until it is done, rather than letting the next event for the resource overtake it. An exchange
+ * that has not completed within {@code laneTimeout} milliseconds releases its lane with a warning, so
+ * that a stalled step cannot hold up the other resources of the lane indefinitely. A consumer
+ * only gains parallelism if it does not wait for each exchange to complete. When a lane holds
+ * {@code maxQueueSize} events, the caller waits for it to drain. The depth and lag of each lane, and
+ * the number of exchanges that timed out, are available over JMX.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+@ManagedResource(description = "Managed EventLanes")
+public class EventLanes extends AsyncProcessorSupport {
+
+    private static final Logger LOGGER = getLogger(EventLanes.class);
+
+    private int lanes = Runtime.getRuntime().availableProcessors();
+
+    private int maxQueueSize = 1000;
+
+    private boolean partitionByParent = false;
+
+    private volatile long laneTimeout = 60000;
+
+    private final LongAdder timedOut = new LongAdder();
+
+    private volatile Lane[] active;
+
+    private CamelContext camelContext;
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        final Lane[] current = getLanes(exchange.getContext());
+        final Lane lane = current[partition(exchange, current.length)];
+        try {
+            lane.submit(exchange, callback);
+            return false;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            exchange.setException(ex);
+        } catch (final RejectedExecutionException ex) {
+            exchange.setException(ex);
+        }
+        callback.done(true);
+        return true;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        final Lane[] current;
+        synchronized (this) {
+            current = active;
+            active = null;
+        }
+        if (current != null) {
+            for (final Lane lane : current) {
+                camelContext.getExecutorServiceManager().shutdownGraceful(lane.executor);
+            }
+        }
+    }
+
+    /**
+     * The lanes are created with the first event, so that they use the executors of its camel context.
+     */
+    private Lane[] getLanes(final CamelContext context) {
+        Lane[] current = active;
+        if (current == null) {
+            synchronized (this) {
+                if (active == null) {
+                    final Lane[] created = new Lane[Math.max(1, lanes)];
+                    for (int i = 0; i < created.length; i++) {
+                        created[i] = new Lane(context.getExecutorServiceManager()
+                                .newSingleThreadExecutor(this, "FcrepoEventLane[" + i + "]"));
+                    }
+                    camelContext = context;
+                    active = created;
+                }
+                current = active;
+            }
+        }
+        return current;
+    }
+
+    private int partition(final Exchange exchange, final int count) {
+        final String uri = exchange.getIn().getHeader(FCREPO_URI, String.class);
+        final String key = uri == null ? "" : partitionByParent ? getParent(uri) : uri;
+        final int hash = key.hashCode() * 0x9e3779b9;
+        return Math.floorMod(hash ^ (hash >>> 16), count);
+    }
+
+    /**
+     * @param uri a resource URI
+     * @return the URI of its parent container, or the URI itself if it has no path
+     */
+    static String getParent(final String uri) {
+        final int end = uri.endsWith("/") ? uri.length() - 1 : uri.length();
+        final int slash = uri.lastIndexOf('/', end - 1);
+        return slash > uri.indexOf("//") + 1 ? uri.substring(0, slash) : uri;
+    }
+
+    /**
+     * @return the number of events waiting or running, over all lanes
+     */
+    @ManagedAttribute(description = "Events waiting or running")
+    public int getQueueDepth() {
+        int depth = 0;
+        final Lane[] current = active;
+        if (current != null) {
+            for (int i = 0; i < current.length; i++) {
+                depth += current[i].depth.get();
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * @return the time in milliseconds for which the oldest event in any lane has been waiting or running
+     */
+    @ManagedAttribute(description = "Milliseconds since the oldest event in any lane was submitted")
+    public long getLag() {
+        long lag = 0;
+        final Lane[] current = active;
+        if (current != null) {
+            for (int i = 0; i < current.length; i++) {
+                lag = Math.max(lag, current[i].lag());
+            }
+        }
+        return lag;
+    }
+
+    /**
+     * @param lane the lane
+     * @return the number of events waiting or running in the lane
+     */
+    @ManagedOperation(description = "Events waiting or running in a lane")
+    public int getQueueDepth(final int lane) {
+        final Lane[] current = active;
+        checkLane(lane, current);
+        return current == null ? 0 : current[lane].depth.get();
+    }
+
+    /**
+     * @param lane the lane
+     * @return the time in milliseconds for which the oldest event in the lane has been waiting or running
+     */
+    @ManagedOperation(description = "Milliseconds since the oldest event in a lane was submitted")
+    public long getLag(final int lane) {
+        final Lane[] current = active;
+        checkLane(lane, current);
+        return current == null ? 0 : current[lane].lag();
+    }
+
+    private void checkLane(final int lane, final Lane[] current) {
+        final int count = current == null ? Math.max(1, lanes) : current.length;
+        if (lane < 0 || lane >= count) {
+            throw new IllegalArgumentException("Lane " + lane + " is not between 0 and " + (count - 1));
+        }
+    }
+
+    /**
+     * Describe the lanes.
+     *
+     * @return one line per lane, with its depth, lag and the number of events it has processed
+     */
+    @ManagedOperation(description = "Describe the depth, lag and throughput of each lane")
+    public String describeLanes() {
+        final StringBuilder description = new StringBuilder();
+        final Lane[] current = active;
+        if (current != null) {
+            for (int i = 0; i < current.length; i++) {
+                description.append("lane ").append(i).append(": depth=").append(current[i].depth.get())
+                    .append(" lag=").append(current[i].lag()).append("ms processed=")
+                    .append(current[i].processed.sum()).append('\n');
+            }
+        }
+        return description.toString();
+    }
+
+    /**
+     * @return the number of lanes
+     */
+    @ManagedAttribute(description = "Number of lanes")
+    public int getLanes() {
+        return lanes;
+    }
+
+    /**
+     * @param lanes the number of lanes, taking effect when the lanes are next created
+     */
+    public void setLanes(final int lanes) {
+        this.lanes = lanes;
+    }
+
+    /**
+     * @return the number of events a lane holds before the caller waits
+     */
+    @ManagedAttribute(description = "Events a lane holds before the caller waits")
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * @param maxQueueSize the number of events a lane holds before the caller waits
+     */
+    public void setMaxQueueSize(final int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    /**
+     * @return the milliseconds a lane waits for an exchange to complete before moving on
+     */
+    @ManagedAttribute(description = "Milliseconds a lane waits for an exchange to complete")
+    public long getLaneTimeout() {
+        return laneTimeout;
+    }
+
+    /**
+     * @param laneTimeout the milliseconds a lane waits for an exchange to complete before moving on, or 0 to
+     *        wait until it completes
+     */
+    @ManagedAttribute(description = "Milliseconds a lane waits for an exchange to complete")
+    public void setLaneTimeout(final long laneTimeout) {
+        this.laneTimeout = laneTimeout;
+    }
+
+    /**
+     * @return the number of exchanges that released their lane before they completed
+     */
+    @ManagedAttribute(description = "Exchanges that released their lane before they completed")
+    public long getTimedOutExchanges() {
+        return timedOut.sum();
+    }
+
+    /**
+     * @return whether events are partitioned by the parent container of the resource
+     */
+    public boolean isPartitionByParent() {
+        return partitionByParent;
+    }
+
+    /**
+     * @param partitionByParent whether events are partitioned by the parent container of the resource
+     */
+    public void setPartitionByParent(final boolean partitionByParent) {
+        this.partitionByParent = partitionByParent;
+    }
+
+    /**
+     * A serial lane: a single thread, with the submission times of its outstanding events in order.
+     */
+    private final class Lane {
+
+        private final ExecutorService executor;
+
+        private final Semaphore permits = new Semaphore(Math.max(1, maxQueueSize));
+
+        private final Queue<Long> submitted = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger depth = new AtomicInteger();
+
+        private final LongAdder processed = new LongAdder();
+
+        private Lane(final ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        private void submit(final Exchange exchange, final AsyncCallback callback) throws InterruptedException {
+            permits.acquire();
+            final Long time = System.nanoTime();
+            submitted.add(time);
+            depth.incrementAndGet();
+            // without a unit of work, the exchange is taken to be complete once its callback returns
+            final CountDownLatch completed = exchange.getUnitOfWork() == null ? null : new CountDownLatch(1);
+            if (completed != null) {
+                exchange.getExchangeExtension().addOnCompletion(new SynchronizationAdapter() {
+                    @Override
+                    public void onDone(final Exchange done) {
+                        completed.countDown();
+                    }
+                });
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        callback.done(false);
+                        if (completed != null && !await(completed)) {
+                            timedOut.increment();
+                            LOGGER.warn("Exchange {} for {} did not complete within {}ms, releasing its lane",
+                                    exchange.getExchangeId(), exchange.getIn().getHeader(FCREPO_URI), laneTimeout);
+                        }
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        // events complete in the order they were submitted
+                        submitted.poll();
+                        depth.decrementAndGet();
+                        processed.increment();
+                        permits.release();
+                    }
+                });
+            } catch (final RejectedExecutionException ex) {
+                submitted.remove(time);
+                depth.decrementAndGet();
+                permits.release();
+                throw ex;
+            }
+        }
+
+        private boolean await(final CountDownLatch completed) throws InterruptedException {
+            final long timeout = laneTimeout;
+            if (timeout > 0) {
+                return completed.await(timeout, TimeUnit.MILLISECONDS);
+            }
+            completed.await();
+            return true;
+        }
+
+        private long lag() {
+            final Long oldest = submitted.peek();
+            return oldest == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest);
+        }
+    }
+}
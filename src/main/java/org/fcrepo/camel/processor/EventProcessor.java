@@ -7,41 +7,42 @@
 package org.fcrepo.camel.processor;
 
 import static java.util.Collections.singletonList;
-import static java.util.Optional.empty;
-import static java.util.Optional.of;
-import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toList;
-import static org.fcrepo.camel.FcrepoHeaders.FCREPO_AGENT;
-import static org.fcrepo.camel.FcrepoHeaders.FCREPO_DATE_TIME;
-import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_ID;
-import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_TYPE;
-import static org.fcrepo.camel.FcrepoHeaders.FCREPO_RESOURCE_TYPE;
-import static org.fcrepo.camel.FcrepoHeaders.FCREPO_URI;
-
-import java.io.InputStream;
+
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
-
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.fcrepo.camel.FcrepoEndpoint;
 
 /**
  * Converts a Fedora Message into camel-based headers.
  *
+ * <p>In lazy mode, the decoded {@link FcrepoEvent} is kept in the {@code CamelFcrepoEvent} exchange
+ * property, and each header is only set when it is first read, so that a route that filters on one or
+ * two headers does not pay for the rest. The event itself is still decoded when it is processed, since
+ * cached state is invalidated from its URI and type.
+ *
+ * <p>With an {@link EventFilter}, the filter is evaluated while the message is read; an event that does
+ * not match stops the route, without setting any header. Its resource has changed all the same, so the
+ * message is still read as far as the event type and object, to invalidate cached state. A message
+ * that holds no event passes through, as it does without a filter.
+ *
  * @author acoburn
  */
 public class EventProcessor implements Processor {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
+    /**
+     * The exchange property holding the decoded event, in lazy mode.
+     */
+    public static final String FCREPO_EVENT = "CamelFcrepoEvent";
+
+    private boolean lazy = false;
+
+    private EventFilter filter = null;
 
     /**
      * Process the Fedora message
@@ -50,138 +51,117 @@ public class EventProcessor implements Processor {
      */
     public void process(final Exchange exchange) throws IOException {
         final Object body = exchange.getIn().getBody();
-        final Map<String, List<String>> data = new HashMap<>();
-        if (body != null) {
-            // In the event that the message was already converted to a Map
-            if (body instanceof Map) {
-                data.putAll(getValuesFromMap((Map)body));
-            } else if (body instanceof String) {
-                data.putAll(getValuesFromJson(mapper.readTree((String)body)));
-            } else if (body instanceof InputStream) {
-                data.putAll(getValuesFromJson(mapper.readTree((InputStream)body)));
-            }
+        final FcrepoEvent event = filter == null ? EventIterator.decode(body)
+            : EventIterator.decodeIdentifying(body, filter);
+        if (event == null) {
+            return;
+        }
+        // an event that was decoded earlier, e.g. by the EventBatchProcessor, has already been seen
+        if (!(body instanceof FcrepoEvent)) {
+            invalidate(exchange.getContext(), event);
+        }
+        if (filter != null && !filter.matches(event)) {
+            exchange.setProperty(Exchange.FILTER_MATCHED, false);
+            exchange.setRouteStop(true);
+        } else if (lazy) {
+            exchange.setProperty(FCREPO_EVENT, event);
+            LazyEventMessage.install(exchange, event);
+        } else {
+            event.applyTo(exchange.getIn());
         }
-
-        final Set<String> singleValuedFields = new HashSet<String>();
-        singleValuedFields.add(FCREPO_URI);
-        singleValuedFields.add(FCREPO_DATE_TIME);
-        singleValuedFields.add(FCREPO_EVENT_ID);
-
-        data.entrySet().stream().filter(entry -> entry.getValue() != null)
-                .filter(entry -> !entry.getValue().isEmpty()).forEach(entry -> {
-                    if (singleValuedFields.contains(entry.getKey())) {
-                        exchange.getIn().setHeader(entry.getKey(), entry.getValue().get(0));
-                    } else {
-                        exchange.getIn().setHeader(entry.getKey(), entry.getValue());
-                    }
-                });
     }
 
-    private Map<String, List<String>> getValuesFromJson(final JsonNode body) {
-        final Map<String, List<String>> data = new HashMap<>();
-
-        getValues(body, "@id").ifPresent(id -> data.put(FCREPO_EVENT_ID, id));
-        getValues(body, "id").ifPresent(id -> data.putIfAbsent(FCREPO_EVENT_ID, id));
-
-        getValues(body, "published").ifPresent(date -> data.putIfAbsent(FCREPO_DATE_TIME, date));
-        getValues(body, "type").map(EventProcessor::toUris).ifPresent(type -> data.put(FCREPO_EVENT_TYPE, type));
-
-        if (body.has("object")) {
-            final JsonNode object = body.get("object");
-            getValues(object, "@id").ifPresent(id -> data.put(FCREPO_URI, id));
-            getValues(object, "id").ifPresent(id -> data.putIfAbsent(FCREPO_URI, id));
+    /**
+     * @return whether the headers are only set when they are first read
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
 
-            getValues(object, "@type").ifPresent(type -> data.put(FCREPO_RESOURCE_TYPE, type));
-            getValues(object, "type").ifPresent(type -> data.putIfAbsent(FCREPO_RESOURCE_TYPE, type));
-        }
+    /**
+     * @param lazy whether the headers are only set when they are first read
+     */
+    public void setLazy(final boolean lazy) {
+        this.lazy = lazy;
+    }
 
-        if (body.has("actor")) {
-            final JsonNode actor = body.get("actor");
-            if (actor.isArray()) {
-                final List<String> agents = new ArrayList<>();
-                for (final JsonNode agent : actor) {
-                    getString(agent, "name").ifPresent(agents::add);
-                    getString(agent, "id").ifPresent(agents::add);
-                }
-                data.put(FCREPO_AGENT, agents);
-            } else {
-                getString(actor, "name").ifPresent(name -> data.put(FCREPO_AGENT, singletonList(name)));
-                getString(actor, "id").ifPresent(name -> data.put(FCREPO_AGENT, singletonList(name)));
-            }
-        }
-        return data;
+    /**
+     * @return the filter that events must match, or null
+     */
+    public EventFilter getFilter() {
+        return filter;
     }
 
-    private static List<String> toUris(final List<String> jsonldValues) {
-        return jsonldValues.stream().map(ActivityStreamTerms::expand).collect(toList());
+    /**
+     * @param filter the filter that events must match, or null to process every event
+     */
+    public void setFilter(final EventFilter filter) {
+        this.filter = filter;
     }
 
-    private static Optional<String> getString(final JsonNode node, final String fieldName) {
-        if (node.has(fieldName)) {
-            final JsonNode field = node.get(fieldName);
-            if (field.isTextual()) {
-                return of(field.asText());
-            }
+    /**
+     * Discard any state that fcrepo endpoints in this context have cached for a changed resource.
+     * Cached responses are dropped for any event; description locations only when the resource is deleted.
+     *
+     * @param context the camel context
+     * @param event the event
+     */
+    static void invalidate(final CamelContext context, final FcrepoEvent event) {
+        if (event.getUri() != null) {
+            FcrepoEndpoint.invalidateAll(context, event.getUri(), event.isDelete());
         }
-        return empty();
     }
 
-    private static Optional<List<String>> getValues(final JsonNode node, final String fieldName) {
-        if (node.has(fieldName)) {
-            final JsonNode field = node.get(fieldName);
-            if (field.isArray()) {
-                final List<String> elements = new ArrayList<>();
-                field.elements().forEachRemaining(elem -> {
-                    if (elem.isTextual()) {
-                        elements.add(elem.asText());
-                    }
-                });
-                return of(elements);
-            } else if (field.isTextual()) {
-                return of(singletonList(field.asText()));
-            }
+    /**
+     * Expand the compact ActivityStream terms in a list of values.
+     *
+     * @param jsonldValues the values
+     * @return the values, with the ActivityStream terms expanded to their URIs
+     */
+    static List<String> toUris(final List<String> jsonldValues) {
+        if (jsonldValues.size() == 1) {
+            return singletonList(ActivityStreamTerms.expand(jsonldValues.get(0)));
+        }
+        final List<String> uris = new ArrayList<>(jsonldValues.size());
+        for (int i = 0; i < jsonldValues.size(); i++) {
+            uris.add(ActivityStreamTerms.expand(jsonldValues.get(i)));
         }
-        return empty();
+        return uris;
     }
 
+    /**
+     * Read an event from a Map, such as a message unmarshalled from JSON.
+     *
+     * @param values the members of the event
+     * @return the event
+     */
     @SuppressWarnings("unchecked")
-    private static Map<String, List<String>> getValuesFromMap(final Map body) {
-        final Map<String, Object> values = (Map<String, Object>)body;
-        final Map<String, List<String>> data = new HashMap<>();
-        if (values.containsKey("@id")) {
-            data.put(FCREPO_EVENT_ID, singletonList((String) values.get("@id")));
-        }
-        if (values.containsKey("id")) {
-            data.putIfAbsent(FCREPO_EVENT_ID, singletonList((String) values.get("id")));
-        }
+    static FcrepoEvent toEvent(final Map<String, Object> values) {
+        final String id = (String) (values.containsKey("@id") ? values.get("@id") : values.get("id"));
 
+        final List<String> eventTypes;
         if (values.containsKey("@type")) {
-            data.put(FCREPO_EVENT_TYPE, toUris((List<String>) values.get("@type")));
-        }
-        if (values.containsKey("type")) {
-            data.putIfAbsent(FCREPO_EVENT_TYPE, toUris((List<String>) values.get("type")));
-        }
-
-        if (values.containsKey("published")) {
-            data.putIfAbsent(FCREPO_DATE_TIME, singletonList((String) values.get("published")));
+            eventTypes = toUris((List<String>) values.get("@type"));
+        } else if (values.containsKey("type")) {
+            eventTypes = toUris((List<String>) values.get("type"));
+        } else {
+            eventTypes = null;
         }
 
         final Map<String, Object> object = (Map<String, Object>) values.get("object");
-
-        if (object != null) {
-            if (object.containsKey("type")) {
-                data.put(FCREPO_RESOURCE_TYPE, (List<String>) object.get("type"));
-            }
-            data.put(FCREPO_URI, singletonList((String) object.get("id")));
-        }
+        final List<String> resourceTypes = object == null ? null : (List<String>) object.get("type");
+        final String uri = object == null ? null : (String) object.get("id");
 
         final List<Map<String, String>> actor = (List<Map<String, String>>) values.get("actor");
+        List<String> agents = null;
         if (actor != null) {
-            data.put(FCREPO_AGENT,
-                    actor.stream().map(agent -> ofNullable(agent.get("name")).orElse(agent.get("id")))
-                            .collect(toList()));
+            agents = new ArrayList<>(actor.size());
+            for (int i = 0; i < actor.size(); i++) {
+                final String name = actor.get(i).get("name");
+                agents.add(name != null ? name : actor.get(i).get("id"));
+            }
         }
 
-        return data;
+        return new FcrepoEvent(id, uri, (String) values.get("published"), eventTypes, resourceTypes, agents);
     }
 }
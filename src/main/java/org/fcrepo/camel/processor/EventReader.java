@@ -0,0 +1,375 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+
+package org.fcrepo.camel.processor;
+
+import static com.fasterxml.jackson.core.JsonToken.END_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.FIELD_NAME;
+import static com.fasterxml.jackson.core.JsonToken.START_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_STRING;
+import static java.util.Collections.singletonList;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads the header values of a Fedora event from a stream of JSON tokens in a single pass.
+ * Only the {@code id}, {@code type}, {@code published}, {@code object} and {@code actor}
+ * members are materialized; any other member, such as the JSON-LD {@code @context}, is
+ * skipped without being built into a tree.
+ *
+ * <p>When a member appears more than once, the last occurrence wins, as it would when the
+ * message is read into a tree.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+final class EventReader {
+
+    static final JsonFactory FACTORY = new ObjectMapper().getFactory();
+
+    private List<String> eventAtId;
+
+    private List<String> eventId;
+
+    private List<String> published;
+
+    private List<String> eventType;
+
+    private List<String> objectAtId;
+
+    private List<String> objectId;
+
+    private List<String> objectAtType;
+
+    private List<String> objectType;
+
+    private List<String> agents;
+
+    private String agentName;
+
+    private String agentId;
+
+    private final EventFilter filter;
+
+    private final boolean identifyRejected;
+
+    private boolean rejected = false;
+
+    private EventReader(final EventFilter filter, final boolean identifyRejected) {
+        this.filter = filter;
+        this.identifyRejected = identifyRejected;
+    }
+
+    /**
+     * Read an event.
+     *
+     * @param parser a parser positioned before the event
+     * @return the event; if the JSON is not an object, an event without any values
+     * @throws IOException if the JSON cannot be read
+     */
+    static FcrepoEvent read(final JsonParser parser) throws IOException {
+        return read(parser, null);
+    }
+
+    /**
+     * Read an event, if it matches a filter. Reading stops as soon as a member fails to match.
+     *
+     * @param parser a parser positioned before the event
+     * @param filter the filter, or null to match any event
+     * @return the event, or null if it does not match the filter
+     * @throws IOException if the JSON cannot be read
+     */
+    static FcrepoEvent read(final JsonParser parser, final EventFilter filter) throws IOException {
+        final EventReader reader = new EventReader(filter, false);
+        if (parser.nextToken() == START_OBJECT && !reader.readEvent(parser)) {
+            return null;
+        }
+        final FcrepoEvent event = reader.toEvent();
+        // a criterion whose member is absent has not been checked yet
+        return filter == null || filter.matches(event) ? event : null;
+    }
+
+    /**
+     * Read an event, checking it against a filter as it is read. Once a member fails to match, only the
+     * event type and object are read, since they identify the changed resource, and reading stops as
+     * soon as both are known.
+     *
+     * @param parser a parser positioned before the event
+     * @param filter the filter
+     * @return the event, to be checked against the filter; a rejected event may lack its other members
+     * @throws IOException if the JSON cannot be read
+     */
+    static FcrepoEvent readIdentifying(final JsonParser parser, final EventFilter filter) throws IOException {
+        final EventReader reader = new EventReader(filter, true);
+        if (parser.nextToken() == START_OBJECT) {
+            reader.readEvent(parser);
+        }
+        return reader.toEvent();
+    }
+
+    /**
+     * Read an event whose start has already been read, such as an element of an array.
+     *
+     * @param parser a parser positioned at the start of the event object
+     * @return the event
+     * @throws IOException if the JSON cannot be read
+     */
+    static FcrepoEvent readCurrent(final JsonParser parser) throws IOException {
+        final EventReader reader = new EventReader(null, false);
+        reader.readEvent(parser);
+        return reader.toEvent();
+    }
+
+    /**
+     * Read the members of an event object, up to its end.
+     *
+     * @return false if a member does not match the filter, in which case reading stops there, or once
+     *         the rejected event has been identified
+     */
+    private boolean readEvent(final JsonParser parser) throws IOException {
+        while (parser.nextToken() == FIELD_NAME) {
+            final String field = parser.currentName();
+            final JsonToken token = parser.nextToken();
+            if (rejected) {
+                identify(parser, field, token);
+                if (isIdentified()) {
+                    return false;
+                }
+                continue;
+            }
+            switch (field) {
+            case "@id":
+                eventAtId = readValues(parser, token);
+                break;
+            case "id":
+                eventId = readValues(parser, token);
+                break;
+            case "published":
+                published = readValues(parser, token);
+                break;
+            case "type":
+                eventType = readTerms(parser, token);
+                if (filter != null && !filter.matchesEventTypes(eventType) && reject()) {
+                    return false;
+                }
+                break;
+            case "object":
+                readObject(parser, token);
+                if (filter != null && !(filter.matchesUri(first(objectAtId != null ? objectAtId : objectId))
+                        && filter.matchesResourceTypes(objectAtType != null ? objectAtType : objectType))
+                        && reject()) {
+                    return false;
+                }
+                break;
+            case "actor":
+                readActor(parser, token);
+                if (filter != null && !filter.matchesAgents(agents) && reject()) {
+                    return false;
+                }
+                break;
+            default:
+                parser.skipChildren();
+            }
+        }
+        return !rejected;
+    }
+
+    /**
+     * Mark the event as rejected by the filter.
+     *
+     * @return whether reading can stop now
+     */
+    private boolean reject() {
+        rejected = true;
+        return !identifyRejected || isIdentified();
+    }
+
+    /**
+     * Read a member of a rejected event, keeping only those that identify the changed resource.
+     */
+    private void identify(final JsonParser parser, final String field, final JsonToken token) throws IOException {
+        if ("type".equals(field)) {
+            eventType = readTerms(parser, token);
+        } else if ("object".equals(field)) {
+            readObject(parser, token);
+        } else {
+            parser.skipChildren();
+        }
+    }
+
+    private boolean isIdentified() {
+        return eventType != null && (objectAtId != null || objectId != null);
+    }
+
+    private void readObject(final JsonParser parser, final JsonToken token) throws IOException {
+        objectAtId = null;
+        objectId = null;
+        objectAtType = null;
+        objectType = null;
+        if (token != START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == FIELD_NAME) {
+            final String field = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            switch (field) {
+            case "@id":
+                objectAtId = readValues(parser, value);
+                break;
+            case "id":
+                objectId = readValues(parser, value);
+                break;
+            case "@type":
+                objectAtType = readValues(parser, value);
+                break;
+            case "type":
+                objectType = readValues(parser, value);
+                break;
+            default:
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readActor(final JsonParser parser, final JsonToken token) throws IOException {
+        agents = null;
+        if (token == START_ARRAY) {
+            // every agent contributes both its name and its id
+            agents = new ArrayList<>();
+            for (JsonToken element = parser.nextToken(); element != END_ARRAY; element = parser.nextToken()) {
+                if (element == START_OBJECT) {
+                    readAgent(parser);
+                    if (agentName != null) {
+                        agents.add(agentName);
+                    }
+                    if (agentId != null) {
+                        agents.add(agentId);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } else if (token == START_OBJECT) {
+            // a single agent is identified by its id, or else by its name
+            readAgent(parser);
+            if (agentId != null) {
+                agents = singletonList(agentId);
+            } else if (agentName != null) {
+                agents = singletonList(agentName);
+            }
+        } else {
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * Read the name and id of an agent object into {@code agentName} and {@code agentId}.
+     */
+    private void readAgent(final JsonParser parser) throws IOException {
+        agentName = null;
+        agentId = null;
+        while (parser.nextToken() == FIELD_NAME) {
+            final String field = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if ("name".equals(field)) {
+                agentName = value == VALUE_STRING ? parser.getText() : null;
+            } else if ("id".equals(field)) {
+                agentId = value == VALUE_STRING ? parser.getText() : null;
+            }
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * Read a string, or the strings of an array, ignoring values of any other type.
+     *
+     * @return the values, or null if the member is neither a string nor an array
+     */
+    private static List<String> readValues(final JsonParser parser, final JsonToken token) throws IOException {
+        if (token == VALUE_STRING) {
+            return singletonList(parser.getText());
+        }
+        if (token != START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        final List<String> values = new ArrayList<>();
+        for (JsonToken element = parser.nextToken(); element != END_ARRAY; element = parser.nextToken()) {
+            if (element == VALUE_STRING) {
+                values.add(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Read a string, or the strings of an array, expanding the ActivityStream terms to their URIs. A known
+     * term is matched in the parser's buffer, so that no string is built for it.
+     *
+     * @return the values, or null if the member is neither a string nor an array
+     */
+    private static List<String> readTerms(final JsonParser parser, final JsonToken token) throws IOException {
+        if (token == VALUE_STRING) {
+            return singletonList(readTerm(parser));
+        }
+        if (token != START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        JsonToken element = parser.nextToken();
+        if (element == VALUE_STRING) {
+            // a single type is the common case
+            final String term = readTerm(parser);
+            element = parser.nextToken();
+            if (element == END_ARRAY) {
+                return singletonList(term);
+            }
+            final List<String> values = new ArrayList<>(4);
+            values.add(term);
+            return readTerms(parser, element, values);
+        }
+        return readTerms(parser, element, new ArrayList<>(4));
+    }
+
+    private static List<String> readTerms(final JsonParser parser, final JsonToken first, final List<String> values)
+            throws IOException {
+        for (JsonToken element = first; element != END_ARRAY; element = parser.nextToken()) {
+            if (element == VALUE_STRING) {
+                values.add(readTerm(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return values;
+    }
+
+    private static String readTerm(final JsonParser parser) throws IOException {
+        final String uri = ActivityStreamTerms.expand(parser.getTextCharacters(), parser.getTextOffset(),
+                parser.getTextLength());
+        return uri != null ? uri : parser.getText();
+    }
+
+    private FcrepoEvent toEvent() {
+        return new FcrepoEvent(first(eventAtId != null ? eventAtId : eventId),
+                first(objectAtId != null ? objectAtId : objectId), first(published), eventType,
+                objectAtType != null ? objectAtType : objectType, agents);
+    }
+
+    private static String first(final List<String> values) {
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+}
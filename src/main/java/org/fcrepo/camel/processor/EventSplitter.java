@@ -0,0 +1,84 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+
+package org.fcrepo.camel.processor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Message;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.support.DefaultMessage;
+
+/**
+ * A splitter expression for a batch of Fedora messages, such as a JSON array of events or a List of
+ * Maps. Events are decoded lazily as the splitter advances, so a large JSON array is streamed
+ * rather than read up front, and each part is a new message with the {@link FcrepoEvent} as its
+ * body and only that event's headers:
+ *
+ * <pre>
+ * from("activemq:queue:fedora-batch")
+ *     .split(new EventSplitter()).streaming()
+ *     .to("direct:event");
+ * </pre>
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class EventSplitter implements Expression {
+
+    @Override
+    public <T> T evaluate(final Exchange exchange, final Class<T> type) {
+        try {
+            return type.cast(new Messages(exchange.getContext(), exchange.getIn().getBody()));
+        } catch (final IOException ex) {
+            throw new RuntimeCamelException("Error reading Fedora events", ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EventSplitter";
+    }
+
+    private static final class Messages implements Iterator<Message>, Closeable {
+
+        private final CamelContext context;
+
+        private final EventIterator events;
+
+        private Messages(final CamelContext context, final Object body) throws IOException {
+            this.context = context;
+            this.events = EventIterator.of(body);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return events.hasNext();
+        }
+
+        @Override
+        public Message next() {
+            final FcrepoEvent event = events.next();
+            final Message message = new DefaultMessage(context);
+            message.setBody(event);
+            event.applyTo(message);
+            if (events.isDecoded()) {
+                EventProcessor.invalidate(context, event);
+            }
+            return message;
+        }
+
+        @Override
+        public void close() throws IOException {
+            events.close();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+
+package org.fcrepo.camel.processor;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_AGENT;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_DATE_TIME;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_ID;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_TYPE;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_RESOURCE_TYPE;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_URI;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.camel.Message;
+
+/**
+ * A decoded Fedora event: the values that the {@link EventProcessor} sets as message headers.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class FcrepoEvent {
+
+    private static final String DELETE = ActivityStreamTerms.Delete.asUri().toString();
+
+    private final String id;
+
+    private final String uri;
+
+    private final String dateTime;
+
+    private final List<String> eventTypes;
+
+    private final List<String> resourceTypes;
+
+    private final List<String> agents;
+
+    /**
+     * Create an event.
+     *
+     * @param id the event identifier
+     * @param uri the URI of the resource
+     * @param dateTime the date and time of the event
+     * @param eventTypes the event types, as URIs
+     * @param resourceTypes the types of the resource
+     * @param agents the agents responsible for the event
+     */
+    FcrepoEvent(final String id, final String uri, final String dateTime, final List<String> eventTypes,
+            final List<String> resourceTypes, final List<String> agents) {
+        this.id = id;
+        this.uri = uri;
+        this.dateTime = dateTime;
+        this.eventTypes = eventTypes;
+        this.resourceTypes = resourceTypes;
+        this.agents = agents;
+    }
+
+    /**
+     * Read an event from the headers of a message, as set by the {@link EventProcessor}, or from its body
+     * if that is an event already.
+     *
+     * @param message the message
+     * @return the event
+     */
+    static FcrepoEvent fromHeaders(final Message message) {
+        final Object body = message.getBody();
+        if (body instanceof FcrepoEvent) {
+            return (FcrepoEvent) body;
+        }
+        return new FcrepoEvent(message.getHeader(FCREPO_EVENT_ID, String.class),
+                message.getHeader(FCREPO_URI, String.class), message.getHeader(FCREPO_DATE_TIME, String.class),
+                getValues(message, FCREPO_EVENT_TYPE), getValues(message, FCREPO_RESOURCE_TYPE),
+                getValues(message, FCREPO_AGENT));
+    }
+
+    /**
+     * @return the event identifier, or null
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the URI of the resource, or null
+     */
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * @return the date and time of the event, or null
+     */
+    public String getDateTime() {
+        return dateTime;
+    }
+
+    /**
+     * @return the event types, as URIs
+     */
+    public List<String> getEventTypes() {
+        return eventTypes == null ? emptyList() : eventTypes;
+    }
+
+    /**
+     * @return the types of the resource
+     */
+    public List<String> getResourceTypes() {
+        return resourceTypes == null ? emptyList() : resourceTypes;
+    }
+
+    /**
+     * @return the agents responsible for the event
+     */
+    public List<String> getAgents() {
+        return agents == null ? emptyList() : agents;
+    }
+
+    /**
+     * @return whether the resource was deleted
+     */
+    public boolean isDelete() {
+        return eventTypes != null && eventTypes.contains(DELETE);
+    }
+
+    /**
+     * Set the values of this event as message headers. Absent values are not set.
+     *
+     * @param message the message
+     */
+    public void applyTo(final Message message) {
+        setHeader(message, FCREPO_EVENT_ID, id);
+        setHeader(message, FCREPO_URI, uri);
+        setHeader(message, FCREPO_DATE_TIME, dateTime);
+        setHeaders(message, FCREPO_EVENT_TYPE, eventTypes);
+        setHeaders(message, FCREPO_RESOURCE_TYPE, resourceTypes);
+        setHeaders(message, FCREPO_AGENT, agents);
+    }
+
+    @Override
+    public String toString() {
+        return "FcrepoEvent[id=" + id + ", uri=" + uri + ", dateTime=" + dateTime + ", eventTypes=" + eventTypes
+            + ", resourceTypes=" + resourceTypes + ", agents=" + agents + "]";
+    }
+
+    private static void setHeader(final Message message, final String name, final String value) {
+        if (value != null) {
+            message.setHeader(name, value);
+        }
+    }
+
+    private static void setHeaders(final Message message, final String name, final List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            message.setHeader(name, values);
+        }
+    }
+
+    private static List<String> getValues(final Message message, final String name) {
+        final Object value = message.getHeader(name);
+        if (value instanceof Collection) {
+            final List<String> values = new ArrayList<>();
+            for (final Object v : (Collection<?>) value) {
+                values.add(v.toString());
+            }
+            return values;
+        }
+        return value == null ? null : singletonList(value.toString());
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+
+package org.fcrepo.camel.processor;
+
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_AGENT;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_DATE_TIME;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_ID;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_TYPE;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_RESOURCE_TYPE;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_URI;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.support.DefaultMessage;
+
+/**
+ * A message whose event headers are set from an {@link FcrepoEvent} only when they are first read,
+ * so that a route that looks at one or two of them does not pay for the rest. Any access to the
+ * whole set of headers, such as copying the message, sets all of them.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+final class LazyEventMessage extends DefaultMessage {
+
+    private static final String[] NAMES = {FCREPO_EVENT_ID, FCREPO_URI, FCREPO_DATE_TIME, FCREPO_EVENT_TYPE,
+        FCREPO_RESOURCE_TYPE, FCREPO_AGENT};
+
+    private FcrepoEvent event;
+
+    /** A bit for each of the NAMES whose header is still to be set */
+    private int pending;
+
+    private LazyEventMessage(final Exchange exchange) {
+        super(exchange);
+    }
+
+    /**
+     * Replace the incoming message of an exchange with one whose event headers are set on demand.
+     *
+     * @param exchange the exchange
+     * @param event the event
+     */
+    static void install(final Exchange exchange, final FcrepoEvent event) {
+        final Message in = exchange.getIn();
+        if (in instanceof LazyEventMessage) {
+            ((LazyEventMessage) in).setEvent(event);
+        } else {
+            final LazyEventMessage message = new LazyEventMessage(exchange);
+            message.copyFrom(in);
+            message.setEvent(event);
+            exchange.setIn(message);
+        }
+    }
+
+    private void setEvent(final FcrepoEvent event) {
+        materializeAll();
+        this.event = event;
+        for (int i = 0; i < NAMES.length; i++) {
+            if (value(i) != null) {
+                pending |= 1 << i;
+            }
+        }
+    }
+
+    private Object value(final int index) {
+        switch (index) {
+        case 0:
+            return event.getId();
+        case 1:
+            return event.getUri();
+        case 2:
+            return event.getDateTime();
+        case 3:
+            return values(event.getEventTypes());
+        case 4:
+            return values(event.getResourceTypes());
+        default:
+            return values(event.getAgents());
+        }
+    }
+
+    private static List<String> values(final List<String> values) {
+        return values.isEmpty() ? null : values;
+    }
+
+    private int indexOf(final String name) {
+        if (pending != 0 && name != null) {
+            for (int i = 0; i < NAMES.length; i++) {
+                if ((pending & (1 << i)) != 0 && NAMES[i].equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void materialize(final String name) {
+        final int index = indexOf(name);
+        if (index >= 0) {
+            pending &= ~(1 << index);
+            super.setHeader(NAMES[index], value(index));
+        }
+    }
+
+    private void forget(final String name) {
+        final int index = indexOf(name);
+        if (index >= 0) {
+            pending &= ~(1 << index);
+        }
+    }
+
+    private void materializeAll() {
+        for (int i = 0; i < NAMES.length && pending != 0; i++) {
+            if ((pending & (1 << i)) != 0) {
+                pending &= ~(1 << i);
+                super.setHeader(NAMES[i], value(i));
+            }
+        }
+    }
+
+    @Override
+    public Object getHeader(final String name) {
+        materialize(name);
+        return super.getHeader(name);
+    }
+
+    @Override
+    public Object getHeader(final String name, final Object defaultValue) {
+        materialize(name);
+        return super.getHeader(name, defaultValue);
+    }
+
+    @Override
+    public Object getHeader(final String name, final Supplier<Object> defaultValueSupplier) {
+        materialize(name);
+        return super.getHeader(name, defaultValueSupplier);
+    }
+
+    @Override
+    public <T> T getHeader(final String name, final Class<T> type) {
+        materialize(name);
+        return super.getHeader(name, type);
+    }
+
+    @Override
+    public <T> T getHeader(final String name, final Object defaultValue, final Class<T> type) {
+        materialize(name);
+        return super.getHeader(name, defaultValue, type);
+    }
+
+    @Override
+    public <T> T getHeader(final String name, final Supplier<Object> defaultValueSupplier, final Class<T> type) {
+        materialize(name);
+        return super.getHeader(name, defaultValueSupplier, type);
+    }
+
+    @Override
+    public void setHeader(final String name, final Object value) {
+        forget(name);
+        super.setHeader(name, value);
+    }
+
+    @Override
+    public Object removeHeader(final String name) {
+        forget(name);
+        return super.removeHeader(name);
+    }
+
+    @Override
+    public boolean removeHeaders(final String pattern) {
+        materializeAll();
+        return super.removeHeaders(pattern);
+    }
+
+    @Override
+    public boolean removeHeaders(final String pattern, final String... excludePatterns) {
+        materializeAll();
+        return super.removeHeaders(pattern, excludePatterns);
+    }
+
+    @Override
+    public Map<String, Object> getHeaders() {
+        materializeAll();
+        return super.getHeaders();
+    }
+
+    @Override
+    public void setHeaders(final Map<String, Object> headers) {
+        pending = 0;
+        super.setHeaders(headers);
+    }
+
+    @Override
+    public boolean hasHeaders() {
+        return pending != 0 || super.hasHeaders();
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+
+package org.fcrepo.camel.processor;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+
+/**
+ * A Bloom filter over two generations of keys. Once the current generation holds its capacity,
+ * the older generation is cleared and becomes the current one, so that the filter remembers
+ * between one and two generations of keys with a bounded false positive rate, in a fixed amount
+ * of memory. The bits may be kept in a memory-mapped file, so that they survive a restart.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+class RotatingBloomFilter {
+
+    private static final Logger LOGGER = getLogger(RotatingBloomFilter.class);
+
+    private static final int MAGIC = 0x46434246;
+
+    private static final int HEADER = 32;
+
+    private static final int CURRENT = 16;
+
+    private static final int COUNT = 20;
+
+    private final ByteBuffer buffer;
+
+    private final int capacity;
+
+    private final long bits;
+
+    private final int hashes;
+
+    private final int generationSize;
+
+    /**
+     * Create a Bloom filter.
+     *
+     * @param capacity the number of keys in a generation
+     * @param falsePositiveRate the false positive rate of a full generation
+     * @param file the file holding the filter, or null to keep it in memory
+     * @throws IOException if the file cannot be mapped
+     */
+    RotatingBloomFilter(final int capacity, final double falsePositiveRate, final Path file) throws IOException {
+        this.capacity = Math.max(1, capacity);
+        final double ln2 = Math.log(2);
+        final long optimal = (long) Math.ceil(-this.capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bits = Math.max(64, (optimal + 63) / 64 * 64);
+        this.hashes = Math.max(1, (int) Math.round((double) bits / this.capacity * ln2));
+        final long size = HEADER + 2 * bits / 8;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A Bloom filter of " + capacity + " keys is too large");
+        }
+        this.generationSize = (int) (bits / 8);
+
+        if (file == null) {
+            buffer = ByteBuffer.allocate((int) size);
+            initialize();
+        } else {
+            try (final FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE)) {
+                final boolean existing = channel.size() == size;
+                buffer = channel.map(READ_WRITE, 0, size);
+                if (!existing || buffer.getInt(0) != MAGIC || buffer.getLong(4) != bits
+                        || buffer.getInt(12) != hashes) {
+                    LOGGER.debug("Initializing the event deduplication state in {}", file);
+                    initialize();
+                }
+            }
+        }
+    }
+
+    private void initialize() {
+        for (int i = 0; i < buffer.capacity(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putLong(4, bits);
+        buffer.putInt(12, hashes);
+    }
+
+    /**
+     * Whether a key may have been added. False positives are possible; false negatives are not,
+     * within the last full generation.
+     *
+     * @param key the key
+     * @return whether the key may have been added
+     */
+    synchronized boolean mightContain(final String key) {
+        final long hash = hash(key);
+        return contains(0, hash) || contains(1, hash);
+    }
+
+    /**
+     * Add a key.
+     *
+     * @param key the key
+     */
+    synchronized void put(final String key) {
+        int current = buffer.getInt(CURRENT);
+        int count = buffer.getInt(COUNT);
+        if (count >= capacity) {
+            current = 1 - current;
+            clear(current);
+            count = 0;
+            buffer.putInt(CURRENT, current);
+        }
+        final long hash = hash(key);
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            final long bit = index(h1, h2, i);
+            final int offset = offset(current, bit);
+            buffer.put(offset, (byte) (buffer.get(offset) | (1 << (bit & 7))));
+        }
+        buffer.putInt(COUNT, count + 1);
+    }
+
+    /**
+     * Write any changes to the backing file.
+     */
+    synchronized void flush() {
+        if (buffer instanceof MappedByteBuffer) {
+            ((MappedByteBuffer) buffer).force();
+        }
+    }
+
+    private boolean contains(final int generation, final long hash) {
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            final long bit = index(h1, h2, i);
+            if ((buffer.get(offset(generation, bit)) & (1 << (bit & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void clear(final int generation) {
+        final int start = HEADER + generation * generationSize;
+        for (int i = start; i < start + generationSize; i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+
+    private long index(final int h1, final int h2, final int i) {
+        return Math.floorMod(h1 + (long) i * h2, bits);
+    }
+
+    private int offset(final int generation, final long bit) {
+        return HEADER + generation * generationSize + (int) (bit >>> 3);
+    }
+
+    /**
+     * A 64-bit FNV-1a hash of the key, with a final avalanche step.
+     */
+    private static long hash(final String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
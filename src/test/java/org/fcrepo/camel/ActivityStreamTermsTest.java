@@ -8,6 +8,7 @@ package org.fcrepo.camel;
 import static java.net.URI.create;
 import static org.fcrepo.camel.processor.ActivityStreamTerms.ACTIVITY_STREAMS_BASEURI;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.fcrepo.camel.processor.ActivityStreamTerms;
 import org.junit.jupiter.api.Test;
@@ -34,4 +35,13 @@ public class ActivityStreamTermsTest {
     public void testExpandUnknownTermReturnsInput() {
         assertEquals("http://example.org/NotATerm", ActivityStreamTerms.expand("http://example.org/NotATerm"));
     }
+
+    @Test
+    public void testExpandReturnsSharedUris() {
+        for (final ActivityStreamTerms term : ActivityStreamTerms.values()) {
+            final String uri = ActivityStreamTerms.expand(new String(term.name()));
+            assertEquals(term.asUri().toString(), uri);
+            assertSame(uri, ActivityStreamTerms.expand(term.name()));
+        }
+    }
 }
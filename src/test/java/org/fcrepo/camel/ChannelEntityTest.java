@@ -0,0 +1,70 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author agent
+ * @since October 17, 2026
+ */
+public class ChannelEntityTest {
+
+    @Test
+    public void testFileBody(@TempDir final Path dir) throws Exception {
+        final Path file = dir.resolve("binary.txt");
+        Files.write(file, "Some binary content".getBytes(UTF_8));
+
+        for (final Object body : new Object[] { file, file.toFile() }) {
+            final ChannelEntity entity = ChannelEntity.of(body, "text/plain");
+            assertEquals(19L, entity.getContentLength());
+            assertEquals("text/plain", entity.getContentType().getValue());
+            assertTrue(entity.isRepeatable());
+            assertFalse(entity.isChunked());
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            entity.writeTo(out);
+            assertEquals("Some binary content", out.toString(UTF_8.name()));
+            assertEquals("Some binary content", IOUtils.toString(entity.getContent(), UTF_8));
+        }
+    }
+
+    @Test
+    public void testBufferBody() throws Exception {
+        final ByteBuffer buffer = ByteBuffer.wrap("Some binary content".getBytes(UTF_8));
+        buffer.position(5);
+
+        final ChannelEntity entity = ChannelEntity.of(buffer, null);
+        assertEquals(14L, entity.getContentLength());
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entity.writeTo(out);
+        entity.writeTo(out);
+        assertEquals("binary contentbinary content", out.toString(UTF_8.name()));
+        assertEquals(5, buffer.position());
+    }
+
+    @Test
+    public void testUnsupportedBody() throws Exception {
+        assertNull(ChannelEntity.of("Some text", "text/plain"));
+        assertNull(ChannelEntity.of(new ByteArrayInputStream(new byte[0]), "text/plain"));
+        assertNull(ChannelEntity.of(null, "text/plain"));
+    }
+}
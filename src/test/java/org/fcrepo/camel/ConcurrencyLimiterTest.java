@@ -0,0 +1,122 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.fcrepo.client.HttpMethods.GET;
+import static org.fcrepo.client.HttpMethods.PUT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ * @since October 17, 2026
+ */
+public class ConcurrencyLimiterTest {
+
+    private static final long LATENCY = MILLISECONDS.toNanos(20);
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testGrowAndBackOff() throws Exception {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(12, 0, 0);
+        assertEquals(10, limiter.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            fill(limiter);
+            drain(limiter);
+        }
+        assertEquals(12, limiter.getLimit());
+
+        assertTrue(limiter.acquire());
+        limiter.release(GET, LATENCY, 503);
+        assertEquals(10, limiter.getLimit());
+
+        assertTrue(limiter.acquire());
+        limiter.release(GET, LATENCY * 10, 200);
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    public void testLatencyPerMethod() throws Exception {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(12, 0, 0);
+        assertTrue(limiter.acquire());
+        limiter.release(GET, LATENCY, 200);
+
+        // a slow upload is not compared with the fast reads
+        assertTrue(limiter.acquire());
+        limiter.release(PUT, LATENCY * 10, 201);
+        assertEquals(10, limiter.getLimit());
+
+        assertTrue(limiter.acquire());
+        limiter.release(PUT, LATENCY * 100, 201);
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    public void testReject() throws Exception {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 0, 0);
+        assertTrue(limiter.acquire());
+        assertFalse(limiter.acquire());
+        assertEquals(1, limiter.getRejected());
+
+        limiter.release(GET, LATENCY, 200);
+        assertTrue(limiter.acquire());
+    }
+
+    @Test
+    public void testQueue() throws Exception {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 5000);
+        assertTrue(limiter.acquire());
+
+        final Future<Boolean> queued = executor.submit(limiter::acquire);
+        while (limiter.getQueueDepth() == 0) {
+            Thread.sleep(10);
+        }
+        assertFalse(limiter.acquire());
+        assertEquals(1, limiter.getRejected());
+
+        limiter.release(GET, LATENCY, 200);
+        assertTrue(queued.get(5, SECONDS));
+        assertEquals(0, limiter.getQueueDepth());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    public void testQueueTimeout() throws Exception {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 10);
+        assertTrue(limiter.acquire());
+        assertFalse(limiter.acquire());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    private static void fill(final ConcurrencyLimiter limiter) throws InterruptedException {
+        while (limiter.acquire()) {
+            // acquire every available permit
+        }
+    }
+
+    private static void drain(final ConcurrencyLimiter limiter) {
+        while (limiter.getInFlight() > 0) {
+            limiter.release(GET, LATENCY, 200);
+        }
+    }
+}
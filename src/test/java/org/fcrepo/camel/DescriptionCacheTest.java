@@ -0,0 +1,54 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.net.URI.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ * @since October 17, 2026
+ */
+public class DescriptionCacheTest {
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        final DescriptionCache cache = new DescriptionCache(2, 60000L);
+        cache.put("http://localhost/rest/a", create("http://localhost/rest/a/fcr:metadata"));
+        cache.put("http://localhost/rest/b", create("http://localhost/rest/b/fcr:metadata"));
+
+        assertEquals(create("http://localhost/rest/a/fcr:metadata"), cache.get("http://localhost/rest/a"));
+
+        cache.put("http://localhost/rest/c", create("http://localhost/rest/c"));
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("http://localhost/rest/b"));
+        assertEquals(create("http://localhost/rest/c"), cache.get("http://localhost/rest/c"));
+        assertEquals(2L, cache.getHits());
+        assertEquals(1L, cache.getMisses());
+    }
+
+    @Test
+    public void testExpiration() {
+        final DescriptionCache cache = new DescriptionCache(10, -1L);
+        cache.put("http://localhost/rest/a", create("http://localhost/rest/a/fcr:metadata"));
+
+        assertNull(cache.get("http://localhost/rest/a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidate() {
+        final DescriptionCache cache = new DescriptionCache(10, 60000L);
+        cache.put("http://localhost/rest/a", create("http://localhost/rest/a/fcr:metadata"));
+        cache.invalidate("http://localhost/rest/a");
+
+        assertNull(cache.get("http://localhost/rest/a"));
+    }
+}
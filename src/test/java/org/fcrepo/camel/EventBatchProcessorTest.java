@@ -0,0 +1,121 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.apache.camel.util.ObjectHelper.loadResourceAsStream;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_AGENT;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_ID;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_TYPE;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_URI;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.commons.io.IOUtils;
+import org.fcrepo.camel.processor.EventBatchProcessor;
+import org.fcrepo.camel.processor.EventProcessor;
+import org.fcrepo.camel.processor.EventSplitter;
+import org.fcrepo.camel.processor.FcrepoEvent;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ * @since October 17, 2026
+ */
+public class EventBatchProcessorTest {
+
+    private static final String RESOURCE = "http://localhost:8080/fcrepo/rest/path/to/resource";
+
+    private static final String OTHER = "{\"id\": \"urn:uuid:event-2\", \"type\": \"Delete\", " +
+            "\"object\": {\"id\": \"http://localhost:8080/fcrepo/rest/other\"}}";
+
+    private static String getBatch() throws Exception {
+        try (final InputStream in = loadResourceAsStream("event.json")) {
+            return "[" + IOUtils.toString(in, UTF_8) + ", 1, [], " + OTHER + "]";
+        }
+    }
+
+    private static Exchange newExchange(final Object body) {
+        final Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.getIn().setBody(body);
+        return exchange;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBatch() throws Exception {
+        final Exchange exchange = newExchange(new ByteArrayInputStream(getBatch().getBytes(UTF_8)));
+        new EventBatchProcessor().process(exchange);
+
+        final List<FcrepoEvent> events = exchange.getIn().getBody(List.class);
+        assertEquals(2, events.size());
+        assertEquals("urn:uuid:3c834a8f-5638-4412-aa4b-35ea80416a18", events.get(0).getId());
+        assertEquals(RESOURCE, events.get(0).getUri());
+        assertEquals("2016-05-19T17:17:39-04:00Z", events.get(0).getDateTime());
+        assertEquals(asList("https://www.w3.org/ns/activitystreams#Create"), events.get(0).getEventTypes());
+        assertEquals(7, events.get(0).getResourceTypes().size());
+        assertEquals(asList("info:fedora/local-user#bypassAdmin", "CLAW client/1.0"), events.get(0).getAgents());
+        assertFalse(events.get(0).isDelete());
+        assertEquals("http://localhost:8080/fcrepo/rest/other", events.get(1).getUri());
+        assertTrue(events.get(1).isDelete());
+        assertTrue(events.get(1).getAgents().isEmpty());
+
+        // the decoded events set the same headers as the original messages
+        final Exchange single = newExchange(events.get(0));
+        new EventProcessor().process(single);
+        assertEquals(RESOURCE, single.getIn().getHeader(FCREPO_URI));
+        assertEquals(asList("https://www.w3.org/ns/activitystreams#Create"),
+                single.getIn().getHeader(FCREPO_EVENT_TYPE));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBatchOfMaps() throws Exception {
+        final Exchange exchange = newExchange(asList(
+                singletonMap("id", "urn:uuid:event-1"), 5, OTHER, singletonMap("id", "urn:uuid:event-2")));
+        new EventBatchProcessor().process(exchange);
+
+        final List<FcrepoEvent> events = exchange.getIn().getBody(List.class);
+        assertEquals(3, events.size());
+        assertEquals("urn:uuid:event-1", events.get(0).getId());
+        assertEquals("urn:uuid:event-2", events.get(1).getId());
+        assertTrue(events.get(1).isDelete());
+        assertEquals("urn:uuid:event-2", events.get(2).getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSplitter() throws Exception {
+        final Exchange exchange = newExchange(getBatch());
+        final Iterator<Message> messages = new EventSplitter().evaluate(exchange, Iterator.class);
+
+        assertTrue(messages.hasNext());
+        final Message first = messages.next();
+        assertEquals(RESOURCE, first.getHeader(FCREPO_URI));
+        assertEquals("urn:uuid:3c834a8f-5638-4412-aa4b-35ea80416a18", first.getHeader(FCREPO_EVENT_ID));
+        assertEquals(asList("info:fedora/local-user#bypassAdmin", "CLAW client/1.0"), first.getHeader(FCREPO_AGENT));
+        assertEquals(RESOURCE, first.getBody(FcrepoEvent.class).getUri());
+
+        assertTrue(messages.hasNext());
+        final Message second = messages.next();
+        assertEquals("urn:uuid:event-2", second.getHeader(FCREPO_EVENT_ID));
+        assertNull(second.getHeader(FCREPO_AGENT));
+        assertFalse(messages.hasNext());
+    }
+}
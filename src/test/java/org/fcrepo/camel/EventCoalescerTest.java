@@ -0,0 +1,126 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+
+package org.fcrepo.camel;
+
+import static java.util.Arrays.asList;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_AGENT;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_ID;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_TYPE;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_URI;
+import static org.fcrepo.camel.processor.EventCoalescer.COALESCED_SINCE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.apache.camel.EndpointInject;
+import org.apache.camel.Exchange;
+import org.apache.camel.Produce;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.test.junit5.CamelTestSupport;
+import org.fcrepo.camel.processor.EventCoalescer;
+import org.fcrepo.camel.processor.EventProcessor;
+import org.fcrepo.camel.processor.FcrepoEvent;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ * @since October 17, 2026
+ */
+public class EventCoalescerTest extends CamelTestSupport {
+
+    private static final String BASE = "http://localhost:8080/fcrepo/rest/";
+
+    private static final String AS = "https://www.w3.org/ns/activitystreams#";
+
+    @EndpointInject("mock:result")
+    protected MockEndpoint resultEndpoint;
+
+    @Produce("direct:start")
+    protected ProducerTemplate template;
+
+    private static String event(final String id, final String type, final String path, final String agent) {
+        return "{\"id\": \"urn:uuid:" + id + "\", \"type\": \"" + type + "\", " +
+            "\"published\": \"2016-05-19T17:17:39Z\", " +
+            "\"object\": {\"id\": \"" + BASE + path + "\", \"type\": [\"http://www.w3.org/ns/ldp#RDFSource\"]}, " +
+            "\"actor\": {\"id\": \"" + agent + "\"}}";
+    }
+
+    @Test
+    public void testCoalesce() throws Exception {
+        resultEndpoint.expectedMessageCount(2);
+
+        template.sendBody(event("a-1", "Create", "a", "user-1"));
+        template.sendBody(event("b-1", "Update", "b", "user-1"));
+        template.sendBody(event("a-2", "Update", "a", "user-2"));
+        template.sendBody(event("b-2", "Delete", "b", "user-1"));
+        template.sendBody(event("a-3", "Update", "a", "user-1"));
+
+        resultEndpoint.assertIsSatisfied();
+
+        for (final Exchange exchange : resultEndpoint.getExchanges()) {
+            final FcrepoEvent event = exchange.getIn().getBody(FcrepoEvent.class);
+            assertEquals(event.getUri(), exchange.getIn().getHeader(FCREPO_URI));
+            assertEquals(event.getEventTypes(), exchange.getIn().getHeader(FCREPO_EVENT_TYPE));
+            if (event.getUri().equals(BASE + "a")) {
+                assertEquals("urn:uuid:a-3", exchange.getIn().getHeader(FCREPO_EVENT_ID));
+                assertEquals(asList(AS + "Create", AS + "Update"), event.getEventTypes());
+                assertEquals(asList("user-1", "user-2"), exchange.getIn().getHeader(FCREPO_AGENT, List.class));
+                assertFalse(event.isDelete());
+            } else {
+                // the delete wins over the update
+                assertEquals("urn:uuid:b-2", event.getId());
+                assertEquals(asList(AS + "Delete"), event.getEventTypes());
+                assertTrue(event.isDelete());
+            }
+        }
+    }
+
+    @Test
+    public void testMaxDelay() throws Exception {
+        final EventCoalescer coalescer = new EventCoalescer();
+        assertFalse(coalescer.canPreComplete());
+        coalescer.setMaxDelay(50);
+        assertTrue(coalescer.canPreComplete());
+
+        final Exchange first = newEvent("a-1", "Create");
+        final Exchange group = coalescer.aggregate(null, first);
+        final Exchange second = newEvent("a-2", "Update");
+        assertFalse(coalescer.preComplete(group, second));
+        coalescer.aggregate(group, second);
+        // open the group 100ms earlier, instead of waiting for the delay to pass
+        group.setProperty(COALESCED_SINCE, group.getProperty(COALESCED_SINCE, Long.class) - 100);
+
+        // the group has been open for too long, so the next event completes it
+        assertTrue(coalescer.preComplete(group, newEvent("a-3", "Update")));
+        assertEquals("urn:uuid:a-2", group.getIn().getBody(FcrepoEvent.class).getId());
+    }
+
+    private Exchange newEvent(final String id, final String type) throws Exception {
+        final Exchange exchange = new DefaultExchange(context());
+        exchange.getIn().setBody(event(id, type, "a", "user-1"));
+        new EventProcessor().process(exchange);
+        return exchange;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                    .process(new EventProcessor())
+                    .aggregate(header(FCREPO_URI), new EventCoalescer()).completionTimeout(200)
+                    .to("mock:result");
+            }
+        };
+    }
+}
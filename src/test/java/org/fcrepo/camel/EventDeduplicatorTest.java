@@ -0,0 +1,220 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static org.apache.camel.Exchange.DUPLICATE_MESSAGE;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.Synchronization;
+import org.apache.camel.support.DefaultExchange;
+import org.fcrepo.camel.processor.EventDeduplicator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author agent
+ * @since October 17, 2026
+ */
+public class EventDeduplicatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Exchange process(final EventDeduplicator deduplicator, final String id) {
+        final Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        if (id != null) {
+            exchange.getIn().setHeader(FCREPO_EVENT_ID, id);
+        }
+        deduplicator.process(exchange);
+        // complete the exchange, as its unit of work would at the end of a route
+        final List<Synchronization> completions = exchange.getExchangeExtension().handoverCompletions();
+        if (completions != null) {
+            completions.forEach(completion -> completion.onComplete(exchange));
+        }
+        return exchange;
+    }
+
+    private static boolean isDuplicate(final EventDeduplicator deduplicator, final String id) {
+        final Exchange exchange = process(deduplicator, id);
+        assertEquals(exchange.getProperty(DUPLICATE_MESSAGE) != null, exchange.isRouteStop());
+        return exchange.isRouteStop();
+    }
+
+    @Test
+    public void testDuplicates() {
+        final EventDeduplicator deduplicator = new EventDeduplicator();
+        deduplicator.start();
+        assertFalse(isDuplicate(deduplicator, "urn:uuid:event-1"));
+        assertFalse(isDuplicate(deduplicator, "urn:uuid:event-2"));
+        assertTrue(isDuplicate(deduplicator, "urn:uuid:event-1"));
+        assertTrue(isDuplicate(deduplicator, "urn:uuid:event-2"));
+        assertFalse(isDuplicate(deduplicator, null));
+        assertFalse(isDuplicate(deduplicator, null));
+        assertEquals(2, deduplicator.getDuplicates());
+        deduplicator.stop();
+    }
+
+    @Test
+    public void testMarkDuplicates() {
+        final EventDeduplicator deduplicator = new EventDeduplicator();
+        deduplicator.setSkipDuplicate(false);
+        deduplicator.start();
+        assertNull(process(deduplicator, "urn:uuid:event-1").getProperty(DUPLICATE_MESSAGE));
+        final Exchange exchange = process(deduplicator, "urn:uuid:event-1");
+        assertEquals(true, exchange.getProperty(DUPLICATE_MESSAGE));
+        assertFalse(exchange.isRouteStop());
+        deduplicator.stop();
+    }
+
+    @Test
+    public void testCacheSize() {
+        final EventDeduplicator deduplicator = new EventDeduplicator();
+        deduplicator.setCacheSize(2);
+        deduplicator.start();
+        assertFalse(isDuplicate(deduplicator, "urn:uuid:event-1"));
+        assertFalse(isDuplicate(deduplicator, "urn:uuid:event-2"));
+        assertFalse(isDuplicate(deduplicator, "urn:uuid:event-3"));
+        assertEquals(2, deduplicator.getCachedIds());
+        // the eldest id has been evicted
+        assertFalse(isDuplicate(deduplicator, "urn:uuid:event-1"));
+        assertTrue(isDuplicate(deduplicator, "urn:uuid:event-3"));
+        deduplicator.stop();
+    }
+
+    @Test
+    public void testWindow() {
+        final AtomicLong clock = new AtomicLong(1000);
+        final EventDeduplicator deduplicator = new EventDeduplicator() {
+            @Override
+            protected long currentTimeMillis() {
+                return clock.get();
+            }
+        };
+        deduplicator.setWindow(50);
+        deduplicator.start();
+        assertFalse(isDuplicate(deduplicator, "urn:uuid:event-1"));
+        clock.addAndGet(50);
+        assertTrue(isDuplicate(deduplicator, "urn:uuid:event-1"));
+        clock.addAndGet(1);
+        assertFalse(isDuplicate(deduplicator, "urn:uuid:event-1"));
+        deduplicator.stop();
+    }
+
+    @Test
+    public void testRedeliveryAfterFailure() throws Exception {
+        final EventDeduplicator deduplicator = new EventDeduplicator();
+        deduplicator.setBloomFilterSize(1000);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        try (final CamelContext context = new DefaultCamelContext()) {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() {
+                    from("direct:start")
+                        .process(deduplicator)
+                        .process(exchange -> {
+                            if (attempts.incrementAndGet() == 1) {
+                                throw new IllegalStateException("The first attempt fails");
+                            }
+                        })
+                        .to("mock:result");
+                }
+            });
+            context.start();
+            final MockEndpoint result = context.getEndpoint("mock:result", MockEndpoint.class);
+            result.expectedMessageCount(1);
+
+            final ProducerTemplate template = context.createProducerTemplate();
+            assertTrue(template.send("direct:start", exchange ->
+                    exchange.getIn().setHeader(FCREPO_EVENT_ID, "urn:uuid:event-1")).isFailed());
+            // the redelivered event is processed, and only then taken for a duplicate
+            assertFalse(template.send("direct:start", exchange ->
+                    exchange.getIn().setHeader(FCREPO_EVENT_ID, "urn:uuid:event-1")).isFailed());
+            template.sendBodyAndHeader("direct:start", null, FCREPO_EVENT_ID, "urn:uuid:event-1");
+
+            result.assertIsSatisfied();
+            assertEquals(2, attempts.get());
+            assertEquals(1, deduplicator.getDuplicates());
+        }
+    }
+
+    @Test
+    public void testBloomFilter() {
+        final EventDeduplicator deduplicator = new EventDeduplicator();
+        deduplicator.setCacheSize(2);
+        deduplicator.setBloomFilterSize(1000);
+        deduplicator.start();
+        for (int i = 0; i < 100; i++) {
+            assertFalse(isDuplicate(deduplicator, "urn:uuid:event-" + i));
+        }
+        // the ids have left the exact cache, but not the Bloom filter
+        assertEquals(2, deduplicator.getCachedIds());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(isDuplicate(deduplicator, "urn:uuid:event-" + i));
+        }
+        deduplicator.stop();
+    }
+
+    @Test
+    public void testBloomFilterRotation() {
+        final EventDeduplicator deduplicator = new EventDeduplicator();
+        deduplicator.setCacheSize(1);
+        deduplicator.setBloomFilterSize(10);
+        deduplicator.start();
+        assertFalse(isDuplicate(deduplicator, "urn:uuid:event-first"));
+        for (int i = 0; i < 40; i++) {
+            isDuplicate(deduplicator, "urn:uuid:event-" + i);
+        }
+        // two generations later, the first id has been forgotten
+        assertFalse(isDuplicate(deduplicator, "urn:uuid:event-first"));
+        deduplicator.stop();
+    }
+
+    @Test
+    public void testStateFile() {
+        final String stateFile = tempDir.resolve("dedup.bin").toString();
+        final EventDeduplicator first = new EventDeduplicator();
+        first.setBloomFilterSize(1000);
+        first.setStateFile(stateFile);
+        first.start();
+        assertFalse(isDuplicate(first, "urn:uuid:event-1"));
+        assertFalse(isDuplicate(first, "urn:uuid:event-2"));
+        first.stop();
+
+        final EventDeduplicator second = new EventDeduplicator();
+        second.setBloomFilterSize(1000);
+        second.setStateFile(stateFile);
+        second.start();
+        assertEquals(0, second.getCachedIds());
+        assertTrue(isDuplicate(second, "urn:uuid:event-1"));
+        assertTrue(isDuplicate(second, "urn:uuid:event-2"));
+        assertFalse(isDuplicate(second, "urn:uuid:event-3"));
+        second.stop();
+
+        // a filter of a different size starts afresh
+        final EventDeduplicator resized = new EventDeduplicator();
+        resized.setBloomFilterSize(2000);
+        resized.setStateFile(stateFile);
+        resized.start();
+        assertFalse(isDuplicate(resized, "urn:uuid:event-1"));
+        resized.stop();
+    }
+}
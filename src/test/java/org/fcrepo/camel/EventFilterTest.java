@@ -0,0 +1,173 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.apache.camel.util.ObjectHelper.loadResourceAsStream;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_ID;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_TYPE;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_URI;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.commons.io.IOUtils;
+import org.fcrepo.camel.processor.EventFilter;
+import org.fcrepo.camel.processor.EventProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ * @since October 17, 2026
+ */
+public class EventFilterTest {
+
+    private static final String RESOURCE = "http://localhost:8080/fcrepo/rest/path/to/resource";
+
+    private static final String AGENT = "info:fedora/local-user#bypassAdmin";
+
+    private String event;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        try (final InputStream in = loadResourceAsStream("event.json")) {
+            event = IOUtils.toString(in, UTF_8);
+        }
+    }
+
+    private static Exchange newExchange(final Object body) {
+        final Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.getIn().setBody(body);
+        return exchange;
+    }
+
+    @Test
+    public void testCriteria() {
+        assertTrue(new EventFilter().matches(newExchange(event)));
+        assertTrue(new EventFilter().eventType("Create", "Update").matches(newExchange(event)));
+        assertTrue(new EventFilter().eventType("https://www.w3.org/ns/activitystreams#Create")
+                .matches(newExchange(event)));
+        assertFalse(new EventFilter().eventType("Delete").matches(newExchange(event)));
+        assertTrue(new EventFilter().resourceType("http://www.w3.org/ns/ldp#Container").matches(newExchange(event)));
+        assertFalse(new EventFilter().resourceType("http://www.w3.org/ns/ldp#NonRDFSource")
+                .matches(newExchange(event)));
+        assertFalse(new EventFilter().excludeResourceType("http://example.org/CustomType")
+                .matches(newExchange(event)));
+        assertTrue(new EventFilter().uriPrefix("http://example.org/", "http://localhost:8080/fcrepo/rest/path/")
+                .matches(newExchange(event)));
+        assertFalse(new EventFilter().uriPrefix("http://example.org/").matches(newExchange(event)));
+        assertTrue(new EventFilter().uriPattern(".*/to/[^/]+").matches(newExchange(event)));
+        assertFalse(new EventFilter().uriPattern("to/resource").matches(newExchange(event)));
+        assertTrue(new EventFilter().agent("CLAW client/1.0").matches(newExchange(event)));
+        assertFalse(new EventFilter().agent("someone else").matches(newExchange(event)));
+        // every criterion must match
+        assertFalse(new EventFilter().eventType("Create").agent("someone else").matches(newExchange(event)));
+    }
+
+    @Test
+    public void testProcessorRejectsWithoutHeaders() throws Exception {
+        final EventProcessor processor = new EventProcessor();
+        processor.setFilter(new EventFilter().excludeResourceType("http://www.w3.org/ns/ldp#BasicContainer"));
+
+        final Exchange rejected = newExchange(new ByteArrayInputStream(event.getBytes(UTF_8)));
+        processor.process(rejected);
+        assertTrue(rejected.isRouteStop());
+        assertEquals(false, rejected.getProperty(Exchange.FILTER_MATCHED));
+        assertNull(rejected.getIn().getHeader(FCREPO_EVENT_ID));
+        assertNull(rejected.getIn().getHeader(FCREPO_URI));
+
+        processor.setFilter(new EventFilter().eventType("Create"));
+        final Exchange accepted = newExchange(event);
+        processor.process(accepted);
+        assertFalse(accepted.isRouteStop());
+        assertEquals(RESOURCE, accepted.getIn().getHeader(FCREPO_URI));
+        assertEquals(asList("https://www.w3.org/ns/activitystreams#Create"),
+                accepted.getIn().getHeader(FCREPO_EVENT_TYPE));
+
+        // a message that holds no event is not filtered, as it is not processed without a filter
+        final Exchange empty = newExchange(null);
+        processor.process(empty);
+        assertFalse(empty.isRouteStop());
+        assertNull(empty.getProperty(Exchange.FILTER_MATCHED));
+    }
+
+    @Test
+    public void testRejectedEventInvalidates() throws Exception {
+        final CamelContext context = new DefaultCamelContext();
+        context.addComponent("fcrepo", new FcrepoComponent());
+        final FcrepoEndpoint endpoint = context.getEndpoint("fcrepo:localhost:8080/fcrepo/rest?responseCache=true",
+                FcrepoEndpoint.class);
+        endpoint.getResponseCacheStore().put(asList(RESOURCE), RESOURCE, 200, "text/turtle", "\"1\"", null,
+                "12345".getBytes(UTF_8));
+
+        final EventProcessor processor = new EventProcessor();
+        processor.setFilter(new EventFilter().eventType("Delete"));
+        final Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(new ByteArrayInputStream(event.getBytes(UTF_8)));
+        processor.process(exchange);
+
+        assertTrue(exchange.isRouteStop());
+        assertNull(exchange.getIn().getHeader(FCREPO_URI));
+        // the event is not wanted, but its resource has changed all the same
+        assertNull(endpoint.getResponseCacheStore().get(asList(RESOURCE)));
+    }
+
+    @Test
+    public void testRejectedBeforeTheRestIsRead() throws Exception {
+        final EventProcessor processor = new EventProcessor();
+        processor.setFilter(new EventFilter().eventType("Create"));
+        // the message is malformed after the object, which is read to identify the changed resource
+        final Exchange exchange = newExchange("{\"type\": \"Update\", \"object\": {\"id\": \"" + RESOURCE + "\"}, !!");
+        processor.process(exchange);
+        assertTrue(exchange.isRouteStop());
+    }
+
+    @Test
+    public void testOtherBodies() throws Exception {
+        final EventFilter filter = new EventFilter().eventType("Update").uriPrefix("http://localhost:8080/");
+
+        final Map<String, Object> object = new HashMap<>();
+        object.put("id", RESOURCE);
+        final Map<String, Object> map = new HashMap<>();
+        map.put("type", asList("Update"));
+        map.put("object", object);
+        assertTrue(filter.matches(newExchange(map)));
+        object.put("id", "http://example.org/resource");
+        assertFalse(filter.matches(newExchange(map)));
+
+        // a stream is kept readable
+        final Exchange stream = newExchange(new ByteArrayInputStream(event.getBytes(UTF_8)));
+        assertFalse(filter.matches(stream));
+        assertEquals(event, stream.getIn().getBody(String.class));
+
+        // the headers set by the EventProcessor
+        final Exchange headers = newExchange(event);
+        new EventProcessor().process(headers);
+        headers.getIn().setBody(null);
+        assertTrue(new EventFilter().eventType("Create").matches(headers));
+        assertFalse(filter.matches(headers));
+
+        // the event decoded by a lazy EventProcessor
+        final EventProcessor lazy = new EventProcessor();
+        lazy.setLazy(true);
+        final Exchange decoded = newExchange(event);
+        lazy.process(decoded);
+        assertTrue(new EventFilter().agent(AGENT).matches(decoded));
+        assertFalse(filter.matches(decoded));
+    }
+}
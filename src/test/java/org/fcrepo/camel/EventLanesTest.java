@@ -0,0 +1,210 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_URI;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.engine.DefaultUnitOfWork;
+import org.apache.camel.support.DefaultExchange;
+import org.fcrepo.camel.processor.EventLanes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ * @since October 17, 2026
+ */
+public class EventLanesTest {
+
+    private static final String BASE = "http://localhost:8080/fcrepo/rest/";
+
+    private CamelContext context;
+
+    private EventLanes lanes;
+
+    @BeforeEach
+    public void setUp() {
+        context = new DefaultCamelContext();
+        context.start();
+        lanes = new EventLanes();
+        lanes.setLanes(4);
+        lanes.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        lanes.stop();
+        context.stop();
+    }
+
+    private boolean submit(final String uri, final Runnable task) {
+        final Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setHeader(FCREPO_URI, uri);
+        return lanes.process(exchange, doneSync -> task.run());
+    }
+
+    @Test
+    public void testOrderedPerResource() throws Exception {
+        final Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        final CountDownLatch done = new CountDownLatch(16 * 50);
+        for (int i = 0; i < 50; i++) {
+            for (int r = 0; r < 16; r++) {
+                final String uri = BASE + "resource-" + r;
+                final int sequence = i;
+                assertFalse(submit(uri, () -> {
+                    threads.add(Thread.currentThread().getName());
+                    seen.computeIfAbsent(uri, k -> new ArrayList<>()).add(sequence);
+                    done.countDown();
+                }));
+            }
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        assertEquals(16, seen.size());
+        for (final List<Integer> sequences : seen.values()) {
+            assertEquals(50, sequences.size());
+            for (int i = 0; i < 50; i++) {
+                assertEquals(i, sequences.get(i));
+            }
+        }
+        assertTrue(threads.size() > 1);
+        assertTrue(threads.size() <= 4);
+    }
+
+    @Test
+    public void testQueueDepthAndLag() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final Runnable blocked = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        final long before = System.nanoTime();
+        submit(BASE + "a", blocked);
+        submit(BASE + "a", () -> { });
+        submit(BASE + "a", () -> { });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        assertEquals(3, lanes.getQueueDepth());
+        assertTrue(lanes.getLag() <= TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - before));
+        assertEquals(4, lanes.describeLanes().split("\n").length);
+        assertTrue(lanes.describeLanes().contains("depth=3"));
+
+        // a later event on the same lane runs once the earlier ones have been released
+        final CountDownLatch probed = new CountDownLatch(1);
+        final int[] depth = new int[1];
+        final String[] description = new String[1];
+        submit(BASE + "a", () -> {
+            depth[0] = lanes.getQueueDepth();
+            description[0] = lanes.describeLanes();
+            probed.countDown();
+        });
+        release.countDown();
+        assertTrue(probed.await(10, TimeUnit.SECONDS));
+        assertEquals(1, depth[0]);
+        assertTrue(description[0].contains("processed=3"));
+    }
+
+    @Test
+    public void testLaneBounds() {
+        assertEquals(0, lanes.getQueueDepth(3));
+        assertThrows(IllegalArgumentException.class, () -> lanes.getQueueDepth(4));
+        assertThrows(IllegalArgumentException.class, () -> lanes.getLag(-1));
+    }
+
+    @Test
+    public void testOrderedInRoute() throws Exception {
+        final Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        final EventLanes routeLanes = new EventLanes();
+        routeLanes.setLanes(4);
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                // the delay continues on another thread, so the lane is only free once the exchange completes
+                from("seda:events")
+                    .process(routeLanes)
+                    .delay(header("delay")).asyncDelayed()
+                    .process(exchange -> seen.computeIfAbsent(exchange.getIn().getHeader(FCREPO_URI, String.class),
+                                k -> new ArrayList<>()).add(exchange.getIn().getHeader("sequence", Integer.class)))
+                    .to("mock:result");
+            }
+        });
+        final MockEndpoint result = context.getEndpoint("mock:result", MockEndpoint.class);
+        result.expectedMessageCount(8 * 10);
+        result.setResultWaitTime(10000);
+
+        final ProducerTemplate template = context.createProducerTemplate();
+        for (int i = 0; i < 10; i++) {
+            for (int r = 0; r < 8; r++) {
+                // earlier events are delayed longer, so that a later one would overtake them on a free lane
+                template.sendBodyAndHeaders("seda:events", null, Map.of(FCREPO_URI, BASE + "resource-" + r,
+                            "sequence", i, "delay", 10 - i));
+            }
+        }
+        result.assertIsSatisfied();
+
+        assertEquals(8, seen.size());
+        for (final List<Integer> sequences : seen.values()) {
+            assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), sequences);
+        }
+    }
+
+    @Test
+    public void testStalledExchangeReleasesLane() throws Exception {
+        lanes.setLaneTimeout(100);
+
+        // an asynchronous step that never completes the exchange
+        final Exchange stalled = new DefaultExchange(context);
+        stalled.getIn().setHeader(FCREPO_URI, BASE + "a");
+        stalled.getExchangeExtension().setUnitOfWork(new DefaultUnitOfWork(stalled));
+        assertFalse(lanes.process(stalled, doneSync -> { }));
+
+        final CountDownLatch next = new CountDownLatch(1);
+        submit(BASE + "a", next::countDown);
+        assertTrue(next.await(10, TimeUnit.SECONDS));
+        assertEquals(1L, lanes.getTimedOutExchanges());
+    }
+
+    @Test
+    public void testPartitionByParent() throws Exception {
+        lanes.setPartitionByParent(true);
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        final CountDownLatch done = new CountDownLatch(32);
+        for (int r = 0; r < 32; r++) {
+            submit(BASE + "parent/child-" + r, () -> {
+                threads.add(Thread.currentThread().getName());
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        // all the children of a container share a lane
+        assertEquals(1, threads.size());
+    }
+}
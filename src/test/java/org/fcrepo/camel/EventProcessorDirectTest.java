@@ -5,6 +5,7 @@
  */
 package org.fcrepo.camel;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
 import static org.fcrepo.camel.FcrepoHeaders.FCREPO_AGENT;
 import static org.fcrepo.camel.FcrepoHeaders.FCREPO_DATE_TIME;
@@ -13,8 +14,11 @@ import static org.fcrepo.camel.FcrepoHeaders.FCREPO_EVENT_TYPE;
 import static org.fcrepo.camel.FcrepoHeaders.FCREPO_RESOURCE_TYPE;
 import static org.fcrepo.camel.FcrepoHeaders.FCREPO_URI;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +27,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.support.DefaultExchange;
 import org.fcrepo.camel.processor.EventProcessor;
+import org.fcrepo.camel.processor.FcrepoEvent;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -209,4 +214,69 @@ public class EventProcessorDirectTest {
         assertEquals("http://localhost:8080/rest/notype", exchange.getIn().getHeader(FCREPO_URI));
         assertNull(exchange.getIn().getHeader(FCREPO_RESOURCE_TYPE));
     }
+
+    @Test
+    public void testJsonSkipsUnknownMembers() throws Exception {
+        final String json = "{" +
+                "\"@context\": [\"https://www.w3.org/ns/activitystreams\", {\"id\": \"@id\", \"nested\": [[{}]]}]," +
+                "\"object\": {\"id\": \"http://localhost:8080/rest/replaced\"}," +
+                "\"extra\": {\"id\": \"urn:uuid:not-the-event\", \"actor\": {\"id\": \"nobody\"}}," +
+                "\"id\": \"urn:uuid:event-6\"," +
+                "\"object\": {\"id\": \"http://localhost:8080/rest/last\", \"extra\": [1, {\"id\": \"x\"}]}," +
+                "\"actor\": [{\"id\": \"info:fedora/local-user#lastAdmin\", \"roles\": [\"a\", \"b\"]}]" +
+                "}";
+
+        final Exchange exchange = newExchange(new ByteArrayInputStream(json.getBytes(UTF_8)));
+        processor.process(exchange);
+
+        assertEquals("urn:uuid:event-6", exchange.getIn().getHeader(FCREPO_EVENT_ID));
+        // as with a parsed tree, the last occurrence of a member wins
+        assertEquals("http://localhost:8080/rest/last", exchange.getIn().getHeader(FCREPO_URI));
+        assertEquals(asList("info:fedora/local-user#lastAdmin"), exchange.getIn().getHeader(FCREPO_AGENT));
+        assertNull(exchange.getIn().getHeader(FCREPO_EVENT_TYPE));
+    }
+
+    @Test
+    public void testLazyHeaders() throws Exception {
+        final String json = "{" +
+                "\"id\": \"urn:uuid:event-7\"," +
+                "\"type\": [\"Delete\"]," +
+                "\"published\": \"2022-03-04T00:00:00Z\"," +
+                "\"actor\": [{\"id\": \"info:fedora/local-user#lazyAdmin\"}]," +
+                "\"object\": {\"id\": \"http://localhost:8080/rest/lazy\"," +
+                    "\"type\": [\"http://www.w3.org/ns/ldp#RDFSource\"]}" +
+                "}";
+        final EventProcessor lazy = new EventProcessor();
+        lazy.setLazy(true);
+
+        final Exchange exchange = newExchange(json);
+        exchange.getIn().setHeader("Other", "value");
+        lazy.process(exchange);
+
+        final FcrepoEvent event = exchange.getProperty(EventProcessor.FCREPO_EVENT, FcrepoEvent.class);
+        assertEquals("urn:uuid:event-7", event.getId());
+        assertTrue(event.isDelete());
+        assertEquals(json, exchange.getIn().getBody());
+        assertEquals("value", exchange.getIn().getHeader("Other"));
+
+        // headers are read by any case, and set on demand
+        assertEquals(asList("https://www.w3.org/ns/activitystreams#Delete"),
+                exchange.getIn().getHeader("camelfcrepoeventtype"));
+        assertEquals("http://localhost:8080/rest/lazy", exchange.getIn().getHeader(FCREPO_URI, String.class));
+        exchange.getIn().setHeader(FCREPO_DATE_TIME, "overridden");
+        assertEquals("overridden", exchange.getIn().getHeader(FCREPO_DATE_TIME));
+        assertNull(exchange.getIn().removeHeader(FCREPO_RESOURCE_TYPE));
+        assertNull(exchange.getIn().getHeader(FCREPO_RESOURCE_TYPE));
+
+        // a copy carries the headers that have not been read yet
+        final Exchange copy = exchange.copy();
+        assertEquals(asList("info:fedora/local-user#lazyAdmin"), copy.getIn().getHeader(FCREPO_AGENT));
+        assertEquals("urn:uuid:event-7", copy.getIn().getHeader(FCREPO_EVENT_ID));
+
+        final Map<String, Object> headers = exchange.getIn().getHeaders();
+        assertEquals("urn:uuid:event-7", headers.get(FCREPO_EVENT_ID));
+        assertEquals(asList("info:fedora/local-user#lazyAdmin"), headers.get(FCREPO_AGENT));
+        assertFalse(headers.containsKey(FCREPO_RESOURCE_TYPE));
+        assertEquals(6, headers.size());
+    }
 }
@@ -7,12 +7,19 @@ package org.fcrepo.camel;
 
 import static java.util.Collections.emptyMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.net.URI;
 import java.util.Map;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.fcrepo.client.FcrepoClient;
+import org.fcrepo.client.FcrepoOperationFailedException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -101,4 +108,47 @@ public class FcrepoComponentTest {
         assertEquals(TEST_ENDPOINT_URI, testEndpoint.getEndpointUri());
     }
 
+    @Test
+    public void testSharedClients() {
+        final FcrepoComponent testComponent = new FcrepoComponent();
+        testComponent.setMaxTotalConnections(50);
+        testComponent.setMaxConnectionsPerRoute(10);
+
+        final FcrepoEndpoint endpoint1 = (FcrepoEndpoint) testComponent.createEndpoint(TEST_ENDPOINT_URI, "",
+                EMPTY_MAP);
+        final FcrepoEndpoint endpoint2 = (FcrepoEndpoint) testComponent.createEndpoint(TEST_ENDPOINT_URI + "/bar",
+                "", EMPTY_MAP);
+
+        final FcrepoClient client = endpoint1.createClient();
+        assertSame(client, endpoint2.createClient());
+        assertSame(client, testComponent.getClient(endpoint1.getConfiguration(), true));
+        assertNotSame(client, testComponent.getClient(endpoint1.getConfiguration(), false));
+
+        endpoint2.setAuthUsername("foo");
+        endpoint2.setAuthPassword("bar");
+        assertNotSame(client, endpoint2.createClient());
+        assertEquals(Integer.valueOf(50), endpoint2.getMaxTotalConnections());
+        assertEquals(Integer.valueOf(10), endpoint2.getMaxConnectionsPerRoute());
+    }
+
+    @Test
+    public void testClientsOutliveRestart() throws Exception {
+        final FcrepoComponent testComponent = new FcrepoComponent(new DefaultCamelContext());
+        testComponent.setConnectionRequestTimeout(1000L);
+        testComponent.start();
+        final FcrepoEndpoint endpoint = (FcrepoEndpoint) testComponent.createEndpoint(TEST_ENDPOINT_URI, "",
+                EMPTY_MAP);
+        final FcrepoClient client = endpoint.createClient();
+
+        testComponent.stop();
+        testComponent.start();
+        try {
+            // a client on a closed pool fails with an IllegalStateException rather than a failed request
+            final FcrepoOperationFailedException ex = assertThrows(FcrepoOperationFailedException.class,
+                    () -> client.head(URI.create("http://localhost:1/rest")).perform());
+            assertEquals(-1, ex.getStatusCode());
+        } finally {
+            testComponent.stop();
+        }
+    }
 }
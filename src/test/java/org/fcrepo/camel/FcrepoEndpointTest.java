@@ -5,15 +5,19 @@
  */
 package org.fcrepo.camel;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import org.apache.camel.CamelContext;
 import org.apache.camel.Processor;
 import org.apache.camel.Producer;
 import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.impl.DefaultCamelContext;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -231,4 +235,20 @@ public class FcrepoEndpointTest {
         assertTrue(testEndpoint.isSingleton());
     }
 
+    @Test
+    public void testInvalidateAll() {
+        final String resource = "http://localhost:8080/rest/foo";
+        final CamelContext context = new DefaultCamelContext();
+        final FcrepoComponent component = new FcrepoComponent(context);
+        final FcrepoEndpoint cached = new FcrepoEndpoint(FCREPO_URI, FCREPO_PATH, component, testConfig.clone());
+        final FcrepoEndpoint uncached = new FcrepoEndpoint(FCREPO_URI, FCREPO_PATH, component, testConfig.clone());
+        cached.setResponseCache(true);
+        cached.getResponseCacheStore().put(asList(resource), resource, 200, "text/turtle", "\"1\"", null,
+                "12345".getBytes(UTF_8));
+
+        FcrepoEndpoint.invalidateAll(context, resource, false);
+        assertNull(cached.getResponseCacheStore().get(asList(resource)));
+        // an endpoint that never created a cache is not visited
+        assertNull(uncached.getResponseCacheStore());
+    }
 }
@@ -6,6 +6,8 @@
 package org.fcrepo.camel;
 
 import static java.net.URI.create;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
@@ -15,34 +17,64 @@ import static org.apache.camel.Exchange.DISABLE_HTTP_STREAM_CACHE;
 import static org.apache.camel.Exchange.HTTP_METHOD;
 import static org.apache.camel.Exchange.HTTP_RESPONSE_CODE;
 import static org.fcrepo.camel.FcrepoHeaders.FCREPO_BASE_URL;
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_DIGEST;
 import static org.fcrepo.camel.FcrepoHeaders.FCREPO_IDENTIFIER;
 import static org.fcrepo.camel.FcrepoHeaders.FCREPO_PREFER;
 import static org.fcrepo.camel.FcrepoProducer.PREFER_PROPERTIES;
 import static org.fcrepo.camel.TestUtils.N_TRIPLES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
 import org.apache.camel.converter.stream.InputStreamCache;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.impl.engine.DefaultUnitOfWork;
 import org.apache.camel.support.DefaultExchange;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.fcrepo.client.DeleteBuilder;
 import org.fcrepo.client.FcrepoClient;
 import org.fcrepo.client.FcrepoOperationFailedException;
@@ -56,10 +88,14 @@ import org.fcrepo.client.PutBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
 
 /**
  * @author acoburn
@@ -595,6 +631,112 @@ public class FcrepoProducerTest {
         assertEquals(TestUtils.TEXT_PLAIN, testExchange.getIn().getHeader(CONTENT_TYPE));
     }
 
+    @Test
+    public void testPutFileProducer(@TempDir final Path dir) throws Exception {
+        final URI uri = create(TestUtils.baseUrl);
+        final Path file = dir.resolve("binary.txt");
+        Files.write(file, "Test".getBytes(UTF_8));
+
+        init();
+
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+        testExchange.getIn().setHeader(HTTP_METHOD, HttpMethods.PUT);
+        testExchange.getIn().setHeader(CONTENT_TYPE, TestUtils.TEXT_PLAIN);
+        testExchange.getIn().setBody(file);
+
+        final ArgumentCaptor<HttpRequestBase> request = ArgumentCaptor.forClass(HttpRequestBase.class);
+        when(mockClient.executeRequest(eq(uri), request.capture())).thenReturn(new FcrepoResponse(uri, 201,
+                singletonMap(CONTENT_TYPE, singletonList(TestUtils.TEXT_PLAIN)),
+                new ByteArrayInputStream(TestUtils.baseUrl.getBytes())));
+
+        testProducer.process(testExchange);
+
+        assertTrue(request.getValue() instanceof HttpPut);
+        final HttpEntity entity = ((HttpPut) request.getValue()).getEntity();
+        assertEquals(4L, entity.getContentLength());
+        assertEquals(TestUtils.TEXT_PLAIN, entity.getContentType().getValue());
+        verify(mockClient, times(0)).put(any(URI.class));
+        assertEquals(TestUtils.baseUrl, testExchange.getIn().getBody(String.class));
+        assertEquals(201, testExchange.getIn().getHeader(HTTP_RESPONSE_CODE));
+    }
+
+    @Test
+    public void testPutFileDigestProducer(@TempDir final Path dir) throws Exception {
+        final URI uri = create(TestUtils.baseUrl);
+        final Path file = dir.resolve("binary.txt");
+        final String digest = "sha-256=532eaabd9574880dbf76b9b8cc00832c20a6ec113d682299550d7a6e0f345e25";
+        Files.write(file, "Test".getBytes(UTF_8));
+
+        testEndpoint.setDigestAlgorithm("SHA-256");
+        init();
+
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+        testExchange.getIn().setHeader(HTTP_METHOD, HttpMethods.PUT);
+        testExchange.getIn().setHeader(CONTENT_TYPE, TestUtils.TEXT_PLAIN);
+        testExchange.getIn().setBody(file);
+
+        final ArgumentCaptor<HttpRequestBase> request = ArgumentCaptor.forClass(HttpRequestBase.class);
+        when(mockClient.executeRequest(eq(uri), request.capture())).thenReturn(new FcrepoResponse(uri, 201,
+                emptyMap(), new ByteArrayInputStream(TestUtils.baseUrl.getBytes())));
+
+        testProducer.process(testExchange);
+
+        assertEquals(digest, request.getValue().getFirstHeader("Digest").getValue());
+        assertEquals(digest, testExchange.getIn().getHeader(FCREPO_DIGEST));
+        assertEquals(201, testExchange.getIn().getHeader(HTTP_RESPONSE_CODE));
+    }
+
+    @Test
+    public void testPutStreamCacheDigestProducer() throws Exception {
+        final URI uri = create(TestUtils.baseUrl);
+        final String digest = "sha-256=532eaabd9574880dbf76b9b8cc00832c20a6ec113d682299550d7a6e0f345e25";
+
+        testEndpoint.setDigestAlgorithm("SHA-256");
+        init();
+
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+        testExchange.getIn().setHeader(HTTP_METHOD, HttpMethods.PUT);
+        testExchange.getIn().setHeader(CONTENT_TYPE, TestUtils.TEXT_PLAIN);
+        testExchange.getIn().setBody(new InputStreamCache("Test".getBytes(UTF_8)));
+
+        final ArgumentCaptor<HttpRequestBase> request = ArgumentCaptor.forClass(HttpRequestBase.class);
+        when(mockClient.executeRequest(eq(uri), request.capture())).thenAnswer(inv -> {
+            // the stream was reset after it was hashed
+            final HttpEntity entity = ((HttpPut) inv.getArgument(1)).getEntity();
+            assertEquals("Test", IOUtils.toString(entity.getContent(), UTF_8));
+            return new FcrepoResponse(uri, 201, emptyMap(), new ByteArrayInputStream(TestUtils.baseUrl.getBytes()));
+        });
+
+        testProducer.process(testExchange);
+
+        assertEquals(digest, request.getValue().getFirstHeader("Digest").getValue());
+        assertEquals(digest, testExchange.getIn().getHeader(FCREPO_DIGEST));
+        verify(mockClient, times(0)).put(any(URI.class));
+    }
+
+    @Test
+    public void testPutFileDigestRejected(@TempDir final Path dir) throws Exception {
+        final URI uri = create(TestUtils.baseUrl);
+        final Path file = dir.resolve("binary.txt");
+        Files.write(file, "Test".getBytes(UTF_8));
+
+        testEndpoint.setDigestAlgorithm("SHA-256");
+        init();
+
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+        testExchange.getIn().setHeader(HTTP_METHOD, HttpMethods.PUT);
+        testExchange.getIn().setBody(file);
+
+        when(mockClient.executeRequest(eq(uri), any(HttpRequestBase.class))).thenReturn(new FcrepoResponse(uri,
+                409, emptyMap(), new ByteArrayInputStream(new byte[0])));
+
+        testProducer.process(testExchange);
+
+        // the repository did not store the content, so there is no digest to report
+        assertNull(testExchange.getIn().getHeader(FCREPO_DIGEST));
+        assertEquals(409, testExchange.getIn().getHeader(HTTP_RESPONSE_CODE));
+    }
+
     @Test
     public void testPreferProperties() throws Exception {
         testProducer = new FcrepoProducer(testEndpoint);
@@ -859,4 +1001,515 @@ public class FcrepoProducerTest {
         assertEquals(testExchange.getIn().getHeader(CONTENT_TYPE, String.class), TestUtils.RDF_XML);
         assertEquals(testExchange.getIn().getHeader(HTTP_RESPONSE_CODE), status);
     }
+
+    @Test
+    public void testAsyncGetProducer() throws Exception {
+        final URI uri = create(TestUtils.baseUrl);
+        final int status = 200;
+        final ByteArrayInputStream body = new ByteArrayInputStream(TestUtils.rdfXml.getBytes());
+        final FcrepoResponse headResponse = new FcrepoResponse(uri, 200, emptyMap(), null);
+        final FcrepoResponse getResponse = new FcrepoResponse(uri, status,
+                singletonMap(CONTENT_TYPE, singletonList(TestUtils.RDF_XML)), body);
+        final CountDownLatch done = new CountDownLatch(1);
+
+        testEndpoint.setCamelContext(testExchange.getContext());
+        testEndpoint.setAsync(true);
+        init();
+        testProducer.start();
+
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+
+        when(mockHeadBuilder.perform()).thenReturn(headResponse);
+        when(mockGetBuilder.perform()).thenReturn(getResponse);
+
+        try {
+            assertFalse(testProducer.process(testExchange, doneSync -> done.countDown()));
+            assertTrue(done.await(5, SECONDS));
+        } finally {
+            testProducer.stop();
+        }
+
+        assertEquals(testExchange.getIn().getBody(String.class), TestUtils.rdfXml);
+        assertEquals(testExchange.getIn().getHeader(CONTENT_TYPE, String.class), TestUtils.RDF_XML);
+        assertEquals(testExchange.getIn().getHeader(HTTP_RESPONSE_CODE), status);
+    }
+
+    @Test
+    public void testVirtualThreadGetProducer() throws Exception {
+        final URI uri = create(TestUtils.baseUrl);
+        final FcrepoResponse headResponse = new FcrepoResponse(uri, 200, emptyMap(), null);
+        final FcrepoResponse getResponse = new FcrepoResponse(uri, 200,
+                singletonMap(CONTENT_TYPE, singletonList(TestUtils.RDF_XML)),
+                new ByteArrayInputStream(TestUtils.rdfXml.getBytes()));
+        final CountDownLatch done = new CountDownLatch(1);
+
+        testEndpoint.setCamelContext(testExchange.getContext());
+        testEndpoint.setVirtualThreads(true);
+        init();
+        testProducer.start();
+
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+
+        when(mockHeadBuilder.perform()).thenReturn(headResponse);
+        when(mockGetBuilder.perform()).thenReturn(getResponse);
+
+        try {
+            // on JVMs without virtual threads the exchange is processed synchronously
+            testProducer.process(testExchange, doneSync -> done.countDown());
+            assertTrue(done.await(5, SECONDS));
+        } finally {
+            testProducer.stop();
+        }
+
+        assertEquals(TestUtils.rdfXml, testExchange.getIn().getBody(String.class));
+        assertEquals(200, testExchange.getIn().getHeader(HTTP_RESPONSE_CODE));
+    }
+
+    @Test
+    public void testVirtualThreadTransactedWithOtherManager() throws Exception {
+        final PlatformTransactionManager txMgr = mock(PlatformTransactionManager.class);
+        final DefaultUnitOfWork uow = new DefaultUnitOfWork(testExchange);
+        final Thread caller = Thread.currentThread();
+        final Thread[] transactionThread = new Thread[1];
+
+        testEndpoint.setCamelContext(testExchange.getContext());
+        testEndpoint.setTransactionManager(txMgr);
+        testEndpoint.setVirtualThreads(true);
+        init();
+        testProducer.start();
+
+        uow.beginTransactedBy((Object) "tx:12345");
+        testExchange.getExchangeExtension().setUnitOfWork(uow);
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+
+        when(txMgr.getTransaction(any())).thenAnswer(inv -> {
+            transactionThread[0] = Thread.currentThread();
+            return mock(TransactionStatus.class);
+        });
+
+        try {
+            // the transaction of another manager is bound to the calling thread, so it is not handed off
+            assertTrue(testProducer.process(testExchange, doneSync -> { }));
+        } finally {
+            testProducer.stop();
+        }
+        assertEquals(caller, transactionThread[0]);
+    }
+
+    @Test
+    public void testAsyncProducerWithError() throws Exception {
+        final URI uri = create(TestUtils.baseUrl);
+        final CountDownLatch done = new CountDownLatch(1);
+
+        testEndpoint.setCamelContext(testExchange.getContext());
+        testEndpoint.setAsync(true);
+        init();
+        testProducer.start();
+
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+        testExchange.getIn().setHeader(HTTP_METHOD, "DELETE");
+
+        when(mockDeleteBuilder.perform()).thenThrow(new FcrepoOperationFailedException(uri, 404, "Not Found"));
+
+        try {
+            assertFalse(testProducer.process(testExchange, doneSync -> done.countDown()));
+            assertTrue(done.await(5, SECONDS));
+        } finally {
+            testProducer.stop();
+        }
+
+        assertTrue(testExchange.getException() instanceof FcrepoOperationFailedException);
+    }
+
+    @Test
+    public void testBulkGetProducer() throws Exception {
+        final URI foo = create(TestUtils.baseUrl);
+        final URI bar = create("http://localhost:8080/rest/bar");
+        final FcrepoResponse fooResponse = new FcrepoResponse(foo, 200,
+                singletonMap(CONTENT_TYPE, singletonList(TestUtils.RDF_XML)),
+                new ByteArrayInputStream(TestUtils.rdfXml.getBytes()));
+        final FcrepoResponse barResponse = new FcrepoResponse(bar, 200,
+                singletonMap(CONTENT_TYPE, singletonList(TestUtils.TEXT_PLAIN)),
+                new ByteArrayInputStream("Test".getBytes()));
+
+        testEndpoint.setCamelContext(testExchange.getContext());
+        testEndpoint.setMetadata(false);
+        testEndpoint.setBulkConcurrency(2);
+        init();
+        testProducer.start();
+
+        testExchange.getIn().setBody(asList("/foo", bar));
+
+        when(mockClient.get(eq(foo))).thenReturn(mockGetBuilder2);
+        when(mockClient.get(eq(bar))).thenReturn(mockGetBuilder3);
+        when(mockGetBuilder2.perform()).thenReturn(fooResponse);
+        when(mockGetBuilder3.perform()).thenReturn(barResponse);
+
+        try {
+            testProducer.process(testExchange);
+        } finally {
+            testProducer.stop();
+        }
+
+        @SuppressWarnings("unchecked")
+        final List<FcrepoItemResponse> responses = testExchange.getIn().getBody(List.class);
+        assertEquals(2, responses.size());
+        assertEquals("/foo", responses.get(0).getItem());
+        assertEquals(foo, responses.get(0).getUri());
+        assertEquals(TestUtils.RDF_XML, responses.get(0).getContentType());
+        assertEquals(TestUtils.rdfXml, responses.get(0).getBodyAsString());
+        assertEquals(bar, responses.get(1).getUri());
+        assertEquals(200, responses.get(1).getStatusCode());
+        assertEquals("Test", responses.get(1).getBodyAsString());
+        assertEquals(200, testExchange.getIn().getHeader(HTTP_RESPONSE_CODE));
+    }
+
+    @Test
+    public void testBulkGetItemFailure() throws Exception {
+        final URI metadata = create(TestUtils.baseUrl + "/fcr:metadata");
+        final URI bar = create("http://localhost:8080/rest/bar");
+        final FcrepoResponse metadataResponse = new FcrepoResponse(metadata, 200,
+                singletonMap(CONTENT_TYPE, singletonList(TestUtils.RDF_XML)),
+                new ByteArrayInputStream(TestUtils.rdfXml.getBytes()));
+
+        testEndpoint.setCamelContext(testExchange.getContext());
+        testEndpoint.setBulkConcurrency(2);
+        init();
+        testProducer.start();
+
+        testExchange.getIn().setBody(asList("/foo/fcr:metadata", bar));
+
+        when(mockClient.get(eq(metadata))).thenReturn(mockGetBuilder2);
+        when(mockGetBuilder2.perform()).thenReturn(metadataResponse);
+        when(mockHeadBuilder.perform()).thenThrow(new FcrepoOperationFailedException(bar, 404, "Not Found"));
+
+        try {
+            testProducer.process(testExchange);
+        } finally {
+            testProducer.stop();
+        }
+
+        @SuppressWarnings("unchecked")
+        final List<FcrepoItemResponse> responses = testExchange.getIn().getBody(List.class);
+        assertEquals(2, responses.size());
+        assertFalse(responses.get(0).isFailed());
+        assertEquals(TestUtils.rdfXml, responses.get(0).getBodyAsString());
+        assertTrue(responses.get(1).isFailed());
+        assertEquals(bar, responses.get(1).getUri());
+        assertEquals(404, responses.get(1).getStatusCode());
+        assertNull(responses.get(1).getBody());
+        // only the item that does not already name a description is resolved with a HEAD request
+        verify(mockClient).head(eq(bar));
+        verify(mockClient, never()).head(eq(metadata));
+    }
+
+    @Test
+    public void testDescriptionCache() throws Exception {
+        final URI uri = create(TestUtils.baseUrl);
+        final URI metadata = create(TestUtils.baseUrl + "/fcr:metadata");
+        final FcrepoResponse headResponse = new FcrepoResponse(uri, 200,
+                singletonMap("Link", singletonList("<" + metadata + ">; rel=\"describedby\"")), null);
+
+        testEndpoint.setDescriptionCacheSize(10);
+        init();
+
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+
+        when(mockHeadBuilder.perform()).thenReturn(headResponse);
+        when(mockGetBuilder.perform()).thenAnswer(inv -> new FcrepoResponse(metadata, 200,
+                singletonMap(CONTENT_TYPE, singletonList(TestUtils.RDF_XML)),
+                new ByteArrayInputStream(TestUtils.rdfXml.getBytes())));
+
+        testProducer.process(testExchange);
+        testProducer.process(testExchange);
+
+        verify(mockHeadBuilder, times(1)).perform();
+        verify(mockClient, times(2)).get(eq(metadata));
+        assertEquals(1L, testEndpoint.getDescriptionCacheHits());
+        assertEquals(1L, testEndpoint.getDescriptionCacheMisses());
+        assertEquals(1, testEndpoint.getDescriptionCacheEntries());
+
+        testExchange.getIn().setHeader(HTTP_METHOD, "DELETE");
+        when(mockDeleteBuilder.perform()).thenReturn(new FcrepoResponse(uri, 204, emptyMap(), null));
+        testProducer.process(testExchange);
+
+        assertEquals(0, testEndpoint.getDescriptionCacheEntries());
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        final URI uri = create(TestUtils.baseUrl);
+        final FcrepoResponse headResponse = new FcrepoResponse(uri, 200, emptyMap(), null);
+        final FcrepoResponse getResponse = new FcrepoResponse(uri, 200,
+                singletonMap(CONTENT_TYPE, singletonList(TestUtils.RDF_XML)),
+                new ByteArrayInputStream(TestUtils.rdfXml.getBytes()));
+
+        testEndpoint.setMetrics(true);
+        init();
+
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+
+        when(mockHeadBuilder.perform()).thenReturn(headResponse);
+        when(mockGetBuilder.perform()).thenReturn(getResponse);
+        when(mockDeleteBuilder.perform()).thenThrow(new FcrepoOperationFailedException(uri, 404, "Not Found"));
+
+        testProducer.process(testExchange);
+        testExchange.getIn().setHeader(HTTP_METHOD, "DELETE");
+        assertThrows(FcrepoOperationFailedException.class, () -> testProducer.process(testExchange));
+
+        assertEquals(2L, testEndpoint.getMetricsRequests());
+        assertEquals(1L, testEndpoint.getMetricsErrors());
+        assertEquals(TestUtils.rdfXml.getBytes().length, testEndpoint.getMetricsBytesIn());
+        assertEquals(0L, testEndpoint.getMetricsBytesOut());
+        final String description = testEndpoint.describeMetrics();
+        assertTrue(description.contains("GET 2xx: count=1"));
+        assertTrue(description.contains("DELETE 4xx: count=1"));
+        assertTrue(description.contains("metadata: count=1"));
+        assertTrue(description.contains("extract: count=1"));
+
+        testEndpoint.resetMetrics();
+        assertEquals(0L, testEndpoint.getMetricsRequests());
+    }
+
+    @Test
+    public void testFlightRecorderEvents(@TempDir final Path dir) throws Exception {
+        final URI uri = create(TestUtils.baseUrl);
+        final FcrepoResponse headResponse = new FcrepoResponse(uri, 200, emptyMap(), null);
+        final FcrepoResponse getResponse = new FcrepoResponse(uri, 200,
+                singletonMap(CONTENT_TYPE, singletonList(TestUtils.RDF_XML)),
+                new ByteArrayInputStream(TestUtils.rdfXml.getBytes()));
+
+        init();
+
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+
+        when(mockHeadBuilder.perform()).thenReturn(headResponse);
+        when(mockGetBuilder.perform()).thenReturn(getResponse);
+
+        final Path output = dir.resolve("recording.jfr");
+        try (final Recording recording = new Recording()) {
+            recording.enable("org.fcrepo.camel.Request").withThreshold(Duration.ZERO);
+            recording.start();
+            testProducer.process(testExchange);
+            recording.stop();
+            recording.dump(output);
+        }
+
+        final Map<String, RecordedEvent> events = new HashMap<>();
+        for (final RecordedEvent event : RecordingFile.readAllEvents(output)) {
+            events.put(event.getString("operation"), event);
+        }
+        assertEquals(TestUtils.baseUrl, events.get("metadata").getString("url"));
+        assertEquals("HEAD", events.get("metadata").getString("method"));
+        assertEquals(200, events.get("metadata").getInt("status"));
+        assertEquals(TestUtils.baseUrl, events.get("request").getString("url"));
+        assertEquals("GET", events.get("request").getString("method"));
+        assertEquals(200, events.get("request").getInt("status"));
+        assertEquals(TestUtils.rdfXml.getBytes().length, events.get("extract").getLong("bytes"));
+    }
+
+    @Test
+    public void testResponseCacheRevalidation() throws Exception {
+        final URI uri = create(TestUtils.baseUrl);
+        final Map<String, List<String>> headers = new HashMap<>();
+        headers.put(CONTENT_TYPE, singletonList(TestUtils.RDF_XML));
+        headers.put("ETag", singletonList("\"abc\""));
+
+        testEndpoint.setMetadata(false);
+        testEndpoint.setMetrics(true);
+        testEndpoint.setResponseCache(true);
+        init();
+
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+
+        when(mockGetBuilder.ifNoneMatch(any(String.class))).thenReturn(mockGetBuilder2);
+        when(mockGetBuilder.perform()).thenReturn(new FcrepoResponse(uri, 200, headers,
+                new ByteArrayInputStream(TestUtils.rdfXml.getBytes())));
+        when(mockGetBuilder2.perform()).thenReturn(new FcrepoResponse(uri, 304, emptyMap(), null));
+
+        testProducer.process(testExchange);
+        assertEquals(TestUtils.rdfXml, testExchange.getIn().getBody(String.class));
+
+        testProducer.process(testExchange);
+        verify(mockGetBuilder).ifNoneMatch(eq("\"abc\""));
+        assertEquals(TestUtils.rdfXml, testExchange.getIn().getBody(String.class));
+        assertEquals(TestUtils.RDF_XML, testExchange.getIn().getHeader(CONTENT_TYPE, String.class));
+        assertEquals(200, testExchange.getIn().getHeader(HTTP_RESPONSE_CODE));
+        assertEquals(1L, testEndpoint.getResponseCacheHits());
+        assertEquals(1L, testEndpoint.getResponseCacheMisses());
+        // the cached body is replayed without being read from the repository again
+        assertEquals(TestUtils.rdfXml.getBytes().length, testEndpoint.getMetricsBytesIn());
+
+        testEndpoint.invalidateResponses(TestUtils.baseUrl);
+        assertEquals(0L, testEndpoint.getResponseCacheMemoryUsed());
+    }
+
+    @Test
+    public void testGetToFile(@TempDir final Path dir) throws Exception {
+        final URI uri = create(TestUtils.baseUrl);
+        final FcrepoResponse getResponse = new FcrepoResponse(uri, 200,
+                singletonMap(CONTENT_TYPE, singletonList(TestUtils.RDF_XML)),
+                new ByteArrayInputStream(TestUtils.rdfXml.getBytes()));
+
+        testEndpoint.setMetadata(false);
+        testEndpoint.setToFile(dir.toString() + "/out/${header." + FCREPO_IDENTIFIER + "}.rdf");
+        init();
+
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "foo");
+
+        when(mockGetBuilder.perform()).thenReturn(getResponse);
+
+        testProducer.process(testExchange);
+
+        final Path target = dir.resolve("out/foo.rdf");
+        assertEquals(target, testExchange.getIn().getBody());
+        assertEquals(target.toString(), testExchange.getIn().getHeader(Exchange.FILE_NAME_PRODUCED));
+        assertEquals(TestUtils.rdfXml, new String(Files.readAllBytes(target), UTF_8));
+        assertEquals(TestUtils.RDF_XML, testExchange.getIn().getHeader(CONTENT_TYPE, String.class));
+        assertEquals(200, testExchange.getIn().getHeader(HTTP_RESPONSE_CODE));
+    }
+
+    @Test
+    public void testRangedGet() throws Exception {
+        final URI uri = create(TestUtils.baseUrl);
+        final byte[] data = new byte[10000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        final Map<String, List<String>> headers = new HashMap<>();
+        headers.put(CONTENT_TYPE, singletonList(TestUtils.TEXT_PLAIN));
+        headers.put("Content-Range", singletonList("bytes 0-2999/10000"));
+        headers.put("ETag", singletonList("\"abc\""));
+
+        testEndpoint.setCamelContext(testExchange.getContext());
+        testEndpoint.setMetadata(false);
+        testEndpoint.setMetrics(true);
+        testEndpoint.setRangeConcurrency(2);
+        testEndpoint.setRangeChunkSize(3000L);
+        init();
+        testProducer.start();
+
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+
+        when(mockGetBuilder.range(eq(0L), eq(2999L))).thenReturn(mockGetBuilder);
+        when(mockGetBuilder.perform()).thenReturn(new FcrepoResponse(uri, 206, headers,
+                new ByteArrayInputStream(Arrays.copyOfRange(data, 0, 3000))));
+        when(mockClient.executeRequest(eq(uri), any(HttpRequestBase.class))).thenAnswer(inv -> {
+            final HttpRequestBase request = inv.getArgument(1);
+            assertEquals("\"abc\"", request.getFirstHeader("If-Match").getValue());
+            final String[] range = request.getFirstHeader("Range").getValue().substring(6).split("-");
+            return new FcrepoResponse(uri, 206, emptyMap(), new ByteArrayInputStream(
+                    Arrays.copyOfRange(data, Integer.parseInt(range[0]), Integer.parseInt(range[1]) + 1)));
+        });
+
+        try {
+            testProducer.process(testExchange);
+        } finally {
+            testProducer.stop();
+        }
+
+        try (final InputStream body = testExchange.getIn().getBody(InputStream.class)) {
+            assertArrayEquals(data, IOUtils.toByteArray(body));
+        }
+        assertEquals(TestUtils.TEXT_PLAIN, testExchange.getIn().getHeader(CONTENT_TYPE, String.class));
+        assertEquals(200, testExchange.getIn().getHeader(HTTP_RESPONSE_CODE));
+        verify(mockClient, never()).head(any(URI.class));
+        verify(mockClient, times(3)).executeRequest(eq(uri), any(HttpRequestBase.class));
+        // the first range and the three others
+        assertEquals(data.length, testEndpoint.getMetricsBytesIn());
+    }
+
+    @Test
+    public void testRangedGetReturnedInFull() throws Exception {
+        final URI uri = create(TestUtils.baseUrl);
+        final FcrepoResponse getResponse = new FcrepoResponse(uri, 200,
+                singletonMap(CONTENT_TYPE, singletonList(TestUtils.RDF_XML)),
+                new ByteArrayInputStream(TestUtils.rdfXml.getBytes()));
+
+        testEndpoint.setCamelContext(testExchange.getContext());
+        testEndpoint.setMetadata(false);
+        testEndpoint.setRangeConcurrency(2);
+        testEndpoint.setRangeChunkSize(3000L);
+        init();
+        testProducer.start();
+
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+
+        when(mockGetBuilder.range(eq(0L), eq(2999L))).thenReturn(mockGetBuilder);
+        when(mockGetBuilder.perform()).thenReturn(getResponse);
+
+        try {
+            testProducer.process(testExchange);
+        } finally {
+            testProducer.stop();
+        }
+
+        assertEquals(TestUtils.rdfXml, testExchange.getIn().getBody(String.class));
+        assertEquals(200, testExchange.getIn().getHeader(HTTP_RESPONSE_CODE));
+        verify(mockGetBuilder).range(eq(0L), eq(2999L));
+        verify(mockClient, never()).head(any(URI.class));
+        verify(mockClient, never()).executeRequest(any(URI.class), any(HttpRequestBase.class));
+    }
+
+    @Test
+    public void testCoalescedBodies() throws Exception {
+        final URI uri = create(TestUtils.baseUrl);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final RequestCoalescer coalescer = spy(new RequestCoalescer());
+        final Map<Exchange, FcrepoResponse> responses = new ConcurrentHashMap<>();
+        doAnswer(inv -> {
+            final FcrepoResponse response = (FcrepoResponse) inv.callRealMethod();
+            responses.put(inv.getArgument(0), response);
+            return response;
+        }).when(coalescer).execute(any(Exchange.class), anyList(), any(URI.class), any(RequestCoalescer.Request.class));
+
+        testEndpoint.setMetadata(false);
+        testEndpoint.setMetrics(true);
+        testEndpoint.setCoalesceRequests(true);
+        TestUtils.setField(testEndpoint, "requestCoalescer", coalescer);
+        init();
+
+        when(mockGetBuilder.perform()).thenAnswer(inv -> {
+            started.countDown();
+            assertTrue(release.await(5, SECONDS));
+            return new FcrepoResponse(uri, 200, singletonMap(CONTENT_TYPE, singletonList(TestUtils.RDF_XML)),
+                    new ByteArrayInputStream(TestUtils.rdfXml.getBytes()));
+        });
+
+        final Exchange waiter = new DefaultExchange(testExchange.getContext());
+        testExchange.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+        waiter.getIn().setHeader(FCREPO_IDENTIFIER, "/foo");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<?> leader = executor.submit(() -> {
+                testProducer.process(testExchange);
+                return null;
+            });
+            assertTrue(started.await(5, SECONDS));
+            final Future<?> follower = executor.submit(() -> {
+                testProducer.process(waiter);
+                return null;
+            });
+            while (coalescer.getCoalesced() == 0) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            leader.get(5, SECONDS);
+            follower.get(5, SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // each exchange holds the stream cache that the coalescer made for it, rather than a copy of it
+        for (final Exchange exchange : asList(testExchange, waiter)) {
+            final InputStream body = responses.get(exchange).getBody();
+            assertTrue(body instanceof StreamCache);
+            assertSame(body, exchange.getIn().getBody());
+            assertEquals(TestUtils.rdfXml, exchange.getIn().getBody(String.class));
+        }
+        verify(mockGetBuilder, times(1)).perform();
+        assertEquals(TestUtils.rdfXml.getBytes().length, testEndpoint.getMetricsBytesIn());
+    }
 }
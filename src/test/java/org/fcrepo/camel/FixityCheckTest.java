@@ -0,0 +1,90 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.apache.jena.rdf.model.ResourceFactory.createProperty;
+import static org.apache.jena.rdf.model.ResourceFactory.createResource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ * @since October 17, 2026
+ */
+public class FixityCheckTest {
+
+    private static final URI BINARY = URI.create("http://localhost:8080/rest/binary");
+
+    private static final String PREMIS = "http://www.loc.gov/premis/rdf/v1#";
+
+    private static final String SHA1 = "640ab2bae07bedc4c163f679a746f7ab7fb5d1fa";
+
+    private static final String SHA256 = "532eaabd9574880dbf76b9b8cc00832c20a6ec113d682299550d7a6e0f345e25";
+
+    private final ExecutorService executor = newFixedThreadPool(2);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testDigest() throws Exception {
+        final FixityCheck check = new FixityCheck("SHA-1, sha-256");
+        assertEquals("sha, sha-256", check.getWantDigest());
+
+        check.digest(new ByteArrayInputStream("Test".getBytes(UTF_8)), executor);
+        assertEquals("sha=" + SHA1 + ",sha-256=" + SHA256, check.getDigestValue());
+    }
+
+    @Test
+    public void testModel() throws Exception {
+        final FixityCheck check = new FixityCheck("sha,sha-256,sha-512");
+        check.digest(new ByteArrayInputStream("Test".getBytes(UTF_8)), executor);
+
+        final Model model = check.toModel(BINARY,
+                "sha=" + SHA1 + ", sha-256=Uy6qvZV0iA2/drm4zACDLCCm7BE9aCKZVQ16bg80XiU=");
+        final Resource binary = createResource(BINARY.toString());
+        final Property hasFixity = createProperty(PREMIS + "hasFixity");
+        final Property hasEventOutcome = createProperty(PREMIS + "hasEventOutcome");
+        final Property hasMessageDigest = createProperty(PREMIS + "hasMessageDigest");
+
+        assertEquals(3, model.listObjectsOfProperty(binary, hasFixity).toList().size());
+        assertTrue(model.contains(null, hasMessageDigest, createResource("urn:sha1:" + SHA1)));
+        assertTrue(model.contains(null, hasMessageDigest, createResource("urn:sha-256:" + SHA256)));
+        assertEquals(2, model.listStatements(null, hasEventOutcome, FixityCheck.SUCCESS).toList().size());
+        assertFalse(model.contains(null, hasEventOutcome, FixityCheck.BAD_CHECKSUM));
+    }
+
+    @Test
+    public void testBadChecksum() throws Exception {
+        final FixityCheck check = new FixityCheck("sha-256");
+        check.digest(new ByteArrayInputStream("Other".getBytes(UTF_8)), executor);
+
+        final Model model = check.toModel(BINARY, "sha-256=" + SHA256);
+        assertTrue(model.contains(null, createProperty(PREMIS + "hasEventOutcome"), FixityCheck.BAD_CHECKSUM));
+    }
+
+    @Test
+    public void testUnsupportedAlgorithm() {
+        assertThrows(IllegalArgumentException.class, () -> new FixityCheck("sha-256,unknown"));
+        assertThrows(IllegalArgumentException.class, () -> new FixityCheck(" "));
+    }
+}
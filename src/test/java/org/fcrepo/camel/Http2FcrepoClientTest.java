@@ -0,0 +1,190 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.io.Content;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.Callback;
+import org.fcrepo.client.FcrepoOperationFailedException;
+import org.fcrepo.client.FcrepoResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ * @since October 17, 2026
+ */
+public class Http2FcrepoClientTest {
+
+    private HttpServer server;
+
+    private URI baseUri;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        // an HTTP/1.1 server, so the client has to fall back from HTTP/2
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/rest", exchange -> {
+            final byte[] request;
+            try (final InputStream in = exchange.getRequestBody()) {
+                request = IOUtils.toByteArray(in);
+            }
+            final String path = exchange.getRequestURI().getPath();
+            final int status = path.endsWith("/missing") ? 404 : 200;
+            final byte[] body = (exchange.getRequestMethod() + " " + path + " "
+                    + exchange.getRequestHeaders().getFirst("Authorization") + " "
+                    + exchange.getRequestHeaders().getFirst("Content-Type") + " "
+                    + exchange.getRequestHeaders().getFirst("Content-Length") + " "
+                    + new String(request, UTF_8)).getBytes(UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(status, body.length);
+            try (final OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        baseUri = URI.create("http://localhost:" + server.getAddress().getPort() + "/rest");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        final Http2FcrepoClient client = new Http2FcrepoClient(Http2FcrepoClient.createHttpClient(),
+                "user", "secret", null, true);
+        final URI uri = URI.create(baseUri + "/foo");
+
+        final FcrepoResponse response = client.get(uri).accept("text/plain").perform();
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals("text/plain", response.getContentType());
+        assertTrue(IOUtils.toString(response.getBody(), UTF_8).startsWith("GET /rest/foo Basic dXNlcjpzZWNyZXQ= "));
+    }
+
+    @Test
+    public void testPut() throws Exception {
+        final Http2FcrepoClient client = new Http2FcrepoClient(Http2FcrepoClient.createHttpClient(),
+                null, null, null, true);
+        final URI uri = URI.create(baseUri + "/foo");
+
+        final FcrepoResponse response = client.put(uri)
+            .body(new ByteArrayInputStream("Test".getBytes(UTF_8)), "text/plain").perform();
+
+        assertEquals(200, response.getStatusCode());
+        final String body = IOUtils.toString(response.getBody(), UTF_8);
+        assertTrue(body.startsWith("PUT /rest/foo null text/plain "));
+        assertTrue(body.endsWith(" Test"));
+    }
+
+    @Test
+    public void testConcurrentStreams() throws Exception {
+        final int streams = 4;
+        final CountDownLatch arrived = new CountDownLatch(streams);
+        final Set<HttpVersion> versions = ConcurrentHashMap.newKeySet();
+        final Set<String> connections = ConcurrentHashMap.newKeySet();
+
+        // a Jetty server that accepts HTTP/1.1 and upgrades to cleartext HTTP/2 (h2c)
+        final Server jetty = new Server();
+        final HttpConfiguration config = new HttpConfiguration();
+        final ServerConnector connector = new ServerConnector(jetty, new HttpConnectionFactory(config),
+                new HTTP2CServerConnectionFactory(config));
+        connector.setHost("localhost");
+        jetty.addConnector(connector);
+        jetty.setHandler(new Handler.Abstract() {
+            @Override
+            public boolean handle(final Request request, final Response response, final Callback callback)
+                    throws Exception {
+                boolean concurrent = false;
+                if (request.getHttpURI().getPath().endsWith("/concurrent")) {
+                    versions.add(request.getConnectionMetaData().getHttpVersion());
+                    connections.add(request.getConnectionMetaData().getId());
+                    // every stream is held open until all of them have reached the server
+                    arrived.countDown();
+                    concurrent = arrived.await(10, SECONDS);
+                }
+                response.setStatus(200);
+                response.getHeaders().put(HttpHeader.CONTENT_TYPE, "text/plain");
+                Content.Sink.write(response, true, String.valueOf(concurrent), callback);
+                return true;
+            }
+        });
+        jetty.start();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(streams);
+        try {
+            final URI jettyUri = URI.create("http://localhost:" + connector.getLocalPort() + "/rest");
+            final Http2FcrepoClient client = new Http2FcrepoClient(Http2FcrepoClient.createHttpClient(),
+                    null, null, null, true);
+
+            // the first request upgrades the connection, which the later requests then share
+            assertEquals(200, client.get(URI.create(jettyUri + "/foo")).perform().getStatusCode());
+
+            final List<Future<String>> responses = new ArrayList<>();
+            for (int i = 0; i < streams; i++) {
+                responses.add(executor.submit(() -> IOUtils.toString(
+                        client.get(URI.create(jettyUri + "/concurrent")).perform().getBody(), UTF_8)));
+            }
+            for (final Future<String> response : responses) {
+                assertEquals("true", response.get(30, SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+            jetty.stop();
+        }
+
+        assertEquals(Set.of(HttpVersion.HTTP_2), versions);
+        assertEquals(1, connections.size());
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        final URI uri = URI.create(baseUri + "/missing");
+
+        final FcrepoOperationFailedException ex = assertThrows(FcrepoOperationFailedException.class, () ->
+                new Http2FcrepoClient(Http2FcrepoClient.createHttpClient(), null, null, null, true)
+                    .get(uri).perform());
+        assertEquals(404, ex.getStatusCode());
+
+        final FcrepoResponse response = new Http2FcrepoClient(Http2FcrepoClient.createHttpClient(),
+                null, null, null, false).get(uri).perform();
+        assertEquals(404, response.getStatusCode());
+    }
+}
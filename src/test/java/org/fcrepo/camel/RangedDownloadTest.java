@@ -0,0 +1,137 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.util.Arrays.copyOfRange;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.function.UnaryOperator.identity;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.http.client.methods.HttpRequestBase;
+import org.fcrepo.client.FcrepoClient;
+import org.fcrepo.client.FcrepoOperationFailedException;
+import org.fcrepo.client.FcrepoResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * @author agent
+ * @since October 17, 2026
+ */
+@ExtendWith(MockitoExtension.class)
+public class RangedDownloadTest {
+
+    private static final URI BINARY = URI.create("http://localhost:8080/rest/binary");
+
+    private static final String ETAG = "\"abc123\"";
+
+    private static final String LAST_MODIFIED = "Tue, 01 Jan 2030 00:00:00 GMT";
+
+    @Mock
+    private FcrepoClient mockClient;
+
+    private final ExecutorService executor = newSingleThreadExecutor();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testDownload() throws Exception {
+        final byte[] data = new byte[10000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        when(mockClient.executeRequest(any(URI.class), any(HttpRequestBase.class))).thenAnswer(inv -> {
+            final HttpRequestBase request = inv.getArgument(1);
+            assertEquals(ETAG, request.getFirstHeader("If-Match").getValue());
+            final String[] range = request.getFirstHeader("Range").getValue().substring(6).split("-");
+            final int first = Integer.parseInt(range[0]);
+            final int last = Integer.parseInt(range[1]);
+            return new FcrepoResponse(BINARY, 206, emptyMap(),
+                    new ByteArrayInputStream(copyOfRange(data, first, last + 1)));
+        });
+
+        final Path file = RangedDownload.download(mockClient, BINARY,
+                new ByteArrayInputStream(copyOfRange(data, 0, 3000)), 3000, data.length, ETAG, null, 3000, executor,
+                identity(), null);
+        try {
+            assertArrayEquals(data, Files.readAllBytes(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testWeakETag() throws Exception {
+        when(mockClient.executeRequest(any(URI.class), any(HttpRequestBase.class))).thenAnswer(inv -> {
+            final HttpRequestBase request = inv.getArgument(1);
+            assertNull(request.getFirstHeader("If-Match"));
+            assertEquals(LAST_MODIFIED, request.getFirstHeader("If-Unmodified-Since").getValue());
+            return new FcrepoResponse(BINARY, 206, emptyMap(), new ByteArrayInputStream(new byte[3000]));
+        });
+
+        final Path file = RangedDownload.download(mockClient, BINARY, new ByteArrayInputStream(new byte[3000]),
+                3000, 6000, "W/" + ETAG, LAST_MODIFIED, 3000, executor, identity(), null);
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testRangesNotSupported() throws Exception {
+        when(mockClient.executeRequest(any(URI.class), any(HttpRequestBase.class))).thenAnswer(inv ->
+                new FcrepoResponse(BINARY, 200, emptyMap(), new ByteArrayInputStream(new byte[10000])));
+
+        assertThrows(IOException.class, () -> RangedDownload.download(mockClient, BINARY,
+                    new ByteArrayInputStream(new byte[3000]), 3000, 10000, ETAG, null, 3000, executor, identity(),
+                    null));
+    }
+
+    @Test
+    public void testChangedDuringDownload() throws Exception {
+        when(mockClient.executeRequest(any(URI.class), any(HttpRequestBase.class)))
+            .thenThrow(new FcrepoOperationFailedException(BINARY, 412, "Precondition Failed"));
+
+        assertThrows(RangedDownload.ChangedException.class, () -> RangedDownload.download(mockClient, BINARY,
+                    new ByteArrayInputStream(new byte[3000]), 3000, 10000, ETAG, null, 3000, executor, identity(),
+                    null));
+    }
+
+    @Test
+    public void testIncompleteFirstRange() throws Exception {
+        when(mockClient.executeRequest(any(URI.class), any(HttpRequestBase.class))).thenAnswer(inv ->
+                new FcrepoResponse(BINARY, 206, emptyMap(), new ByteArrayInputStream(new byte[3000])));
+
+        assertThrows(IOException.class, () -> RangedDownload.download(mockClient, BINARY,
+                    new ByteArrayInputStream(new byte[1000]), 3000, 6000, ETAG, null, 3000, executor, identity(),
+                    null));
+    }
+
+    @Test
+    public void testParseContentRange() {
+        assertArrayEquals(new long[] {0, 2999, 10000}, RangedDownload.parseContentRange("bytes 0-2999/10000"));
+        assertNull(RangedDownload.parseContentRange("bytes 0-2999/*"));
+        assertNull(RangedDownload.parseContentRange("bytes 0-10000/10000"));
+        assertNull(RangedDownload.parseContentRange(null));
+    }
+}
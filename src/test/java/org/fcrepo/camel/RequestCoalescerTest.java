@@ -0,0 +1,125 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.commons.io.IOUtils;
+import org.fcrepo.client.FcrepoOperationFailedException;
+import org.fcrepo.client.FcrepoResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ * @since October 17, 2026
+ */
+public class RequestCoalescerTest {
+
+    private static final URI RESOURCE = URI.create("http://localhost:8080/rest/foo");
+
+    private static final List<Object> KEY = asList(RESOURCE.toString(), "text/turtle", null, null);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private final Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testCoalesce() throws Exception {
+        final RequestCoalescer coalescer = new RequestCoalescer();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Future<FcrepoResponse> leader = executor.submit(() -> coalescer.execute(exchange, KEY, RESOURCE, () -> {
+            started.countDown();
+            try {
+                assertTrue(release.await(5, SECONDS));
+            } catch (final InterruptedException ex) {
+                throw new FcrepoOperationFailedException(RESOURCE, -1, "Interrupted");
+            }
+            return new FcrepoResponse(RESOURCE, 200, emptyMap(), new ByteArrayInputStream("Test".getBytes(UTF_8)));
+        }));
+        assertTrue(started.await(5, SECONDS));
+        assertEquals(1, coalescer.getInFlight());
+
+        final Future<FcrepoResponse> follower = executor.submit(() -> coalescer.execute(exchange, KEY, RESOURCE, () -> {
+            throw new FcrepoOperationFailedException(RESOURCE, -1, "The request should have been coalesced");
+        }));
+        while (coalescer.getCoalesced() == 0) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        final InputStream leaderBody = leader.get(5, SECONDS).getBody();
+        final InputStream followerBody = follower.get(5, SECONDS).getBody();
+        assertTrue(leaderBody instanceof StreamCache);
+        assertTrue(followerBody instanceof StreamCache);
+        assertEquals("Test", IOUtils.toString(leaderBody, UTF_8));
+        assertEquals("Test", IOUtils.toString(followerBody, UTF_8));
+        assertEquals(1, coalescer.getCalls());
+        assertEquals(1, coalescer.getCoalesced());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    public void testSequentialRequests() throws Exception {
+        final RequestCoalescer coalescer = new RequestCoalescer();
+        for (int i = 0; i < 2; i++) {
+            final FcrepoResponse response = coalescer.execute(exchange, KEY, RESOURCE, () ->
+                    new FcrepoResponse(RESOURCE, 200, emptyMap(), null));
+            assertEquals(200, response.getStatusCode());
+        }
+        assertEquals(2, coalescer.getCalls());
+        assertEquals(0, coalescer.getCoalesced());
+    }
+
+    @Test
+    public void testUncontendedResponseStreams() throws Exception {
+        final RequestCoalescer coalescer = new RequestCoalescer();
+        final InputStream body = new ByteArrayInputStream("Test".getBytes(UTF_8));
+
+        // without a waiter the body is handed back as it is, without being buffered
+        final FcrepoResponse response = coalescer.execute(exchange, KEY, RESOURCE, () ->
+                new FcrepoResponse(RESOURCE, 200, emptyMap(), body));
+        assertSame(body, response.getBody());
+    }
+
+    @Test
+    public void testFailure() {
+        final RequestCoalescer coalescer = new RequestCoalescer();
+        final FcrepoOperationFailedException ex = assertThrows(FcrepoOperationFailedException.class, () ->
+                coalescer.execute(exchange, KEY, RESOURCE, () -> {
+                    throw new FcrepoOperationFailedException(RESOURCE, 404, "Not Found");
+                }));
+        assertEquals(404, ex.getStatusCode());
+        assertEquals(0, coalescer.getInFlight());
+    }
+}
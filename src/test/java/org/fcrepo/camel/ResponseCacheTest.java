@@ -0,0 +1,106 @@
+/*
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree.
+ */
+package org.fcrepo.camel;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author agent
+ * @since October 17, 2026
+ */
+public class ResponseCacheTest {
+
+    private static final String RESOURCE = "http://localhost:8080/rest/foo";
+
+    @TempDir
+    Path spillDirectory;
+
+    private static List<Object> key(final String url) {
+        return asList(url, "text/turtle", null, null);
+    }
+
+    @Test
+    public void testMemoryLimit() {
+        final ResponseCache cache = new ResponseCache(10, null, 0);
+        cache.put(key(RESOURCE), RESOURCE, 200, "text/turtle", "\"1\"", null, "12345".getBytes(UTF_8));
+        cache.put(key(RESOURCE + "/bar"), RESOURCE + "/bar", 200, "text/turtle", "\"2\"", null,
+                "123456".getBytes(UTF_8));
+
+        assertNull(cache.get(key(RESOURCE)));
+        assertNotNull(cache.get(key(RESOURCE + "/bar")));
+        assertEquals(6, cache.getMemoryUsed());
+    }
+
+    @Test
+    public void testSpillToDisk() throws Exception {
+        final ResponseCache cache = new ResponseCache(10, spillDirectory, 100);
+        cache.put(key(RESOURCE), RESOURCE, 200, "text/turtle", "\"1\"", null, "12345".getBytes(UTF_8));
+        cache.put(key(RESOURCE + "/bar"), RESOURCE + "/bar", 200, "text/turtle", "\"2\"", null,
+                "123456".getBytes(UTF_8));
+
+        assertEquals(2, cache.size());
+        assertEquals(5, cache.getDiskUsed());
+
+        final ResponseCache.CachedResponse cached = cache.get(key(RESOURCE));
+        assertEquals("\"1\"", cached.getETag());
+        try (final InputStream body = cache.openBody(cached)) {
+            assertEquals("12345", IOUtils.toString(body, UTF_8));
+        }
+
+        cache.clear();
+        assertEquals(0, spillDirectory.toFile().list().length);
+    }
+
+    @Test
+    public void testInvalidateResource() {
+        final ResponseCache cache = new ResponseCache(1024, null, 0);
+        cache.put(key(RESOURCE), RESOURCE, 200, "text/turtle", "\"1\"", null, "12345".getBytes(UTF_8));
+        cache.put(key(RESOURCE + "/fcr:metadata"), RESOURCE + "/fcr:metadata", 200, "text/turtle", null,
+                "Tue, 01 Jan 2030 00:00:00 GMT", "123".getBytes(UTF_8));
+        cache.put(key(RESOURCE + "/baz"), RESOURCE + "/baz", 200, "text/turtle", "\"3\"", null,
+                "1".getBytes(UTF_8));
+
+        cache.invalidate(RESOURCE);
+
+        assertNull(cache.get(key(RESOURCE)));
+        assertNull(cache.get(key(RESOURCE + "/fcr:metadata")));
+        assertNotNull(cache.get(key(RESOURCE + "/baz")));
+        assertEquals(1, cache.getMemoryUsed());
+    }
+
+    @Test
+    public void testStoreLargeBodyOnDisk() throws Exception {
+        final ResponseCache cache = new ResponseCache(4, spillDirectory, 8);
+        try (final InputStream body = cache.store(key(RESOURCE), RESOURCE, 200, "text/turtle", "\"1\"", null, -1,
+                    new ByteArrayInputStream("123456".getBytes(UTF_8)))) {
+            assertEquals("123456", IOUtils.toString(body, UTF_8));
+        }
+        assertEquals(0, cache.getMemoryUsed());
+        assertEquals(6, cache.getDiskUsed());
+        assertNotNull(cache.get(key(RESOURCE)));
+
+        // too large for either limit: the body is passed through and nothing is left on disk
+        try (final InputStream body = cache.store(key(RESOURCE + "/bar"), RESOURCE + "/bar", 200, "text/turtle",
+                    "\"2\"", null, -1, new ByteArrayInputStream("1234567890".getBytes(UTF_8)))) {
+            assertEquals("1234567890", IOUtils.toString(body, UTF_8));
+        }
+        assertNull(cache.get(key(RESOURCE + "/bar")));
+        assertEquals(1, spillDirectory.toFile().list().length);
+    }
+}